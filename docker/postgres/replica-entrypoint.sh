@@ -0,0 +1,20 @@
+#!/bin/sh
+# Starts a hot standby of the primary. On first start the data directory is
+# cloned with pg_basebackup, which also writes standby.signal and the
+# connection settings (-R); later starts resume streaming from where it was.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 0700 "$PGDATA"
+    until su-exec postgres env PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup \
+            --host="$PRIMARY_HOST" --username="$REPLICATION_USER" \
+            --pgdata="$PGDATA" --wal-method=stream --write-recovery-conf; do
+        echo "Waiting for the primary to accept replication connections..."
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+fi
+
+exec docker-entrypoint.sh postgres -c hot_standby=on -c hot_standby_feedback=on
@@ -0,0 +1,22 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.enums.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One row of {@code audit_logs}, captured when the change was made.
+ * {@code userId} and {@code username} are {@code null} for changes made
+ * outside a request.
+ */
+public record AuditEvent(
+        AuditAction action,
+        String entityType,
+        Long entityId,
+        Long userId,
+        String username,
+        LocalDateTime timestamp,
+        Map<String, Object> details
+) {
+}
@@ -0,0 +1,97 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.security.AuthenticatedUser;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point the services use to audit their writes.
+ *
+ * <p>Events are captured with the current user and time when recorded, but
+ * only handed to the {@link AuditLogWriter} once the surrounding transaction
+ * commits, so rolled-back changes leave no trace and the write path never
+ * waits on {@code audit_logs}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLog {
+
+    public static final String ENTITY_DRIVER = "DRIVER";
+    public static final String ENTITY_VEHICLE = "VEHICLE";
+    public static final String ENTITY_ASSIGNMENT = "ASSIGNMENT";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                    JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+
+    private final AuditLogWriter writer;
+
+    /**
+     * Returns the non-null fields of a request DTO, for the details of a
+     * create or update.
+     */
+    public static Map<String, Object> fieldsOf(Object request) {
+        return OBJECT_MAPPER.convertValue(request, new TypeReference<>() {
+        });
+    }
+
+    public void record(AuditAction action, String entityType, Long entityId) {
+        record(action, entityType, entityId, Map.of());
+    }
+
+    public void record(AuditAction action, String entityType, Long entityId, Map<String, Object> details) {
+        recordAll(List.of(event(action, entityType, entityId, details)));
+    }
+
+    /**
+     * Records one event per entity of a batch write, keyed by entity id.
+     */
+    public void recordEach(AuditAction action, String entityType, Map<Long, Map<String, Object>> detailsById) {
+        List<AuditEvent> events = new ArrayList<>(detailsById.size());
+        detailsById.forEach((entityId, details) -> events.add(event(action, entityType, entityId, details)));
+        recordAll(events);
+    }
+
+    private void recordAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(writer::offer);
+                }
+            });
+        } else {
+            events.forEach(writer::offer);
+        }
+    }
+
+    private static AuditEvent event(AuditAction action, String entityType, Long entityId,
+                                    Map<String, Object> details) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = null;
+        String username = null;
+        if (authentication != null && authentication.isAuthenticated()) {
+            username = authentication.getName();
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+                userId = principal.id();
+            }
+        }
+        return new AuditEvent(action, entityType, entityId, userId, username, LocalDateTime.now(), details);
+    }
+}
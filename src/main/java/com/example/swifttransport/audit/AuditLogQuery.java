@@ -0,0 +1,32 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.enums.AuditAction;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for an audit log lookup. Null means "no filter"; all filters are
+ * AND-ed. Results come newest first.
+ *
+ * @param entityType Entity type, e.g. {@code DRIVER}.
+ * @param entityId   Entity id; requires {@code entityType}.
+ * @param userId     User who made the change.
+ * @param action     Kind of change.
+ * @param from       Earliest timestamp, inclusive.
+ * @param to         Latest timestamp, exclusive.
+ * @param after      Cursor from the previous page, or null for the first.
+ * @param size       Page size.
+ */
+@Builder
+public record AuditLogQuery(
+    String entityType,
+    Long entityId,
+    Long userId,
+    AuditAction action,
+    LocalDateTime from,
+    LocalDateTime to,
+    String after,
+    int size
+) {
+}
@@ -0,0 +1,225 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.config.AuditConfig;
+import com.example.swifttransport.dto.response.AuditWriterStatsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit events to {@code audit_logs} from a background thread.
+ *
+ * <p>Producers append to a lock-free queue bounded by a reservation counter;
+ * when it is full the event is dropped and counted rather than blocking the
+ * request that committed it. The writer thread inserts whatever is queued as
+ * one JDBC batch (a multi-row insert with {@code reWriteBatchedInserts}) as
+ * soon as a batch fills up, or after {@code flushInterval} otherwise.
+ *
+ * <p>The writer stops after the web server has finished its in-flight
+ * requests and drains the queue before the DataSource is closed.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    static final String INSERT_SQL =
+        "INSERT INTO audit_logs (action, entity_type, entity_id, user_id, username, \"timestamp\", details) " +
+        "VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb))";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditConfig auditConfig;
+
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, AuditConfig auditConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditConfig = auditConfig;
+    }
+
+    /**
+     * Queues an event for writing. Returns {@code false} if the queue is full
+     * or the writer has stopped, in which case the event is dropped.
+     */
+    public boolean offer(AuditEvent event) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        int size = queued.incrementAndGet();
+        if (size > auditConfig.getQueueCapacity()) {
+            queued.decrementAndGet();
+            dropped.increment();
+            if (dropped.sum() % 1_000 == 1) {
+                log.warn("Audit queue full at {} events; dropped {} so far", auditConfig.getQueueCapacity(),
+                    dropped.sum());
+            }
+            return false;
+        }
+        queue.offer(event);
+        enqueued.increment();
+        if (size == auditConfig.getBatchSize()) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    public AuditWriterStatsResponse stats() {
+        return AuditWriterStatsResponse.builder()
+            .running(running)
+            .queueDepth(queued.get())
+            .queueCapacity(auditConfig.getQueueCapacity())
+            .enqueued(enqueued.sum())
+            .written(written.sum())
+            .dropped(dropped.sum())
+            .failed(failed.sum())
+            .batches(batches.sum())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        open();
+        thread = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Accepts events without starting the writer thread, leaving
+     * {@link #flush()} to the caller.
+     */
+    void open() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread writerThread = thread;
+        if (writerThread == null) {
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(auditConfig.getShutdownTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Audit writer did not drain within {}; {} events lost", auditConfig.getShutdownTimeout(),
+                queued.get());
+            writerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server's graceful shutdown (which runs at
+     * {@code DEFAULT_PHASE - 1024}), so events from the last requests are kept.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    private void run() {
+        long flushIntervalNanos = auditConfig.getFlushInterval().toNanos();
+        while (running) {
+            if (queued.get() < auditConfig.getBatchSize()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            flush();
+        }
+        flush();
+    }
+
+    /**
+     * Writes every queued event in batches; returns the number written.
+     */
+    int flush() {
+        int total = 0;
+        List<AuditEvent> batch = new ArrayList<>(auditConfig.getBatchSize());
+        AuditEvent event;
+        while ((event = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == auditConfig.getBatchSize()) {
+                total += write(batch);
+                batch = new ArrayList<>(auditConfig.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            total += write(batch);
+        }
+        return total;
+    }
+
+    private int write(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, event) -> {
+                statement.setString(1, event.action().name());
+                statement.setString(2, event.entityType());
+                statement.setObject(3, event.entityId(), Types.BIGINT);
+                statement.setObject(4, event.userId(), Types.BIGINT);
+                statement.setString(5, event.username());
+                statement.setTimestamp(6, Timestamp.valueOf(event.timestamp()));
+                statement.setString(7, toJson(event));
+            });
+            written.add(batch.size());
+            batches.increment();
+            log.debug("Wrote {} audit events in {} ms", batch.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return batch.size();
+        } catch (DataAccessException ex) {
+            // Not retried: a failing insert would otherwise hold up every event behind it
+            failed.add(batch.size());
+            log.error("Failed to write {} audit events: {}", batch.size(), ex.getMessage());
+            return 0;
+        }
+    }
+
+    private static String toJson(AuditEvent event) {
+        if (event.details() == null || event.details().isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(event.details());
+        } catch (JsonProcessingException ex) {
+            log.warn("Audit details for {} {} not serializable: {}", event.entityType(), event.entityId(),
+                ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.config.AuditConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code audit_logs} (migration V10) in step
+ * with the calendar: creates the next {@code partitionsAhead} months and
+ * drops months older than {@code retentionMonths}. Dropping a partition is a
+ * catalog change, not a bulk {@code DELETE}, so retention leaves no dead rows.
+ *
+ * <p>Runs at startup and daily. A transaction-scoped advisory lock keeps
+ * replicas from running the DDL at the same time.
+ */
+@Slf4j
+@Component
+public class AuditPartitionMaintenance {
+
+    static final String PARTITION_PREFIX = "audit_logs_p";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long ADVISORY_LOCK_KEY = 0x6175646974L;
+
+    private static final String PARTITIONS_SQL =
+        "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid " +
+        "JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = 'audit_logs'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditConfig auditConfig;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     AuditConfig auditConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditConfig = auditConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.audit.partition-maintenance-cron:0 15 3 * * *}")
+    public void run() {
+        try {
+            maintain(LocalDate.now());
+        } catch (DataAccessException ex) {
+            log.error("Audit partition maintenance failed: {}", ex.getMessage());
+        }
+    }
+
+    void maintain(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.debug("Audit partition maintenance already running elsewhere");
+                return;
+            }
+
+            for (int ahead = 0; ahead <= auditConfig.getPartitionsAhead(); ahead++) {
+                YearMonth month = current.plusMonths(ahead);
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                    " PARTITION OF audit_logs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                    month.plusMonths(1).atDay(1) + "')");
+            }
+
+            YearMonth oldestKept = current.minusMonths(auditConfig.getRetentionMonths() - 1L);
+            List<String> expired = expiredPartitions(
+                jdbcTemplate.queryForList(PARTITIONS_SQL, String.class), oldestKept);
+            for (String partition : expired) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            if (!expired.isEmpty()) {
+                log.info("Dropped audit partitions older than {}: {}", oldestKept, expired);
+            }
+        });
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+
+    /**
+     * Returns the monthly partitions that end before {@code oldestKept};
+     * the default partition and unrecognized names are never returned.
+     */
+    static List<String> expiredPartitions(List<String> partitions, YearMonth oldestKept) {
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    expired.add(partition);
+                }
+            } catch (DateTimeParseException ex) {
+                log.warn("Ignoring unexpected audit partition {}", partition);
+            }
+        }
+        return expired;
+    }
+}
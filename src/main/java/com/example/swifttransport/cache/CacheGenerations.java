@@ -0,0 +1,139 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.CacheGenerationConfig;
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generation counters for versioned cache namespaces.
+ *
+ * <p>List caches put the current generation of their namespace at the front of
+ * every key. A write bumps the counter with a single {@code INCR}, which makes
+ * every page cached under the old generation unreachable; those entries then
+ * simply expire. This replaces {@code allEntries = true} evictions, which had
+ * to scan and delete the whole Redis keyspace of a cache.
+ *
+ * <p>Each node keeps counters in a small local cache. A bump is broadcast on
+ * the cache invalidation channel so other nodes reload the counter at once;
+ * the local TTL bounds staleness if a message is lost.
+ *
+ * <p>A counter that expired starts again from the current time in millis
+ * rather than from 1, so a generation number is never reused for a different
+ * state of its namespace; list ETags are built from it and clients may hold
+ * them for longer than the key TTL.
+ */
+@Slf4j
+@Component
+public class CacheGenerations implements MessageListener {
+
+    public static final String CHANNEL_CACHE_NAME = "cache-generations";
+    private static final String KEY_PREFIX = "cache-generation:";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheGenerationConfig generationConfig;
+    private final LocalCacheConfig localCacheConfig;
+    private final Cache<String, Long> localGenerations;
+
+    public CacheGenerations(StringRedisTemplate redisTemplate,
+                            CacheGenerationConfig generationConfig,
+                            LocalCacheConfig localCacheConfig) {
+        this.redisTemplate = redisTemplate;
+        this.generationConfig = generationConfig;
+        this.localCacheConfig = localCacheConfig;
+        this.localGenerations = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(generationConfig.getLocalTtl())
+                .build();
+    }
+
+    public static String assignmentsForDriver(Long driverId) {
+        return "assignments:driver:" + driverId;
+    }
+
+    public static String assignmentsForVehicle(Long vehicleId) {
+        return "assignments:vehicle:" + vehicleId;
+    }
+
+    /**
+     * Returns the current generation of a namespace, 0 if it was never bumped.
+     */
+    public long current(String namespace) {
+        return localGenerations.get(namespace, this::load);
+    }
+
+    /**
+     * Bumps the given namespaces. Inside a transaction the bump is deferred
+     * until after commit, matching the transaction-aware cache evictions.
+     */
+    public void bump(String... namespaces) {
+        List<String> targets = List.of(namespaces);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doBump(targets);
+                }
+            });
+        } else {
+            doBump(targets);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+
+        if (!CHANNEL_CACHE_NAME.equals(invalidation.cacheName()) || nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        if (invalidation.isClear()) {
+            localGenerations.invalidateAll();
+        } else {
+            localGenerations.invalidate(invalidation.key());
+        }
+    }
+
+    private void doBump(List<String> namespaces) {
+        for (String namespace : namespaces) {
+            try {
+                String key = KEY_PREFIX + namespace;
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                Long generation = redisTemplate.opsForValue().increment(key);
+                redisTemplate.expire(key, generationConfig.getKeyTtl());
+                if (generation != null) {
+                    localGenerations.put(namespace, generation);
+                }
+                redisTemplate.convertAndSend(localCacheConfig.getInvalidationChannel(),
+                        new CacheInvalidationMessage(nodeId, CHANNEL_CACHE_NAME, namespace).encode());
+            } catch (RuntimeException ex) {
+                localGenerations.invalidate(namespace);
+                log.warn("Could not bump cache generation {}: {}", namespace, ex.getMessage());
+            }
+        }
+    }
+
+    private Long load(String namespace) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + namespace);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+}
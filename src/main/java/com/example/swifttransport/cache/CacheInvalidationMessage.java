@@ -0,0 +1,33 @@
+package com.example.swifttransport.cache;
+
+/**
+ * Eviction notice exchanged between nodes over Redis pub/sub.
+ * A {@code null} key means the whole cache was cleared.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    public String encode() {
+        return isClear()
+                ? String.join(SEPARATOR, origin, CLEAR, cacheName)
+                : String.join(SEPARATOR, origin, EVICT, cacheName, key);
+    }
+
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length == 3 && CLEAR.equals(parts[1])) {
+            return new CacheInvalidationMessage(parts[0], parts[2], null);
+        }
+        if (parts.length == 4 && EVICT.equals(parts[1])) {
+            return new CacheInvalidationMessage(parts[0], parts[2], parts[3]);
+        }
+        throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+    }
+}
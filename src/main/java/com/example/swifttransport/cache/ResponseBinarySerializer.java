@@ -0,0 +1,366 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.dto.response.AssignmentListResponse;
+import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.dto.response.DriverListResponse;
+import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.DriverSummaryResponse;
+import com.example.swifttransport.dto.response.VehicleListResponse;
+import com.example.swifttransport.dto.response.VehicleResponse;
+import com.example.swifttransport.dto.response.VehicleSummaryResponse;
+import com.example.swifttransport.enums.DriverStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary Redis value serializer for the cached response records.
+ *
+ * <p>Every value starts with a magic byte, the schema version and a type tag,
+ * followed by the record fields in declaration order. Nullable fields carry a
+ * one-byte presence flag and timestamps are stored as epoch second plus nanos.
+ * No class names or field names are written.
+ *
+ * <p>Bump {@link #SCHEMA_VERSION} whenever one of the records changes shape. A
+ * value with an unknown magic byte, version or tag deserializes to {@code null},
+ * which the cache treats as a miss, so nodes on different versions during a
+ * rolling deploy never read each other's entries.
+ */
+@Slf4j
+public class ResponseBinarySerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB5;
+    static final byte SCHEMA_VERSION = 2;
+
+    private static final byte TYPE_DRIVER = 1;
+    private static final byte TYPE_DRIVER_LIST = 2;
+    private static final byte TYPE_VEHICLE = 3;
+    private static final byte TYPE_VEHICLE_LIST = 4;
+    private static final byte TYPE_ASSIGNMENT = 5;
+    private static final byte TYPE_ASSIGNMENT_LIST = 6;
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(MAGIC);
+            out.writeByte(SCHEMA_VERSION);
+            switch (value) {
+                case DriverResponse driver -> {
+                    out.writeByte(TYPE_DRIVER);
+                    writeDriver(out, driver);
+                }
+                case DriverListResponse list -> {
+                    out.writeByte(TYPE_DRIVER_LIST);
+                    out.writeInt(list.content().size());
+                    for (DriverResponse driver : list.content()) {
+                        writeDriver(out, driver);
+                    }
+                    writePage(out, list.page(), list.size(), list.totalElements(), list.totalPages(), list.last(),
+                            list.nextCursor());
+                }
+                case VehicleResponse vehicle -> {
+                    out.writeByte(TYPE_VEHICLE);
+                    writeVehicle(out, vehicle);
+                }
+                case VehicleListResponse list -> {
+                    out.writeByte(TYPE_VEHICLE_LIST);
+                    out.writeInt(list.content().size());
+                    for (VehicleResponse vehicle : list.content()) {
+                        writeVehicle(out, vehicle);
+                    }
+                    writePage(out, list.page(), list.size(), list.totalElements(), list.totalPages(), list.last(),
+                            list.nextCursor());
+                }
+                case AssignmentResponse assignment -> {
+                    out.writeByte(TYPE_ASSIGNMENT);
+                    writeAssignment(out, assignment);
+                }
+                case AssignmentListResponse list -> {
+                    out.writeByte(TYPE_ASSIGNMENT_LIST);
+                    out.writeInt(list.content().size());
+                    for (AssignmentResponse assignment : list.content()) {
+                        writeAssignment(out, assignment);
+                    }
+                    writePage(out, list.page(), list.size(), list.totalElements(), list.totalPages(), list.last(),
+                            list.nextCursor());
+                }
+                default -> throw new SerializationException(
+                        "Unsupported type for binary cache serialization: " + value.getClass().getName());
+            }
+        } catch (IOException ex) {
+            throw new SerializationException("Could not serialize cache value", ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 3) {
+            return null;
+        }
+        if (bytes[0] != MAGIC || bytes[1] != SCHEMA_VERSION) {
+            log.debug("Ignoring cached value with foreign header {} {}", bytes[0], bytes[1]);
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            return switch (bytes[2]) {
+                case TYPE_DRIVER -> readDriver(in);
+                case TYPE_DRIVER_LIST -> {
+                    int count = in.readInt();
+                    List<DriverResponse> content = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        content.add(readDriver(in));
+                    }
+                    yield DriverListResponse.builder()
+                            .content(content)
+                            .page(readInteger(in))
+                            .size(in.readInt())
+                            .totalElements(readLong(in))
+                            .totalPages(readInteger(in))
+                            .last(in.readBoolean())
+                            .nextCursor(readString(in))
+                            .build();
+                }
+                case TYPE_VEHICLE -> readVehicle(in);
+                case TYPE_VEHICLE_LIST -> {
+                    int count = in.readInt();
+                    List<VehicleResponse> content = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        content.add(readVehicle(in));
+                    }
+                    yield VehicleListResponse.builder()
+                            .content(content)
+                            .page(readInteger(in))
+                            .size(in.readInt())
+                            .totalElements(readLong(in))
+                            .totalPages(readInteger(in))
+                            .last(in.readBoolean())
+                            .nextCursor(readString(in))
+                            .build();
+                }
+                case TYPE_ASSIGNMENT -> readAssignment(in);
+                case TYPE_ASSIGNMENT_LIST -> {
+                    int count = in.readInt();
+                    List<AssignmentResponse> content = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        content.add(readAssignment(in));
+                    }
+                    yield AssignmentListResponse.builder()
+                            .content(content)
+                            .page(readInteger(in))
+                            .size(in.readInt())
+                            .totalElements(readLong(in))
+                            .totalPages(readInteger(in))
+                            .last(in.readBoolean())
+                            .nextCursor(readString(in))
+                            .build();
+                }
+                default -> null;
+            };
+        } catch (IOException ex) {
+            throw new SerializationException("Could not deserialize cache value", ex);
+        }
+    }
+
+    private static void writePage(DataOutputStream out, Integer page, int size, Long totalElements,
+                                  Integer totalPages, boolean last, String nextCursor) throws IOException {
+        writeInteger(out, page);
+        out.writeInt(size);
+        writeLong(out, totalElements);
+        writeInteger(out, totalPages);
+        out.writeBoolean(last);
+        writeString(out, nextCursor);
+    }
+
+    private static void writeDriver(DataOutputStream out, DriverResponse driver) throws IOException {
+        writeLong(out, driver.id());
+        writeString(out, driver.firstName());
+        writeString(out, driver.lastName());
+        writeString(out, driver.phoneNumber());
+        writeString(out, driver.licenseNumber());
+        writeString(out, driver.status() != null ? driver.status().name() : null);
+        writeVehicleSummary(out, driver.currentVehicle());
+        writeDateTime(out, driver.createdAt());
+        writeDateTime(out, driver.updatedAt());
+    }
+
+    private static DriverResponse readDriver(DataInputStream in) throws IOException {
+        return DriverResponse.builder()
+                .id(readLong(in))
+                .firstName(readString(in))
+                .lastName(readString(in))
+                .phoneNumber(readString(in))
+                .licenseNumber(readString(in))
+                .status(readStatus(in))
+                .currentVehicle(readVehicleSummary(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+
+    private static void writeVehicle(DataOutputStream out, VehicleResponse vehicle) throws IOException {
+        writeLong(out, vehicle.id());
+        writeString(out, vehicle.registrationNumber());
+        writeString(out, vehicle.make());
+        writeString(out, vehicle.model());
+        writeInteger(out, vehicle.year());
+        writeBoolean(out, vehicle.active());
+        writeDriverSummary(out, vehicle.currentDriver());
+        writeDateTime(out, vehicle.createdAt());
+        writeDateTime(out, vehicle.updatedAt());
+    }
+
+    private static VehicleResponse readVehicle(DataInputStream in) throws IOException {
+        return VehicleResponse.builder()
+                .id(readLong(in))
+                .registrationNumber(readString(in))
+                .make(readString(in))
+                .model(readString(in))
+                .year(readInteger(in))
+                .active(readBoolean(in))
+                .currentDriver(readDriverSummary(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+
+    private static void writeAssignment(DataOutputStream out, AssignmentResponse assignment) throws IOException {
+        writeLong(out, assignment.id());
+        writeDriverSummary(out, assignment.driver());
+        writeVehicleSummary(out, assignment.vehicle());
+        writeDateTime(out, assignment.assignedAt());
+        writeDateTime(out, assignment.unassignedAt());
+        writeString(out, assignment.assignedBy());
+        writeBoolean(out, assignment.isActive());
+    }
+
+    private static AssignmentResponse readAssignment(DataInputStream in) throws IOException {
+        return AssignmentResponse.builder()
+                .id(readLong(in))
+                .driver(readDriverSummary(in))
+                .vehicle(readVehicleSummary(in))
+                .assignedAt(readDateTime(in))
+                .unassignedAt(readDateTime(in))
+                .assignedBy(readString(in))
+                .isActive(readBoolean(in))
+                .build();
+    }
+
+    private static void writeDriverSummary(DataOutputStream out, DriverSummaryResponse driver) throws IOException {
+        out.writeBoolean(driver != null);
+        if (driver != null) {
+            writeLong(out, driver.id());
+            writeString(out, driver.firstName());
+            writeString(out, driver.lastName());
+            writeString(out, driver.licenseNumber());
+        }
+    }
+
+    private static DriverSummaryResponse readDriverSummary(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return DriverSummaryResponse.builder()
+                .id(readLong(in))
+                .firstName(readString(in))
+                .lastName(readString(in))
+                .licenseNumber(readString(in))
+                .build();
+    }
+
+    private static void writeVehicleSummary(DataOutputStream out, VehicleSummaryResponse vehicle) throws IOException {
+        out.writeBoolean(vehicle != null);
+        if (vehicle != null) {
+            writeLong(out, vehicle.id());
+            writeString(out, vehicle.registrationNumber());
+        }
+    }
+
+    private static VehicleSummaryResponse readVehicleSummary(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return VehicleSummaryResponse.builder()
+                .id(readLong(in))
+                .registrationNumber(readString(in))
+                .build();
+    }
+
+    private static DriverStatus readStatus(DataInputStream in) throws IOException {
+        String status = readString(in);
+        return status != null ? DriverStatus.valueOf(status) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : (value ? 1 : 0));
+    }
+
+    private static Boolean readBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value < 0 ? null : value == 1;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
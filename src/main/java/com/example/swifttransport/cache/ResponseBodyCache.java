@@ -0,0 +1,230 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.config.ResponseCacheConfig;
+import com.example.swifttransport.db.PrimaryReads;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves tagged GET responses from cached, already serialized bodies.
+ *
+ * <p>The DTO caches still hold objects, so a hit there costs a Redis read,
+ * a decode into records and a full Jackson pass back to JSON. This cache
+ * keeps the final JSON bytes, plus a gzipped copy when it is worth it, and a
+ * hit writes them straight to the response without touching Jackson.
+ *
+ * <p>Entries are keyed by role, path, normalized query and the ETag of the
+ * representation. The tag already changes on every write that can change
+ * the body (entity versions for single resources, cache generations for
+ * lists), so the writes that invalidate the DTO caches invalidate these
+ * entries too, and nothing is ever evicted explicitly. Bodies that are
+ * about to be cached are read from the primary.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseBodyCache {
+
+    private static final String GZIP = "gzip";
+
+    private final CacheManager cacheManager;
+    private final JsonMapper jsonMapper;
+    private final ResponseCacheConfig config;
+
+    /**
+     * Answers a GET whose representation is identified by {@code etag}: 304
+     * when the client already has it, cached bytes when this node or Redis
+     * has them, and otherwise the body from {@code body}, serialized once,
+     * cached and written. Returns null once the response has been written.
+     * Without a tag the body is returned for normal serialization.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Cache cache = cacheManager.getCache(RedisConfig.CACHE_RESPONSES);
+        if (!config.isEnabled() || cache == null || !(request instanceof ServletWebRequest servletRequest)
+                || servletRequest.getResponse() == null) {
+            return ResponseEntity.ok().eTag(etag).body(body.get());
+        }
+
+        String key = key(servletRequest.getRequest(), etag);
+        CachedBody cached = CachedBody.decode(read(cache, key));
+        if (cached == null) {
+            cached = CachedBody.of(jsonMapper.writeValueAsBytes(PrimaryReads.get(body)), config);
+            write(cache, key, cached.bytes());
+        }
+
+        boolean gzip = cached.hasGzip() && acceptsGzip(servletRequest.getRequest());
+        writeBody(servletRequest.getResponse(), etag, cached, gzip);
+        return null;
+    }
+
+    /**
+     * Role, path and query parameters sorted by name. Parameter values keep
+     * their order, since repeated parameters are lists.
+     */
+    static String key(HttpServletRequest request, String etag) {
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        String query = parameters.entrySet().stream()
+            .flatMap(entry -> Arrays.stream(entry.getValue())
+                .map(value -> encode(entry.getKey()) + "=" + encode(value)))
+            .collect(Collectors.joining("&"));
+        return role() + "|" + request.getRequestURI() + "?" + query + "|" + etag;
+    }
+
+    private void writeBody(HttpServletResponse response, String etag, CachedBody body, boolean gzip) {
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (config.isGzip()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        int offset = gzip ? body.gzipOffset() : body.identityOffset();
+        int length = gzip ? body.gzipLength() : body.identityLength();
+        response.setContentLength(length);
+        try {
+            response.getOutputStream().write(body.bytes(), offset, length);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] read(Cache cache, String key) {
+        try {
+            return cache.get(key, byte[].class);
+        } catch (RuntimeException ex) {
+            log.warn("Could not read cached response {}: {}", key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(Cache cache, String key, byte[] value) {
+        try {
+            cache.put(key, value);
+        } catch (RuntimeException ex) {
+            log.warn("Could not cache response {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+
+    private static String role() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .sorted()
+            .collect(Collectors.joining(","));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One cache value holding both encodings: the identity length, the
+     * identity bytes, then the gzipped bytes if any. Responses are written
+     * as slices of it, without copying.
+     */
+    record CachedBody(byte[] bytes) {
+
+        private static final int HEADER = Integer.BYTES;
+
+        static CachedBody of(byte[] json, ResponseCacheConfig config) {
+            byte[] gzipped = config.isGzip() && json.length >= config.getGzipMinSize() ? gzip(json) : new byte[0];
+            return new CachedBody(ByteBuffer.allocate(HEADER + json.length + gzipped.length)
+                .putInt(json.length)
+                .put(json)
+                .put(gzipped)
+                .array());
+        }
+
+        static CachedBody decode(byte[] value) {
+            if (value == null || value.length < HEADER) {
+                return null;
+            }
+            int identityLength = ByteBuffer.wrap(value).getInt();
+            return identityLength >= 0 && identityLength <= value.length - HEADER ? new CachedBody(value) : null;
+        }
+
+        int identityOffset() {
+            return HEADER;
+        }
+
+        int identityLength() {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+
+        int gzipOffset() {
+            return HEADER + identityLength();
+        }
+
+        int gzipLength() {
+            return bytes.length - gzipOffset();
+        }
+
+        boolean hasGzip() {
+            return gzipLength() > 0;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(json);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.db.PrimaryReads;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache that reads through a bounded in-heap tier before falling back to the
+ * shared Redis tier. Writes go to both tiers; evictions are also broadcast so
+ * that other nodes drop their local copy.
+ *
+ * <p>Local entries are keyed by the string form of the cache key, which is the
+ * same form the Redis tier uses, so an eviction notice from another node can be
+ * matched without knowing the original key type.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache localCache;
+    private final Cache remoteCache;
+    private final TwoTierCacheManager owner;
+
+    TwoTierCache(Cache localCache, Cache remoteCache, TwoTierCacheManager owner) {
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.owner = owner;
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper local = localCache.get(localKey);
+        if (local != null) {
+            return local;
+        }
+
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote != null && remote.get() != null) {
+            localCache.put(localKey, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            // The value outlives this request, so it must not come from a lagging replica
+            value = PrimaryReads.call(valueLoader);
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            localCache.put(localKey(key), current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        String localKey = localKey(key);
+        localCache.evict(localKey);
+        owner.publishEviction(getName(), localKey);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.clear();
+        owner.publishClear(getName());
+    }
+
+    void evictLocal(String localKey) {
+        localCache.evict(localKey);
+    }
+
+    void clearLocal() {
+        localCache.clear();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager that puts a Caffeine L1 in front of every Redis cache and keeps
+ * the L1 tiers of all nodes coherent through Redis pub/sub.
+ *
+ * <p>The Redis manager passed in must not be transaction aware itself; this
+ * manager applies the transaction-aware decoration around both tiers.
+ */
+@Slf4j
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    private final RedisCacheManager remoteCacheManager;
+    private final LocalCacheConfig localCacheConfig;
+    private final StringRedisTemplate redisTemplate;
+
+    public TwoTierCacheManager(RedisCacheManager remoteCacheManager,
+                               LocalCacheConfig localCacheConfig,
+                               StringRedisTemplate redisTemplate) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheConfig = localCacheConfig;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        remoteCacheManager.initializeCaches();
+        return remoteCacheManager.getCacheNames().stream()
+                .map(this::createTwoTierCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return remoteCacheManager.getCache(name) != null ? createTwoTierCache(name) : null;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring cache invalidation message: {}", ex.getMessage());
+            return;
+        }
+
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        TwoTierCache cache = twoTierCaches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+
+        if (invalidation.isClear()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+
+    void publishEviction(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(localCacheConfig.getInvalidationChannel(), message.encode());
+        } catch (RuntimeException ex) {
+            log.warn("Could not broadcast invalidation for cache {}: {}", message.cacheName(), ex.getMessage());
+        }
+    }
+
+    private TwoTierCache createTwoTierCache(String name) {
+        return twoTierCaches.computeIfAbsent(name, cacheName -> {
+            CaffeineCache localCache = new CaffeineCache(cacheName, Caffeine.newBuilder()
+                    .maximumSize(localCacheConfig.maxSizeFor(cacheName))
+                    .expireAfterWrite(localCacheConfig.ttlFor(cacheName))
+                    .build(), false);
+            return new TwoTierCache(localCache, remoteCacheManager.getCache(cacheName), this);
+        });
+    }
+}
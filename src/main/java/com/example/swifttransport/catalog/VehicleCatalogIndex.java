@@ -0,0 +1,516 @@
+package com.example.swifttransport.catalog;
+
+import com.example.swifttransport.cache.CacheInvalidationMessage;
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.example.swifttransport.db.PrimaryReads;
+import com.example.swifttransport.dto.response.VehicleFacetResponse;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar index of the vehicle catalog for faceted search.
+ *
+ * <p>Every vehicle occupies a slot. Make and model are dictionary-encoded into
+ * {@code int} columns, years live in a primitive {@code int} column and
+ * {@code active} is a bitset, so a filter is a tight scan over arrays instead
+ * of a {@code LIKE} over the vehicles table. Facet counts are disjunctive:
+ * each facet is counted with every filter applied except its own, which is
+ * what a filter UI needs to show alternatives.
+ *
+ * <p>The index is loaded once the application is ready and kept current by
+ * {@link com.example.swifttransport.service.VehicleService} writes, applied
+ * after commit. Other nodes are told over the cache invalidation channel and
+ * reload the affected vehicle from the primary, since a replica may not have
+ * the change yet.
+ *
+ * <p>A load reads the table without holding the index lock, so changes that
+ * arrive meanwhile are buffered and replayed onto the new snapshot. Each slot
+ * keeps the entity version it was built from, and a change older than the
+ * slot is dropped, so neither a replay nor a late message can undo a newer
+ * write.
+ */
+@Slf4j
+@Component
+public class VehicleCatalogIndex implements MessageListener {
+
+    public static final String CHANNEL_CACHE_NAME = "vehicle-catalog";
+
+    private static final int NO_CODE = -1;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final long NO_VERSION = -1L;
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final VehicleRepository vehicleRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final LocalCacheConfig localCacheConfig;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock loadLock = new ReentrantLock();
+    private final Dictionary makeDictionary = new Dictionary();
+    private final Dictionary modelDictionary = new Dictionary();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private final List<Change> pendingChanges = new ArrayList<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] registrations = new String[INITIAL_CAPACITY];
+    private int[] makes = new int[INITIAL_CAPACITY];
+    private int[] models = new int[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int slotCount;
+    private volatile boolean loaded;
+    private volatile boolean loading;
+
+    public VehicleCatalogIndex(VehicleRepository vehicleRepository,
+                               StringRedisTemplate redisTemplate,
+                               LocalCacheConfig localCacheConfig) {
+        this.vehicleRepository = vehicleRepository;
+        this.redisTemplate = redisTemplate;
+        this.localCacheConfig = localCacheConfig;
+    }
+
+    /**
+     * Rebuilds the index from the vehicles table. Searches keep using the
+     * previous index until the new one is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // A lock rather than synchronized: load() queries the database and must not pin a virtual thread
+        loadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                loading = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Vehicle> vehicles = PrimaryReads.get(vehicleRepository::findAll);
+            lock.writeLock().lock();
+            try {
+                clear();
+                vehicles.forEach(vehicle -> put(Row.of(vehicle)));
+                pendingChanges.forEach(change -> update(change.id(), change.row()));
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Vehicle catalog index loaded with {} vehicles", vehicles.size());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Records a created or updated vehicle. Inside a transaction the change is
+     * applied after commit, so a rolled-back write never becomes visible. The
+     * row is read from the entity then, once flushing has set its version.
+     */
+    public void vehicleChanged(Vehicle vehicle) {
+        afterCommit(() -> {
+            Row row = Row.of(vehicle);
+            apply(row.id(), row);
+            publish(row.id());
+        });
+    }
+
+    /**
+     * Records a batch of created vehicles. Other nodes get a single message
+     * and reload the whole index instead of one message per vehicle.
+     */
+    public void vehiclesChanged(Collection<Vehicle> vehicles) {
+        afterCommit(() -> {
+            vehicles.stream().map(Row::of).forEach(row -> apply(row.id(), row));
+            publish(null);
+        });
+    }
+
+    /**
+     * Records a deleted vehicle, after commit when inside a transaction.
+     */
+    public void vehicleRemoved(Long id) {
+        afterCommit(() -> {
+            apply(id, null);
+            publish(id);
+        });
+    }
+
+    public VehicleFacetResponse search(VehicleFacetQuery query) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet makeMask = codeMask(makes, makeDictionary.codesOf(query.makes()));
+            BitSet modelMask = codeMask(models, modelDictionary.codesOf(query.models()));
+            BitSet yearMask = yearMask(query.yearFrom(), query.yearTo());
+            BitSet otherMask = otherMask(query.active(), query.registration());
+
+            BitSet matches = and(makeMask, modelMask, yearMask, otherMask);
+            List<Long> matchingIds = matches.stream()
+                    .mapToLong(slot -> ids[slot])
+                    .sorted()
+                    .limit(query.limit())
+                    .boxed()
+                    .toList();
+
+            return VehicleFacetResponse.builder()
+                    .ids(matchingIds)
+                    .total(matches.cardinality())
+                    .makes(countCodes(and(modelMask, yearMask, otherMask), makes, makeDictionary))
+                    .models(countCodes(and(makeMask, yearMask, otherMask), models, modelDictionary))
+                    .years(countYears(and(makeMask, modelMask, otherMask)))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+
+        if (!CHANNEL_CACHE_NAME.equals(invalidation.cacheName()) || nodeId.equals(invalidation.origin())
+                || (!loaded && !loading)) {
+            return;
+        }
+
+        try {
+            if (invalidation.isClear()) {
+                load();
+                return;
+            }
+            Long id = Long.valueOf(invalidation.key());
+            apply(id, PrimaryReads.get(() -> vehicleRepository.findById(id)).map(Row::of).orElse(null));
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh vehicle catalog entry {}: {}", invalidation.key(), ex.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            loadLock.lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Applies a change to the index, and buffers it for the snapshot being
+     * loaded if there is one. Before the first load there is nothing to
+     * update; the first search loads from the database.
+     */
+    private void apply(Long id, Row row) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pendingChanges.add(new Change(id, row));
+            }
+            if (loaded) {
+                update(id, row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(Long id, Row row) {
+        Integer slot = slotsById.get(id);
+        if (row != null && slot != null && row.version() < versions[slot]) {
+            // Older than what the index has, e.g. a buffered change the snapshot already includes
+            return;
+        }
+        remove(id);
+        if (row != null) {
+            put(row);
+        }
+    }
+
+    private void publish(Long id) {
+        try {
+            String key = id != null ? String.valueOf(id) : null;
+            redisTemplate.convertAndSend(localCacheConfig.getInvalidationChannel(),
+                    new CacheInvalidationMessage(nodeId, CHANNEL_CACHE_NAME, key).encode());
+        } catch (RuntimeException ex) {
+            log.warn("Could not broadcast vehicle catalog change {}: {}", id, ex.getMessage());
+        }
+    }
+
+    private void clear() {
+        makeDictionary.clear();
+        modelDictionary.clear();
+        slotsById.clear();
+        freeSlots.clear();
+        live.clear();
+        active.clear();
+        slotCount = 0;
+    }
+
+    private void put(Row row) {
+        Integer free = freeSlots.poll();
+        int slot = free != null ? free : slotCount++;
+        ensureCapacity(slot + 1);
+
+        ids[slot] = row.id();
+        registrations[slot] = row.registration();
+        makes[slot] = makeDictionary.encode(row.make());
+        models[slot] = modelDictionary.encode(row.model());
+        years[slot] = row.year() != null ? row.year() : NO_YEAR;
+        versions[slot] = row.version();
+        active.set(slot, row.active());
+        live.set(slot);
+        slotsById.put(row.id(), slot);
+    }
+
+    private void remove(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            live.clear(slot);
+            active.clear(slot);
+            registrations[slot] = null;
+            freeSlots.push(slot);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        registrations = Arrays.copyOf(registrations, capacity);
+        makes = Arrays.copyOf(makes, capacity);
+        models = Arrays.copyOf(models, capacity);
+        years = Arrays.copyOf(years, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private BitSet codeMask(int[] column, boolean[] wanted) {
+        if (wanted == null) {
+            return live;
+        }
+        BitSet mask = new BitSet(slotCount);
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            int code = column[slot];
+            if (code != NO_CODE && code < wanted.length && wanted[code]) {
+                mask.set(slot);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet yearMask(Integer yearFrom, Integer yearTo) {
+        if (yearFrom == null && yearTo == null) {
+            return live;
+        }
+        int from = yearFrom != null ? yearFrom : NO_YEAR + 1;
+        int to = yearTo != null ? yearTo : Integer.MAX_VALUE;
+        BitSet mask = new BitSet(slotCount);
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            int year = years[slot];
+            if (year >= from && year <= to) {
+                mask.set(slot);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet otherMask(Boolean activeOnly, String registration) {
+        BitSet mask = (BitSet) live.clone();
+        if (activeOnly != null) {
+            if (activeOnly) {
+                mask.and(active);
+            } else {
+                mask.andNot(active);
+            }
+        }
+        if (registration != null && !registration.isBlank()) {
+            String needle = registration.trim().toLowerCase(Locale.ROOT);
+            for (int slot = mask.nextSetBit(0); slot >= 0; slot = mask.nextSetBit(slot + 1)) {
+                if (!registrations[slot].contains(needle)) {
+                    mask.clear(slot);
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static BitSet and(BitSet first, BitSet... others) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet other : others) {
+            result.and(other);
+        }
+        return result;
+    }
+
+    private static Map<String, Long> countCodes(BitSet mask, int[] column, Dictionary dictionary) {
+        long[] counts = new long[dictionary.size()];
+        for (int slot = mask.nextSetBit(0); slot >= 0; slot = mask.nextSetBit(slot + 1)) {
+            if (column[slot] != NO_CODE) {
+                counts[column[slot]]++;
+            }
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort(Comparator.<Integer>comparingLong(code -> counts[code]).reversed()
+                .thenComparing(dictionary::decode));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        codes.forEach(code -> result.put(dictionary.decode(code), counts[code]));
+        return result;
+    }
+
+    private Map<Integer, Long> countYears(BitSet mask) {
+        Map<Integer, Long> result = new TreeMap<>();
+        for (int slot = mask.nextSetBit(0); slot >= 0; slot = mask.nextSetBit(slot + 1)) {
+            if (years[slot] != NO_YEAR) {
+                result.merge(years[slot], 1L, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Maps distinct values to dense codes. Codes are never reused, so a
+     * dictionary only grows until a full reload clears it.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null || value.isBlank()) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+
+        /**
+         * Returns a lookup table of the wanted codes, or null when the filter is
+         * not set. Values are matched case-insensitively.
+         */
+        boolean[] codesOf(Collection<String> wanted) {
+            if (wanted == null || wanted.isEmpty()) {
+                return null;
+            }
+            boolean[] lookup = new boolean[values.size()];
+            for (int code = 0; code < values.size(); code++) {
+                String value = values.get(code);
+                lookup[code] = wanted.stream().anyMatch(value::equalsIgnoreCase);
+            }
+            return lookup;
+        }
+    }
+
+    private record Row(long id, String registration, String make, String model, Integer year, boolean active,
+                       long version) {
+
+        static Row of(Vehicle vehicle) {
+            return new Row(
+                    vehicle.getId(),
+                    vehicle.getRegistrationNumber().toLowerCase(Locale.ROOT),
+                    vehicle.getMake(),
+                    vehicle.getModel(),
+                    vehicle.getYear(),
+                    Boolean.TRUE.equals(vehicle.getActive()),
+                    vehicle.getVersion() != null ? vehicle.getVersion() : NO_VERSION);
+        }
+    }
+
+    /**
+     * A change buffered during a load; a null row removes the vehicle.
+     */
+    private record Change(Long id, Row row) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.swifttransport.catalog;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Filters for a faceted vehicle search. Values within a facet are OR-ed,
+ * facets are AND-ed. Null or empty means "no filter".
+ *
+ * @param makes        Makes to include.
+ * @param models       Models to include.
+ * @param yearFrom     Lowest year, inclusive.
+ * @param yearTo       Highest year, inclusive.
+ * @param active       Only active or only inactive vehicles.
+ * @param registration Case-insensitive substring of the registration number.
+ * @param limit        Maximum number of ids to return.
+ */
+@Builder
+public record VehicleFacetQuery(
+    List<String> makes,
+    List<String> models,
+    Integer yearFrom,
+    Integer yearTo,
+    Boolean active,
+    String registration,
+    int limit
+) {
+}
@@ -0,0 +1,53 @@
+package com.example.swifttransport.config;
+
+import com.example.swifttransport.enums.RateLimitGroup;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API-wide request limits per caller, by tier and endpoint group. A tier is
+ * a {@link com.example.swifttransport.enums.UserRole} name, or
+ * {@value #ANONYMOUS_TIER} for requests without a valid token, which are
+ * limited per IP.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit.api")
+public class ApiRateLimitConfig {
+
+    public static final String ANONYMOUS_TIER = "ANONYMOUS";
+
+    private boolean enabled = true;
+
+    /** Callers whose limiter state this node keeps. */
+    @Min(1)
+    private int localKeys = 100_000;
+
+    private Map<String, Map<RateLimitGroup, Limit>> tiers = new HashMap<>();
+
+    /**
+     * Returns the limit of a tier and group, or null when it is unlimited.
+     */
+    public Limit limitFor(String tier, RateLimitGroup group) {
+        Map<RateLimitGroup, Limit> limits = tiers.getOrDefault(tier, new EnumMap<>(RateLimitGroup.class));
+        return limits.get(group);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private long capacity;
+        private Duration window;
+    }
+}
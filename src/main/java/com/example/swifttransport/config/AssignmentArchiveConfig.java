@@ -0,0 +1,34 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job that moves closed assignments into
+ * {@code vehicle_assignments_archive}.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.assignment-archive")
+public class AssignmentArchiveConfig {
+
+    /** Turns the scheduled archiver off without touching the schedule. */
+    private boolean enabled = true;
+
+    /** How long an assignment stays in the live table after it was closed. */
+    @NotNull
+    private Duration minAge = Duration.ofDays(90);
+
+    /** Assignments moved per transaction. */
+    @Min(1)
+    private int chunkSize = 1_000;
+}
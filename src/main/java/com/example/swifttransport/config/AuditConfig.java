@@ -0,0 +1,47 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Buffering of audit events between committed writes and {@code audit_logs},
+ * and retention of its monthly partitions.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditConfig {
+
+    /** Events held in memory before new ones are dropped. */
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    /** Events inserted per JDBC batch; a full batch is written without waiting. */
+    @Min(1)
+    private int batchSize = 500;
+
+    /** Longest an event waits in the queue when batches don't fill up. */
+    @NotNull
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** How long shutdown waits for the queue to drain. */
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /** Monthly partitions kept, counting the current month; older ones are dropped. */
+    @Min(1)
+    private int retentionMonths = 24;
+
+    /** Monthly partitions created ahead of the current month. */
+    @Min(1)
+    private int partitionsAhead = 3;
+}
@@ -1,5 +1,7 @@
 package com.example.swifttransport.config;
 
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
 import io.github.bucket4j.distributed.proxy.ProxyManager;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
@@ -31,4 +33,18 @@ public class Bucket4jConfig {
                                 Duration.ofSeconds(rateLimitConfig.getWindowDurationSeconds())))
                 .build();
     }
+
+    /**
+     * The login limit, built once and shared by every bucket, local and in Redis.
+     */
+    @Bean
+    public BucketConfiguration loginBucketConfiguration(RateLimitConfig rateLimitConfig) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(rateLimitConfig.getMaxRequests())
+                        .refillGreedy(rateLimitConfig.getMaxRequests(),
+                                Duration.ofSeconds(rateLimitConfig.getWindowDurationSeconds()))
+                        .build())
+                .build();
+    }
 }
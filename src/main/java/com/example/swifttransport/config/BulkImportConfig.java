@@ -0,0 +1,34 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Chunking of bulk driver and vehicle imports.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.import")
+public class BulkImportConfig {
+
+    /** Rows read, checked and committed together. */
+    @Min(1)
+    private int chunkSize = 500;
+
+    /** JDBC batch size used while inserting a chunk. */
+    @Min(1)
+    private int jdbcBatchSize = 100;
+
+    /**
+     * Longest record accepted, in characters. Longer ones are rejected, which
+     * bounds what an unterminated CSV quote can swallow.
+     */
+    @Min(1)
+    private int maxRecordLength = 64 * 1024;
+}
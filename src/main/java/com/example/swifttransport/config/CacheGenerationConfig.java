@@ -0,0 +1,26 @@
+package com.example.swifttransport.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings for the generation counters that version list cache keys.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.generations")
+public class CacheGenerationConfig {
+
+    /** How long an untouched counter lives in Redis; must exceed every cache TTL. */
+    private Duration keyTtl;
+
+    /** Upper bound on how long a node trusts its local copy of a counter. */
+    private Duration localTtl;
+}
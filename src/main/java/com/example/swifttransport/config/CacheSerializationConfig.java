@@ -0,0 +1,28 @@
+package com.example.swifttransport.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Selects the Redis value encoding per cache name.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.serialization")
+public class CacheSerializationConfig {
+
+    private CacheValueFormat defaultFormat = CacheValueFormat.JSON;
+    private Map<String, CacheValueFormat> formats = new HashMap<>();
+
+    public CacheValueFormat formatFor(String cacheName) {
+        return formats.getOrDefault(cacheName, defaultFormat);
+    }
+}
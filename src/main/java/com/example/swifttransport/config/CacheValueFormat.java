@@ -0,0 +1,11 @@
+package com.example.swifttransport.config;
+
+/**
+ * Value encodings available to the Redis caches.
+ */
+public enum CacheValueFormat {
+    /** Jackson JSON with embedded type information. */
+    JSON,
+    /** Compact schema-versioned binary encoding of the response records. */
+    BINARY
+}
@@ -0,0 +1,38 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Limits on how many threads may hold or wait for a database connection.
+ * With virtual threads the request thread count is unbounded, so this is
+ * what keeps bursts from queueing on the connection pool until they time out.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.db-bulkhead")
+public class DatabaseBulkheadConfig {
+
+    private boolean enabled = true;
+
+    /** Connections handed out at once; match the pool's maximum size. */
+    @Min(1)
+    private int permits = 10;
+
+    /** Threads allowed to wait for a permit; later ones are rejected at once. */
+    @Min(0)
+    private int maxWaiting = 200;
+
+    /** Longest a thread waits for a permit; keep it below the pool's connection timeout. */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(2);
+}
@@ -0,0 +1,23 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Cursor settings of the streaming exports.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportConfig {
+
+    /** Rows the JDBC driver fetches per round trip while an export streams. */
+    @Min(1)
+    private int fetchSize = 1_000;
+}
@@ -6,6 +6,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Validated
@@ -16,4 +18,6 @@ public class JwtConfig {
     private String secret;
     private long expiration;
     private String issuer;
+    private long verifiedTokenCacheSize = 10_000;
+    private Duration epochLocalTtl = Duration.ofSeconds(30);
 }
@@ -0,0 +1,45 @@
+package com.example.swifttransport.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the in-process L1 tier that sits in front of the Redis caches.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.local")
+public class LocalCacheConfig {
+
+    private boolean enabled;
+    private String invalidationChannel;
+    private long defaultMaxSize;
+    private Duration defaultTtl;
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public long maxSizeFor(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        return spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : defaultMaxSize;
+    }
+
+    public Duration ttlFor(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        return spec != null && spec.getTtl() != null ? spec.getTtl() : defaultTtl;
+    }
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        private Long maxSize;
+        private Duration ttl;
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.swifttransport.config;
 
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Validated
@@ -15,4 +19,16 @@ public class RateLimitConfig {
 
     private int maxRequests;
     private int windowDurationSeconds;
+
+    /** Client IPs whose in-memory buckets this node keeps. */
+    @Min(1)
+    private int localBuckets = 100_000;
+
+    /** Attempts a node may count locally before it syncs them to Redis. */
+    @Min(1)
+    private int syncTokens = 2;
+
+    /** Longest a node keeps unsynced attempts before writing them to Redis. */
+    @NotNull
+    private Duration syncInterval = Duration.ofSeconds(1);
 }
@@ -0,0 +1,83 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL streaming replicas that serve read-only transactions. Writes,
+ * and reads outside a read-only transaction, always use
+ * {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.read-replicas")
+public class ReadReplicaConfig {
+
+    /** Off sends everything to the primary, as if no replicas were listed. */
+    private boolean enabled = false;
+
+    /** Replicas taking reads in turn. */
+    @Valid
+    @NotNull
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas further behind the primary than this take no reads until they catch up. */
+    @NotNull
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    /**
+     * Time between health and lag checks of each replica. A replica can fall
+     * behind right after a check, so reads may be up to {@code maxLag} plus
+     * this interval old; keep it close to {@code maxLag}.
+     */
+    @NotNull
+    private Duration healthCheckInterval = Duration.ofSeconds(1);
+
+    /** Longest a health check may take before the replica counts as down. */
+    @NotNull
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long after a user's write commits their reads stay on the primary.
+     * Keep it above max-lag so the replica they return to has the write.
+     */
+    @NotNull
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** Users whose read-your-writes window is tracked at once on each node. */
+    @Min(1)
+    private int readYourWritesUsers = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        @NotBlank
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /** Pool size for this replica; it also gets a bulkhead with as many permits. */
+        @Min(1)
+        private int maximumPoolSize = 10;
+
+        /** Kept short so a replica that stops answering fails over to the next one quickly. */
+        @NotNull
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
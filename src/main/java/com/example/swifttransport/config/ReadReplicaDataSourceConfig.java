@@ -0,0 +1,79 @@
+package com.example.swifttransport.config;
+
+import com.example.swifttransport.db.BulkheadDataSource;
+import com.example.swifttransport.db.ReadWriteRoutingDataSource;
+import com.example.swifttransport.db.ReadYourWrites;
+import com.example.swifttransport.db.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only
+ * transactions to {@code app.read-replicas}. The primary pool is still built
+ * from {@code spring.datasource} and {@code spring.datasource.hikari}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties,
+                                 Environment environment,
+                                 ReadReplicaConfig readReplicaConfig,
+                                 DatabaseBulkheadConfig bulkheadConfig) {
+        List<AutoCloseable> pools = new ArrayList<>();
+
+        HikariDataSource primaryPool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaryPool));
+        pools.add(primaryPool);
+
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (ReadReplicaConfig.Replica replica : readReplicaConfig.getReplicas()) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replicaPool = new HikariDataSource();
+            replicaPool.setPoolName(name);
+            replicaPool.setJdbcUrl(replica.getUrl());
+            replicaPool.setUsername(replica.getUsername());
+            replicaPool.setPassword(replica.getPassword());
+            replicaPool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicaPool.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            replicaPool.setReadOnly(true);
+            // Start without the replica rather than fail; health checks bring it in later
+            replicaPool.setInitializationFailTimeout(-1);
+            pools.add(replicaPool);
+            replicas.add(new ReplicaSet.Replica(name,
+                    bulkheaded(replicaPool, bulkheadConfig, replica.getMaximumPoolSize())));
+        }
+
+        return new ReplicaSet(bulkheaded(primaryPool, bulkheadConfig, bulkheadConfig.getPermits()), replicas,
+                readReplicaConfig.getMaxLag(), readReplicaConfig.getHealthCheckTimeout(), pools);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        return new ReadWriteRoutingDataSource(replicaSet, readYourWrites);
+    }
+
+    private static DataSource bulkheaded(DataSource pool, DatabaseBulkheadConfig bulkheadConfig, int permits) {
+        if (!bulkheadConfig.isEnabled()) {
+            return pool;
+        }
+        DatabaseBulkheadConfig poolConfig = new DatabaseBulkheadConfig();
+        poolConfig.setPermits(permits);
+        poolConfig.setMaxWaiting(bulkheadConfig.getMaxWaiting());
+        poolConfig.setMaxWait(bulkheadConfig.getMaxWait());
+        return new BulkheadDataSource(pool, poolConfig);
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.swifttransport.config;
 
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.cache.ResponseBinarySerializer;
+import com.example.swifttransport.cache.TwoTierCacheManager;
+import com.example.swifttransport.catalog.VehicleCatalogIndex;
+import com.example.swifttransport.db.ReadYourWrites;
+import com.example.swifttransport.security.SecurityEpochService;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -29,43 +40,99 @@ public class RedisConfig {
     public static final String CACHE_VEHICLE_BY_ID = "vehicleById";
     public static final String CACHE_ASSIGNMENTS = "assignments";
     public static final String CACHE_ASSIGNMENT_BY_ID = "assignmentById";
+    public static final String CACHE_RESPONSES = "responses";
+
+    private static final GenericJackson2JsonRedisSerializer JSON_SERIALIZER = jsonSerializer();
+    private static final ResponseBinarySerializer BINARY_SERIALIZER = new ResponseBinarySerializer();
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.EVERYTHING,
-                JsonTypeInfo.As.PROPERTY
-        );
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate redisTemplate,
+                                     LocalCacheConfig localCacheConfig,
+                                     CacheSerializationConfig serializationConfig,
+                                     ResponseCacheConfig responseCacheConfig) {
+        RedisCacheConfiguration defaultConfig = cacheConfiguration(serializationConfig.getDefaultFormat(), Duration.ofMinutes(5));
+
+        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        
+        cacheConfigs.put(CACHE_DRIVERS, cacheConfiguration(serializationConfig.formatFor(CACHE_DRIVERS), Duration.ofMinutes(5)));
+        cacheConfigs.put(CACHE_DRIVER_BY_ID, cacheConfiguration(serializationConfig.formatFor(CACHE_DRIVER_BY_ID), Duration.ofMinutes(5)));
         
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        cacheConfigs.put(CACHE_VEHICLES, cacheConfiguration(serializationConfig.formatFor(CACHE_VEHICLES), Duration.ofMinutes(5)));
+        cacheConfigs.put(CACHE_VEHICLE_BY_ID, cacheConfiguration(serializationConfig.formatFor(CACHE_VEHICLE_BY_ID), Duration.ofMinutes(5)));
         
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))
+        cacheConfigs.put(CACHE_ASSIGNMENTS, cacheConfiguration(serializationConfig.formatFor(CACHE_ASSIGNMENTS), Duration.ofMinutes(2)));
+        cacheConfigs.put(CACHE_ASSIGNMENT_BY_ID, cacheConfiguration(serializationConfig.formatFor(CACHE_ASSIGNMENT_BY_ID), Duration.ofMinutes(2)));
+
+        // Serialized response bodies are stored as they are
+        cacheConfigs.put(CACHE_RESPONSES, RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(responseCacheConfig.getTtl())
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(RedisSerializer.byteArray()))
+                .disableCachingNullValues());
+
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultConfig)
+                .withInitialCacheConfigurations(cacheConfigs);
+
+        if (!localCacheConfig.isEnabled()) {
+            return builder.transactionAware().build();
+        }
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(builder.build(), localCacheConfig, redisTemplate);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheManager cacheManager,
+                                                                            CacheGenerations cacheGenerations,
+                                                                            SecurityEpochService securityEpochService,
+                                                                            VehicleCatalogIndex vehicleCatalogIndex,
+                                                                            ReadYourWrites readYourWrites,
+                                                                            LocalCacheConfig localCacheConfig) {
+        ChannelTopic invalidationTopic = new ChannelTopic(localCacheConfig.getInvalidationChannel());
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheGenerations, invalidationTopic);
+        container.addMessageListener(securityEpochService, invalidationTopic);
+        container.addMessageListener(vehicleCatalogIndex, invalidationTopic);
+        container.addMessageListener(readYourWrites, invalidationTopic);
+        if (cacheManager instanceof TwoTierCacheManager twoTierCacheManager) {
+            container.addMessageListener(twoTierCacheManager, invalidationTopic);
+        }
+        return container;
+    }
+
+    private static RedisCacheConfiguration cacheConfiguration(CacheValueFormat format, Duration ttl) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(serializer))
+                        .fromSerializer(valueSerializer(format)))
                 .disableCachingNullValues();
+    }
 
-        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
-        
-        cacheConfigs.put(CACHE_DRIVERS, defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        cacheConfigs.put(CACHE_DRIVER_BY_ID, defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        
-        cacheConfigs.put(CACHE_VEHICLES, defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        cacheConfigs.put(CACHE_VEHICLE_BY_ID, defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        
-        cacheConfigs.put(CACHE_ASSIGNMENTS, defaultConfig.entryTtl(Duration.ofMinutes(2)));
-        cacheConfigs.put(CACHE_ASSIGNMENT_BY_ID, defaultConfig.entryTtl(Duration.ofMinutes(2)));
+    /**
+     * Serializer the Redis tier stores cached values with in the given format.
+     */
+    public static RedisSerializer<Object> valueSerializer(CacheValueFormat format) {
+        return format == CacheValueFormat.BINARY ? BINARY_SERIALIZER : JSON_SERIALIZER;
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
-                .build();
+    private static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.EVERYTHING,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
 }
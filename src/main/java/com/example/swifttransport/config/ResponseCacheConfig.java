@@ -0,0 +1,36 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the cache that keeps serialized GET response bodies.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheConfig {
+
+    /** Serve tagged GET responses from cached bytes instead of serializing DTOs. */
+    private boolean enabled = true;
+
+    /** How long a body stays in Redis; entries are keyed by ETag, so this only bounds memory. */
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Also keep a gzipped copy and send it to clients that accept gzip. */
+    private boolean gzip = true;
+
+    /** Bodies smaller than this are always sent uncompressed. */
+    @Min(0)
+    private int gzipMinSize = 1_024;
+}
@@ -0,0 +1,29 @@
+package com.example.swifttransport.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Diagnostics for running request handling on virtual threads
+ * ({@code spring.threads.virtual.enabled}).
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class VirtualThreadConfig {
+
+    /** Logs virtual threads that block while pinned to their carrier thread. */
+    private boolean pinningMonitorEnabled = true;
+
+    /** Pinned blocking shorter than this is not reported. */
+    @NotNull
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
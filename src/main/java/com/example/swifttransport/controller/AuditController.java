@@ -0,0 +1,58 @@
+package com.example.swifttransport.controller;
+
+import com.example.swifttransport.audit.AuditLogQuery;
+import com.example.swifttransport.audit.AuditLogWriter;
+import com.example.swifttransport.dto.response.AuditLogListResponse;
+import com.example.swifttransport.dto.response.AuditWriterStatsResponse;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.service.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditLogService auditLogService;
+    private final AuditLogWriter auditLogWriter;
+
+    /* Audit entries newest first, paged with the nextCursor of the previous page */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditLogListResponse> getAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) AuditAction action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditLogService.getAuditLogs(AuditLogQuery.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .action(action)
+                .from(from)
+                .to(to)
+                .after(after)
+                .size(size)
+                .build()));
+    }
+
+    /* Queue depth and write/drop counters of this node's audit writer */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditWriterStatsResponse> getWriterStats() {
+        return ResponseEntity.ok(auditLogWriter.stats());
+    }
+}
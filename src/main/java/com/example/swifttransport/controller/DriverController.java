@@ -1,21 +1,36 @@
 package com.example.swifttransport.controller;
 
+import com.example.swifttransport.cache.ResponseBodyCache;
 import com.example.swifttransport.dto.request.CreateDriverRequest;
 import com.example.swifttransport.dto.request.UpdateDriverRequest;
 import com.example.swifttransport.dto.response.DriverListResponse;
 import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.ImportReport;
+import com.example.swifttransport.enums.CountMode;
 import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.ExportFormat;
+import com.example.swifttransport.enums.ImportFormat;
+import com.example.swifttransport.service.BulkImportService;
 import com.example.swifttransport.service.DriverService;
+import com.example.swifttransport.service.ExportService;
+import com.example.swifttransport.util.Fieldset;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/drivers")
@@ -23,6 +38,9 @@ import java.net.URI;
 public class DriverController {
 
     private final DriverService driverService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final ResponseBodyCache responseBodyCache;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -35,6 +53,27 @@ public class DriverController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /* Create drivers in bulk from a CSV or NDJSON upload */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReport> importDrivers(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(bulkImportService.importDrivers(request.getInputStream(), format));
+    }
+
+    /* Stream every driver as NDJSON or CSV without going through the list caches */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDrivers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean includeDeleted) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.attachment("drivers"))
+                .body(output -> exportService.exportDrivers(output, exportFormat, includeDeleted));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
     public ResponseEntity<DriverListResponse> getDrivers(
@@ -42,29 +81,71 @@ public class DriverController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) DriverStatus status,
             @RequestParam(required = false) String search,
-            @RequestParam(defaultValue = "false") boolean includeDeleted) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(driverService.getDrivers(pageable, status, search, includeDeleted));
+            @RequestParam(defaultValue = "false") boolean includeDeleted,
+            @RequestParam(defaultValue = "exact") String countMode,
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        CountMode mode = CountMode.fromParameter(countMode);
+        return responseBodyCache.respond(webRequest, driverService.getDriversTag(), () -> after != null
+                ? driverService.getDriversAfter(after, size, status, search, includeDeleted)
+                : driverService.getDrivers(PageRequest.of(page, size), status, search, includeDeleted, mode));
+    }
+
+    /* fields=id,firstName,lastName reads just those columns; the current vehicle only when listed */
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<FieldsetListResponse> getDriverFields(
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) DriverStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeDeleted,
+            @RequestParam(defaultValue = "exact") String countMode,
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        Fieldset fieldset = Fieldset.parse(fields, DriverService.FIELDS);
+        CountMode mode = CountMode.fromParameter(countMode);
+        return responseBodyCache.respond(webRequest, driverService.getDriversTag(), () -> after != null
+                ? driverService.getDriverFieldsAfter(fieldset, after, size, status, search, includeDeleted)
+                : driverService.getDriverFields(fieldset, PageRequest.of(page, size), status, search, includeDeleted, mode));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
-    public ResponseEntity<DriverResponse> getDriverById(@PathVariable Long id) {
-        return ResponseEntity.ok(driverService.getDriverById(id));
+    public ResponseEntity<DriverResponse> getDriverById(@PathVariable Long id, WebRequest webRequest) {
+        return responseBodyCache.respond(webRequest, driverService.getDriverTag(id),
+                () -> driverService.getDriverById(id));
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<Map<String, Object>> getDriverFieldsById(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        Fieldset fieldset = Fieldset.parse(fields, DriverService.FIELDS);
+        return responseBodyCache.respond(webRequest, driverService.getDriverTag(id),
+                () -> driverService.getDriverFieldsById(fieldset, id));
+    }
+
+    /* If-Match makes the update conditional on the ETag the client last saw */
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<DriverResponse> updateDriver(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateDriverRequest request) {
-        return ResponseEntity.ok(driverService.updateDriver(id, request));
+            @Valid @RequestBody UpdateDriverRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DriverResponse updated = driverService.updateDriver(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(driverService.getDriverTag(id)).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteDriver(@PathVariable Long id) {
-        driverService.deleteDriver(id);
+    public ResponseEntity<Void> deleteDriver(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        driverService.deleteDriver(id, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,20 +1,30 @@
 package com.example.swifttransport.controller;
 
+import com.example.swifttransport.cache.ResponseBodyCache;
 import com.example.swifttransport.dto.request.AssignVehicleRequest;
+import com.example.swifttransport.dto.request.BulkAssignRequest;
+import com.example.swifttransport.dto.request.BulkUnassignRequest;
 import com.example.swifttransport.dto.response.AssignmentListResponse;
 import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResponse;
+import com.example.swifttransport.enums.ExportFormat;
+import com.example.swifttransport.service.ExportService;
 import com.example.swifttransport.service.VehicleAssignmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/assignments")
@@ -22,6 +32,8 @@ import java.net.URI;
 public class VehicleAssignmentController {
 
     private final VehicleAssignmentService assignmentService;
+    private final ExportService exportService;
+    private final ResponseBodyCache responseBodyCache;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
@@ -34,6 +46,20 @@ public class VehicleAssignmentController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /* Assign many vehicles at once; each pair succeeds or fails on its own */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<BulkAssignmentResponse> assignVehicles(@Valid @RequestBody BulkAssignRequest request) {
+        return ResponseEntity.ok(assignmentService.assignVehicles(request.assignments()));
+    }
+
+    /* End the active assignments of many drivers, e.g. at shift change */
+    @PostMapping("/bulk/unassign")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<BulkAssignmentResponse> unassignVehicles(@Valid @RequestBody BulkUnassignRequest request) {
+        return ResponseEntity.ok(assignmentService.unassignVehicles(request.driverIds()));
+    }
+
     @DeleteMapping("/driver/{driverId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
     public ResponseEntity<AssignmentResponse> unassignVehicle(@PathVariable Long driverId) {
@@ -47,8 +73,27 @@ public class VehicleAssignmentController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "true") boolean activeOnly,
             @RequestParam(required = false) Long driverId,
-            @RequestParam(required = false) Long vehicleId) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(assignmentService.getAssignments(pageable, activeOnly, driverId, vehicleId));
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        String etag = assignmentService.getAssignmentsTag(driverId, vehicleId);
+        return responseBodyCache.respond(webRequest, etag, () -> after != null
+                ? assignmentService.getAssignmentsAfter(after, size, activeOnly, driverId, vehicleId, includeArchived)
+                : assignmentService.getAssignments(PageRequest.of(page, size), activeOnly, driverId, vehicleId,
+                        includeArchived));
+    }
+
+    /* Stream assignment history as NDJSON or CSV, optionally only assignments made since a point in time */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAssignments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.attachment("assignments"))
+                .body(output -> exportService.exportAssignments(output, exportFormat, since));
     }
 }
@@ -1,20 +1,38 @@
 package com.example.swifttransport.controller;
 
+import com.example.swifttransport.catalog.VehicleFacetQuery;
+import com.example.swifttransport.cache.ResponseBodyCache;
 import com.example.swifttransport.dto.request.CreateVehicleRequest;
 import com.example.swifttransport.dto.request.UpdateVehicleRequest;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.ImportReport;
+import com.example.swifttransport.dto.response.VehicleFacetResponse;
 import com.example.swifttransport.dto.response.VehicleListResponse;
 import com.example.swifttransport.dto.response.VehicleResponse;
+import com.example.swifttransport.enums.CountMode;
+import com.example.swifttransport.enums.ExportFormat;
+import com.example.swifttransport.enums.ImportFormat;
+import com.example.swifttransport.service.BulkImportService;
+import com.example.swifttransport.service.ExportService;
 import com.example.swifttransport.service.VehicleService;
+import com.example.swifttransport.util.Fieldset;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/vehicles")
@@ -22,6 +40,9 @@ import java.net.URI;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final ResponseBodyCache responseBodyCache;
 
     /* Create a new vehicle */
     @PostMapping
@@ -35,35 +56,117 @@ public class VehicleController {
         return ResponseEntity.created(location).body(created);
     }
 
+    /* Create vehicles in bulk from a CSV or NDJSON upload */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReport> importVehicles(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(bulkImportService.importVehicles(request.getInputStream(), format));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
     public ResponseEntity<VehicleListResponse> getVehicles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) Boolean activeOnly,
-            @RequestParam(required = false) String search) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(vehicleService.getVehicles(pageable, activeOnly, search));
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "exact") String countMode,
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        CountMode mode = CountMode.fromParameter(countMode);
+        return responseBodyCache.respond(webRequest, vehicleService.getVehiclesTag(), () -> after != null
+                ? vehicleService.getVehiclesAfter(after, size, activeOnly, search)
+                : vehicleService.getVehicles(PageRequest.of(page, size), activeOnly, search, mode));
+    }
+
+    /* fields=id,registrationNumber reads just those columns; the current driver only when listed */
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<FieldsetListResponse> getVehicleFields(
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Boolean activeOnly,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "exact") String countMode,
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        Fieldset fieldset = Fieldset.parse(fields, VehicleService.FIELDS);
+        CountMode mode = CountMode.fromParameter(countMode);
+        return responseBodyCache.respond(webRequest, vehicleService.getVehiclesTag(), () -> after != null
+                ? vehicleService.getVehicleFieldsAfter(fieldset, after, size, activeOnly, search)
+                : vehicleService.getVehicleFields(fieldset, PageRequest.of(page, size), activeOnly, search, mode));
+    }
+
+    @GetMapping("/facets")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<VehicleFacetResponse> getVehicleFacets(
+            @RequestParam(required = false) List<String> make,
+            @RequestParam(required = false) List<String> model,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String registration,
+            @RequestParam(defaultValue = "100") int limit) {
+        VehicleFacetQuery query = VehicleFacetQuery.builder()
+                .makes(make)
+                .models(model)
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .active(active)
+                .registration(registration)
+                .limit(limit)
+                .build();
+        return ResponseEntity.ok(vehicleService.getVehicleFacets(query));
+    }
+
+    /* Stream every vehicle as NDJSON or CSV without going through the list caches */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportVehicles(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.attachment("vehicles"))
+                .body(output -> exportService.exportVehicles(output, exportFormat));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
-    public ResponseEntity<VehicleResponse> getVehicleById(@PathVariable Long id) {
-        return ResponseEntity.ok(vehicleService.getVehicleById(id));
+    public ResponseEntity<VehicleResponse> getVehicleById(@PathVariable Long id, WebRequest webRequest) {
+        return responseBodyCache.respond(webRequest, vehicleService.getVehicleTag(id),
+                () -> vehicleService.getVehicleById(id));
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
+    public ResponseEntity<Map<String, Object>> getVehicleFieldsById(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        Fieldset fieldset = Fieldset.parse(fields, VehicleService.FIELDS);
+        return responseBodyCache.respond(webRequest, vehicleService.getVehicleTag(id),
+                () -> vehicleService.getVehicleFieldsById(fieldset, id));
+    }
+
+    /* If-Match makes the update conditional on the ETag the client last saw */
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<VehicleResponse> updateVehicle(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateVehicleRequest request) {
-        return ResponseEntity.ok(vehicleService.updateVehicle(id, request));
+            @Valid @RequestBody UpdateVehicleRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VehicleResponse updated = vehicleService.updateVehicle(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(vehicleService.getVehicleTag(id)).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteVehicle(@PathVariable Long id) {
-        vehicleService.deleteVehicle(id);
+    public ResponseEntity<Void> deleteVehicle(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        vehicleService.deleteVehicle(id, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,135 @@
+package com.example.swifttransport.db;
+
+import com.example.swifttransport.config.DatabaseBulkheadConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Puts a fair semaphore in front of the connection pool. A connection
+ * carries a permit from checkout until {@code close()}, so the permit covers
+ * a whole transaction, not just one repository call.
+ *
+ * <p>Waiters are served in arrival order and wait at most {@code maxWait}.
+ * When {@code maxWaiting} threads are already queued, new ones fail at once
+ * instead of piling onto the pool, which matters once every request runs on
+ * its own virtual thread.
+ */
+@Slf4j
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final DatabaseBulkheadConfig bulkheadConfig;
+    private final LongAdder rejected = new LongAdder();
+
+    public BulkheadDataSource(DataSource targetDataSource, DatabaseBulkheadConfig bulkheadConfig) {
+        super(targetDataSource);
+        this.permits = new Semaphore(bulkheadConfig.getPermits(), true);
+        this.bulkheadConfig = bulkheadConfig;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return withPermit(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return withPermit(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Takes exactly one permit or throws. With the queue full, the caller may
+     * only take a permit that is free right now.
+     */
+    private void acquire() throws SQLException {
+        if (permits.getQueueLength() >= bulkheadConfig.getMaxWaiting()) {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            throw reject("too many callers waiting");
+        }
+        try {
+            if (!permits.tryAcquire(bulkheadConfig.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw reject("no connection within " + bulkheadConfig.getMaxWait().toMillis() + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBulkheadFullException("Interrupted while waiting for a database connection");
+        }
+    }
+
+    private DatabaseBulkheadFullException reject(String reason) {
+        rejected.increment();
+        log.warn("Database bulkhead rejected a connection request: {}", reason);
+        return new DatabaseBulkheadFullException("Database busy: " + reason);
+    }
+
+    /**
+     * Wraps the connection so that its first {@code close()} returns the permit.
+     */
+    private Connection withPermit(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                    return System.identityHashCode(proxy);
+                }
+                if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            });
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.swifttransport.db;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown instead of a connection when the database bulkhead has no permit to
+ * give within its wait limit. Surfaces to clients as 503.
+ */
+public class DatabaseBulkheadFullException extends SQLTransientConnectionException {
+
+    public DatabaseBulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.swifttransport.db;
+
+import com.example.swifttransport.config.DatabaseBulkheadConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link BulkheadDataSource},
+ * so JPA, JdbcTemplate, Flyway and the export cursors all draw from the same
+ * permits. A {@link ReadWriteRoutingDataSource} is left alone, since each of
+ * the pools it routes to already has a bulkhead of its own.
+ */
+@Component
+public class DatabaseBulkheadPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DatabaseBulkheadConfig> bulkheadConfig;
+
+    public DatabaseBulkheadPostProcessor(ObjectProvider<DatabaseBulkheadConfig> bulkheadConfig) {
+        this.bulkheadConfig = bulkheadConfig;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)
+                && !(bean instanceof ReadWriteRoutingDataSource)) {
+            DatabaseBulkheadConfig config = bulkheadConfig.getObject();
+            if (config.isEnabled()) {
+                return new BulkheadDataSource(dataSource, config);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.swifttransport.db;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Marks reads whose results outlive the request, such as cache fills and
+ * in-memory index refreshes, so they run on the primary even inside a
+ * read-only transaction.
+ *
+ * <p>Writes evict caches and bump generations after commit. A replica read
+ * right after that can still return the rows from before the write, and
+ * caching them under the new key keeps them until the next write. Reading
+ * from the primary means a refill always sees the write that caused it.
+ *
+ * <p>The mark is per thread and only checked when a read-only transaction
+ * takes its first connection. Without replicas it has no effect.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public static <T> T call(Callable<T> action) throws Exception {
+        if (isActive()) {
+            return action.call();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return action.call();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static <T> T get(Supplier<T> action) {
+        if (isActive()) {
+            return action.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.swifttransport.db;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the
+ * primary.
+ *
+ * <p>The transaction manager marks a connection read-only before running
+ * anything on it, so connections are handed out lazily and only bound to a
+ * pool at the first statement, once the flag is known. Users inside their
+ * read-your-writes window read from the primary, and committing a
+ * read-write transaction starts that window. So do {@link PrimaryReads},
+ * which fill caches.
+ *
+ * <p>Each pool behind this carries its own bulkhead, so the application-wide
+ * bulkhead is not applied on top.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private final ReplicaSet replicaSet;
+
+    public ReadWriteRoutingDataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        super(new WriteTrackingDataSource(replicaSet, readYourWrites));
+        this.replicaSet = replicaSet;
+        setReadOnlyDataSource(new ReadDataSource(replicaSet, readYourWrites));
+    }
+
+    public ReplicaSet replicaSet() {
+        return replicaSet;
+    }
+
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWrites readYourWrites;
+
+        WriteTrackingDataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+            super(replicaSet.primary());
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            readYourWrites.trackCurrentTransaction();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            readYourWrites.trackCurrentTransaction();
+            return super.getConnection(username, password);
+        }
+    }
+
+    private static final class ReadDataSource extends AbstractDataSource {
+
+        private final ReplicaSet replicaSet;
+        private final ReadYourWrites readYourWrites;
+
+        ReadDataSource(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+            this.replicaSet = replicaSet;
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readYourWrites.isPinned() || PrimaryReads.isActive()
+                    ? replicaSet.primary().getConnection()
+                    : replicaSet.getReadConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            // Replica pools have their own credentials; explicit ones only make sense for the primary
+            return replicaSet.primary().getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.swifttransport.db;
+
+import com.example.swifttransport.cache.CacheInvalidationMessage;
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.example.swifttransport.config.ReadReplicaConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Remembers which users committed a write in the last
+ * {@code read-your-writes-window}, so their reads can skip the replicas
+ * until those have replayed it. A dispatcher who just assigned a vehicle
+ * then sees the assignment in the next list they load.
+ *
+ * <p>Writers are tracked in a local cache and announced on the cache
+ * invalidation channel, so whichever node serves the user's next read
+ * pins it too.
+ */
+@Slf4j
+@Component
+public class ReadYourWrites implements MessageListener {
+
+    public static final String CHANNEL_CACHE_NAME = "read-your-writes";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalCacheConfig localCacheConfig;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(StringRedisTemplate redisTemplate,
+                          LocalCacheConfig localCacheConfig,
+                          ReadReplicaConfig readReplicaConfig) {
+        this.redisTemplate = redisTemplate;
+        this.localCacheConfig = localCacheConfig;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(readReplicaConfig.getReadYourWritesUsers())
+                .expireAfterWrite(readReplicaConfig.getReadYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Whether the current user wrote recently enough that a replica may not
+     * have their write yet.
+     */
+    public boolean isPinned() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    /**
+     * Pins the current user once the surrounding read-write transaction
+     * commits. Does nothing outside a transaction, in a read-only one, or
+     * without an authenticated user.
+     */
+    public void trackCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(user);
+            }
+        });
+    }
+
+    void recordWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+        try {
+            redisTemplate.convertAndSend(localCacheConfig.getInvalidationChannel(),
+                    new CacheInvalidationMessage(nodeId, CHANNEL_CACHE_NAME, user).encode());
+        } catch (RuntimeException ex) {
+            // Only this node pins the user; elsewhere the lag guard still applies
+            log.warn("Could not announce write by {}: {}", user, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+
+        if (!CHANNEL_CACHE_NAME.equals(invalidation.cacheName()) || nodeId.equals(invalidation.origin())
+                || invalidation.isClear()) {
+            return;
+        }
+        recentWriters.put(invalidation.key(), Boolean.TRUE);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
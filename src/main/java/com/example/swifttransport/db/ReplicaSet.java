@@ -0,0 +1,224 @@
+package com.example.swifttransport.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary and its read replicas. Reads go to the replicas in turn,
+ * skipping any that failed their last health check or lag further behind
+ * the primary than {@code maxLag}, and fall back to the primary when none
+ * qualifies.
+ *
+ * <p>A replica starts out unchecked and takes no reads until its first
+ * check passes. A replica that refuses a connection is taken out at once
+ * rather than at the next check.
+ *
+ * <p>Lag is only measured at each check, so a replica that falls behind
+ * right after one keeps taking reads until the next. Reads can therefore be
+ * up to {@code maxLag} plus the check interval behind the primary, and the
+ * interval should not be much longer than {@code maxLag}.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    /**
+     * The WAL position the primary has flushed, which is as far as any
+     * replica can have received.
+     */
+    static final String PRIMARY_LSN_SQL = "SELECT CAST(pg_current_wal_flush_lsn() AS text)";
+
+    /**
+     * Replay lag in milliseconds, given the primary's position from just
+     * before the check: zero once the replica has replayed up to it (an idle
+     * primary writes nothing, so the last replay time alone would keep
+     * growing), otherwise the age of the last replayed transaction. Null when
+     * the replica has not replayed anything yet.
+     *
+     * <p>The comparison is with the primary rather than with what the replica
+     * has received, since a replica whose WAL receiver has disconnected has
+     * replayed everything it received and would otherwise look current.
+     */
+    static final String LAG_SQL = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration healthCheckTimeout;
+    private final List<AutoCloseable> pools;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param pools Pools owned by this set, closed with it.
+     */
+    public ReplicaSet(DataSource primary, List<Replica> replicas, Duration maxLag, Duration healthCheckTimeout,
+                      List<AutoCloseable> pools) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.healthCheckTimeout = healthCheckTimeout;
+        this.pools = List.copyOf(pools);
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * A connection from the next replica that may take reads, or from the
+     * primary if none may.
+     */
+    public Connection getReadConnection() throws SQLException {
+        int size = replicas.size();
+        if (size > 0) {
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.isEligible(maxLag)) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException ex) {
+                    replica.markDown(ex.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replicas.health-check-interval:1s}")
+    public void checkReplicas() {
+        String primaryLsn = primaryLsn();
+        for (Replica replica : replicas) {
+            replica.check(primaryLsn, healthCheckTimeout, maxLag);
+        }
+    }
+
+    /**
+     * Null when the primary cannot be reached; replicas then report the age
+     * of their last replayed transaction.
+     */
+    private String primaryLsn() {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeout(healthCheckTimeout));
+            try (ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_SQL)) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Could not read the primary's WAL position: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static int queryTimeout(Duration timeout) {
+        return (int) Math.max(1, timeout.toSeconds());
+    }
+
+    @Override
+    public void close() {
+        for (AutoCloseable pool : pools) {
+            try {
+                pool.close();
+            } catch (Exception ex) {
+                log.warn("Could not close connection pool: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One replica and what its last health check found.
+     */
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile Long lagMillis;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * Replay lag at the last check; null if unknown.
+         */
+        public Long lagMillis() {
+            return lagMillis;
+        }
+
+        boolean isEligible(Duration maxLag) {
+            Long lag = lagMillis;
+            return healthy && lag != null && lag <= maxLag.toMillis();
+        }
+
+        void check(String primaryLsn, Duration timeout, Duration maxLag) {
+            Long lag;
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+                statement.setQueryTimeout(queryTimeout(timeout));
+                statement.setString(1, primaryLsn);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    double value = resultSet.getDouble(1);
+                    lag = resultSet.wasNull() ? null : Math.round(value);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                markDown(ex.getMessage());
+                return;
+            }
+            markUp(lag, maxLag);
+        }
+
+        void markUp(Long lag, Duration maxLag) {
+            boolean wasEligible = isEligible(maxLag);
+            lagMillis = lag;
+            healthy = true;
+
+            boolean eligible = isEligible(maxLag);
+            if (eligible && !wasEligible) {
+                log.info("Replica {} is taking reads, lag {} ms", name, lag);
+            } else if (!eligible && wasEligible) {
+                log.warn("Replica {} is {} behind the primary; reads go elsewhere",
+                        name, lag != null ? lag + " ms" : "an unknown time");
+            }
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} is down; reads go elsewhere: {}", name, reason);
+            }
+            healthy = false;
+            lagMillis = null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.swifttransport.diagnostics;
+
+import com.example.swifttransport.config.VirtualThreadConfig;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and logs
+ * each virtual thread that blocked while pinned to its carrier, with the
+ * frames that pinned it. On JDK 21 a thread is pinned while it holds a
+ * monitor ({@code synchronized}) or runs native code, which is where
+ * dependencies like JDBC drivers and Redis clients still cost a carrier.
+ *
+ * <p>Only active when request handling runs on virtual threads.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "pinning-monitor-enabled", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final VirtualThreadConfig virtualThreadConfig;
+    private final LongAdder pinnedEvents = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(VirtualThreadConfig virtualThreadConfig) {
+        this.virtualThreadConfig = virtualThreadConfig;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT)
+            .withThreshold(virtualThreadConfig.getPinnedThreshold())
+            .withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for more than {} ms",
+            virtualThreadConfig.getPinnedThreshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.sum();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedEvents.increment();
+        log.warn("Virtual thread {} pinned for {} ms:{}",
+            event.getThread() != null ? event.getThread().getJavaName() : "?",
+            event.getDuration().toMillis(),
+            frames(event.getStackTrace()));
+    }
+
+    static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")")
+            .collect(Collectors.joining())
+            + (frames.size() > LOGGED_FRAMES ? "\n\t... " + (frames.size() - LOGGED_FRAMES) + " more" : "");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.swifttransport.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_BULK_ASSIGNMENTS_SIZE;
+
+/**
+ * Request DTO for assigning many vehicles at once.
+ */
+@Builder
+public record BulkAssignRequest(
+    @NotNull(message = VALIDATION_BULK_ASSIGNMENTS_SIZE)
+    @Size(min = 1, max = 500, message = VALIDATION_BULK_ASSIGNMENTS_SIZE)
+    List<@Valid @NotNull AssignVehicleRequest> assignments
+) {}
@@ -0,0 +1,20 @@
+package com.example.swifttransport.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_BULK_DRIVER_IDS_SIZE;
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_DRIVER_ID_REQUIRED;
+
+/**
+ * Request DTO for ending the active assignments of many drivers at once.
+ */
+@Builder
+public record BulkUnassignRequest(
+    @NotNull(message = VALIDATION_BULK_DRIVER_IDS_SIZE)
+    @Size(min = 1, max = 500, message = VALIDATION_BULK_DRIVER_IDS_SIZE)
+    List<@NotNull(message = VALIDATION_DRIVER_ID_REQUIRED) Long> driverIds
+) {}
@@ -1,5 +1,6 @@
 package com.example.swifttransport.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.io.Serializable;
@@ -7,15 +8,20 @@ import java.util.List;
 
 /**
  * Response DTO for paginated list of Assignments.
+ *
+ * <p>Offset pages carry page numbers and totals. Cursor pages carry
+ * {@code nextCursor} instead, which is {@code null} on the last page.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Builder
 public record AssignmentListResponse(
     List<AssignmentResponse> content,
-    int page,
+    Integer page,
     int size,
-    long totalElements,
-    int totalPages,
-    boolean last
+    Long totalElements,
+    Integer totalPages,
+    boolean last,
+    String nextCursor
 ) implements Serializable {
     private static final long serialVersionUID = 1L;
 }
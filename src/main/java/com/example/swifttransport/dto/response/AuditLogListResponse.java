@@ -0,0 +1,20 @@
+package com.example.swifttransport.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Response DTO for a page of audit log entries. {@code nextCursor} is
+ * {@code null} on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public record AuditLogListResponse(
+    List<AuditLogResponse> content,
+    int size,
+    boolean last,
+    String nextCursor
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.swifttransport.dto.response;
+
+import com.example.swifttransport.enums.AuditAction;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response DTO for one audit log entry.
+ */
+@Builder
+public record AuditLogResponse(
+    Long id,
+    AuditAction action,
+    String entityType,
+    Long entityId,
+    Long userId,
+    String username,
+    LocalDateTime timestamp,
+    Map<String, Object> details
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.swifttransport.dto.response;
+
+import lombok.Builder;
+
+/**
+ * Response DTO for the state of the background audit writer. Counters are
+ * totals since the node started.
+ */
+@Builder
+public record AuditWriterStatsResponse(
+    boolean running,
+    int queueDepth,
+    int queueCapacity,
+    long enqueued,
+    long written,
+    long dropped,
+    long failed,
+    long batches
+) {
+}
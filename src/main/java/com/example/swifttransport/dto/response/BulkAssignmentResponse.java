@@ -0,0 +1,23 @@
+package com.example.swifttransport.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk assign or unassign, with one result per requested
+ * item in request order.
+ */
+@Builder
+public record BulkAssignmentResponse(
+    int requested,
+    int succeeded,
+    int failed,
+    List<BulkAssignmentResult> results
+) {
+
+    public static BulkAssignmentResponse of(List<BulkAssignmentResult> results) {
+        int succeeded = (int) results.stream().filter(BulkAssignmentResult::success).count();
+        return new BulkAssignmentResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.swifttransport.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one driver-vehicle pair in a bulk assign or unassign.
+ *
+ * @param driverId     The driver of the pair.
+ * @param vehicleId    The vehicle of the pair, if known.
+ * @param assignmentId The assignment created or ended.
+ * @param success      Whether the pair was applied.
+ * @param error        Why the pair was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkAssignmentResult(
+    Long driverId,
+    Long vehicleId,
+    Long assignmentId,
+    boolean success,
+    String error
+) {
+
+    public static BulkAssignmentResult applied(Long driverId, Long vehicleId, Long assignmentId) {
+        return new BulkAssignmentResult(driverId, vehicleId, assignmentId, true, null);
+    }
+
+    public static BulkAssignmentResult rejected(Long driverId, Long vehicleId, String error) {
+        return new BulkAssignmentResult(driverId, vehicleId, null, false, error);
+    }
+}
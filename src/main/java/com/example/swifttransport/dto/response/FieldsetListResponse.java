@@ -0,0 +1,29 @@
+package com.example.swifttransport.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a list read with {@code fields=}: each row holds only the
+ * requested properties, keyed by their names in the full response.
+ *
+ * <p>Paging properties follow {@link DriverListResponse}: offset pages carry
+ * page numbers and totals, cursor pages carry {@code nextCursor}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public record FieldsetListResponse(
+    List<Map<String, Object>> content,
+    Integer page,
+    int size,
+    Long totalElements,
+    Integer totalPages,
+    boolean last,
+    String nextCursor
+) implements Serializable {
+    private static final long serialVersionUID = 1L;
+}
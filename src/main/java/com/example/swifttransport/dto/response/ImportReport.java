@@ -0,0 +1,17 @@
+package com.example.swifttransport.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk import, with one result per row in upload order.
+ */
+@Builder
+public record ImportReport(
+    int total,
+    int created,
+    int rejected,
+    List<ImportRowResult> rows
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.swifttransport.dto.response;
+
+import com.example.swifttransport.enums.ImportRowStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one row of a bulk import.
+ *
+ * @param line   Line of the upload the row starts on.
+ * @param key    The row's unique key (license or registration number), if present.
+ * @param id     Id of the created record.
+ * @param status Outcome of the row.
+ * @param error  Why the row was not created.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRowResult(
+    long line,
+    String key,
+    Long id,
+    ImportRowStatus status,
+    String error
+) {
+
+    public static ImportRowResult created(long line, String key, Long id) {
+        return new ImportRowResult(line, key, id, ImportRowStatus.CREATED, null);
+    }
+
+    public static ImportRowResult rejected(long line, String key, ImportRowStatus status, String error) {
+        return new ImportRowResult(line, key, null, status, error);
+    }
+}
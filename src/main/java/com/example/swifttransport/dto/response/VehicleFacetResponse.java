@@ -0,0 +1,24 @@
+package com.example.swifttransport.dto.response;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a faceted vehicle search.
+ *
+ * <p>Each facet's counts apply every filter except that facet's own, so the
+ * client can show how many vehicles picking another value would return.
+ */
+@Builder
+public record VehicleFacetResponse(
+    List<Long> ids,
+    long total,
+    Map<String, Long> makes,
+    Map<String, Long> models,
+    Map<Integer, Long> years
+) implements Serializable {
+    private static final long serialVersionUID = 1L;
+}
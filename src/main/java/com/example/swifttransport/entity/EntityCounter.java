@@ -0,0 +1,25 @@
+package com.example.swifttransport.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Row count maintained alongside the writes that change it, so list totals
+ * don't need a {@code COUNT(*)}.
+ */
+@Entity
+@Table(name = "entity_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityCounter {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "count_value", nullable = false)
+    private Long value;
+}
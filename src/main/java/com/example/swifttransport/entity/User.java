@@ -1,6 +1,7 @@
 package com.example.swifttransport.entity;
 
 import com.example.swifttransport.enums.UserRole;
+import com.example.swifttransport.security.UserRevocationListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserRevocationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
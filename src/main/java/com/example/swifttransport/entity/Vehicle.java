@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Vehicle {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_id_seq")
+    @SequenceGenerator(name = "vehicles_id_seq", sequenceName = "vehicles_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "registration_number", unique = true, nullable = false, length = 50)
@@ -35,6 +36,9 @@ public class Vehicle {
     @Builder.Default
     private Boolean active = true;
 
+    @Version
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
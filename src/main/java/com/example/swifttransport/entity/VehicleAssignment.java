@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class VehicleAssignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_assignments_id_seq")
+    @SequenceGenerator(name = "vehicle_assignments_id_seq", sequenceName = "vehicle_assignments_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +39,9 @@ public class VehicleAssignment {
     @Builder.Default
     private Boolean isActive = true;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_by", nullable = false)
     private User assignedBy;
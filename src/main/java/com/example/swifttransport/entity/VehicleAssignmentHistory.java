@@ -0,0 +1,52 @@
+package com.example.swifttransport.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of every assignment, live and archived, for history
+ * queries that ask for archived rows.
+ */
+@Entity
+@Immutable
+@Subselect(
+    "SELECT id, driver_id, vehicle_id, assigned_at, unassigned_at, is_active, assigned_by " +
+    "FROM vehicle_assignments " +
+    "UNION ALL " +
+    "SELECT id, driver_id, vehicle_id, assigned_at, unassigned_at, false, assigned_by " +
+    "FROM vehicle_assignments_archive"
+)
+@Synchronize({"vehicle_assignments", "vehicle_assignments_archive"})
+@Getter
+@NoArgsConstructor
+public class VehicleAssignmentHistory {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "driver_id")
+    private Driver driver;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id")
+    private Vehicle vehicle;
+
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;
+
+    @Column(name = "unassigned_at")
+    private LocalDateTime unassignedAt;
+
+    @Column(name = "is_active")
+    private Boolean isActive;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_by")
+    private User assignedBy;
+}
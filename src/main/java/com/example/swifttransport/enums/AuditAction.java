@@ -0,0 +1,13 @@
+package com.example.swifttransport.enums;
+
+/**
+ * Kind of change recorded in {@code audit_logs}.
+ */
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    /** Soft delete for drivers, hard delete for vehicles. */
+    DELETE,
+    ASSIGN,
+    UNASSIGN
+}
@@ -0,0 +1,27 @@
+package com.example.swifttransport.enums;
+
+import com.example.swifttransport.exception.BusinessValidationException;
+
+import java.util.Locale;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_INVALID_COUNT_MODE;
+
+/**
+ * How a search list computes its totals.
+ */
+public enum CountMode {
+    /** Run an exact {@code COUNT(*)}. */
+    EXACT,
+    /** Use the planner's row estimate. */
+    ESTIMATE,
+    /** Return no totals; {@code last} still tells whether more rows follow. */
+    NONE;
+
+    public static CountMode fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessValidationException(VALIDATION_INVALID_COUNT_MODE);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.swifttransport.enums;
+
+import com.example.swifttransport.exception.BusinessValidationException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_INVALID_EXPORT_FORMAT;
+
+/**
+ * Body formats of the streaming export endpoints.
+ */
+public enum ExportFormat {
+    /** One JSON object per line. */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    /** Comma-separated values with a header row. */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns a {@code Content-Disposition} value offering the export as a file.
+     */
+    public String attachment(String name) {
+        return "attachment; filename=\"" + name + "." + extension + "\"";
+    }
+
+    public static ExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessValidationException(VALIDATION_INVALID_EXPORT_FORMAT);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.swifttransport.enums;
+
+import com.example.swifttransport.exception.BusinessValidationException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_IMPORT_CONTENT_TYPE;
+
+/**
+ * Body formats accepted by the bulk import endpoints.
+ */
+public enum ImportFormat {
+    /** Comma-separated values with a header row naming the fields. */
+    CSV(MediaType.valueOf("text/csv")),
+    /** One JSON object per line. */
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType requested = MediaType.parseMediaType(contentType);
+                for (ImportFormat format : values()) {
+                    if (format.mediaType.isCompatibleWith(requested)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException ex) {
+                // Reported below like any other unsupported type
+            }
+        }
+        throw new BusinessValidationException(VALIDATION_IMPORT_CONTENT_TYPE);
+    }
+}
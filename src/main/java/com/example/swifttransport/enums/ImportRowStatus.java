@@ -0,0 +1,14 @@
+package com.example.swifttransport.enums;
+
+/**
+ * Outcome of a single row of a bulk import.
+ */
+public enum ImportRowStatus {
+    CREATED,
+    /** The row failed conversion or validation. */
+    INVALID,
+    /** The unique key already exists, or appeared earlier in the file. */
+    DUPLICATE,
+    /** The row was valid but its chunk could not be written. */
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.example.swifttransport.enums;
+
+/**
+ * Endpoint groups that get separate API rate limits.
+ */
+public enum RateLimitGroup {
+    /** GET and HEAD requests. */
+    READ,
+    /** Single-record creates, updates and deletes. */
+    WRITE,
+    /** Imports, exports and bulk operations, which each touch many rows. */
+    BULK;
+
+    public static RateLimitGroup of(String method, String path) {
+        if (path.contains("/bulk") || path.endsWith("/import") || path.endsWith("/export")) {
+            return BULK;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.swifttransport.exception;
 
+import com.example.swifttransport.db.DatabaseBulkheadFullException;
 import com.example.swifttransport.dto.response.ApiErrorResponse;
 import com.example.swifttransport.util.CustomMessages;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.TransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +56,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiErrorResponse> handlePreconditionFailed(
+            PreconditionFailedException ex, WebRequest request) {
+        log.warn(CustomMessages.LOG_PRECONDITION_FAILED, ex.getMessage());
+        ApiErrorResponse error = ApiErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.PRECONDITION_FAILED.value())
+            .error(HttpStatus.PRECONDITION_FAILED.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(request.getDescription(false).replace("uri=", ""))
+            .build();
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /*
+     * A concurrent write committed between our read and our flush; the
+     * version check turned it into a conflict instead of a lost update
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<ApiErrorResponse> handleConcurrentModification(
+            Exception ex, WebRequest request) {
+        log.warn(CustomMessages.LOG_CONCURRENT_MODIFICATION, ex.getMessage());
+        ApiErrorResponse error = ApiErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.CONFLICT.value())
+            .error(HttpStatus.CONFLICT.getReasonPhrase())
+            .message(CustomMessages.CONCURRENT_MODIFICATION)
+            .path(request.getDescription(false).replace("uri=", ""))
+            .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidationErrors(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -83,6 +123,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    /*
+     * Connection checkout failures wrap the bulkhead rejection in whatever the
+     * data access layer uses (CannotCreateTransactionException, JDBCConnectionException,
+     * CannotGetJdbcConnectionException), so the cause chain decides the status
+     */
+    @ExceptionHandler({TransactionException.class, DataAccessException.class, PersistenceException.class})
+    public ResponseEntity<ApiErrorResponse> handleDataAccessFailure(
+            Exception ex, WebRequest request) {
+        if (!(NestedExceptionUtils.getRootCause(ex) instanceof DatabaseBulkheadFullException)) {
+            return handleGenericException(ex, request);
+        }
+        log.warn(CustomMessages.LOG_DATABASE_BUSY, request.getDescription(false));
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(CustomMessages.DATABASE_BUSY)
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGenericException(
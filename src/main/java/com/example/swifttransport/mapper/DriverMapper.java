@@ -3,6 +3,7 @@ package com.example.swifttransport.mapper;
 import com.example.swifttransport.dto.request.CreateDriverRequest;
 import com.example.swifttransport.dto.request.UpdateDriverRequest;
 import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.VehicleSummaryResponse;
 import com.example.swifttransport.entity.Driver;
 import org.mapstruct.*;
 
@@ -15,11 +16,16 @@ public interface DriverMapper {
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Driver toEntity(CreateDriverRequest request);
 
     @Mapping(target = "currentVehicle", ignore = true)
     DriverResponse toResponse(Driver driver);
 
+    @Mapping(target = "id", source = "driver.id")
+    @Mapping(target = "currentVehicle", source = "currentVehicle")
+    DriverResponse toResponse(Driver driver, VehicleSummaryResponse currentVehicle);
+
     List<DriverResponse> toResponseList(List<Driver> drivers);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -28,5 +34,6 @@ public interface DriverMapper {
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromRequest(UpdateDriverRequest request, @MappingTarget Driver driver);
 }
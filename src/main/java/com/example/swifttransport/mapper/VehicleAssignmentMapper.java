@@ -4,9 +4,12 @@ import com.example.swifttransport.dto.response.AssignmentResponse;
 import com.example.swifttransport.dto.response.DriverSummaryResponse;
 import com.example.swifttransport.dto.response.VehicleSummaryResponse;
 import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.entity.VehicleAssignmentHistory;
+import com.example.swifttransport.repository.VehicleAssignmentRepository.AssignAttempt;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -15,8 +18,37 @@ public interface VehicleAssignmentMapper {
     @Mapping(target = "assignedBy", source = "assignedBy.username")
     AssignmentResponse toResponse(VehicleAssignment assignment);
 
+    @Mapping(target = "id", source = "assignment.id")
+    @Mapping(target = "assignedBy", source = "assignedBy")
+    AssignmentResponse toResponse(VehicleAssignment assignment, String assignedBy);
+
     List<AssignmentResponse> toResponseList(List<VehicleAssignment> assignments);
 
+    @Mapping(target = "assignedBy", source = "assignedBy.username")
+    AssignmentResponse toResponse(VehicleAssignmentHistory assignment);
+
+    List<AssignmentResponse> toHistoryResponseList(List<VehicleAssignmentHistory> assignments);
+
+    default AssignmentResponse toResponse(AssignAttempt attempt, Long driverId, Long vehicleId,
+                                          LocalDateTime assignedAt, String assignedBy) {
+        return AssignmentResponse.builder()
+                .id(attempt.getAssignmentId())
+                .driver(DriverSummaryResponse.builder()
+                        .id(driverId)
+                        .firstName(attempt.getFirstName())
+                        .lastName(attempt.getLastName())
+                        .licenseNumber(attempt.getLicenseNumber())
+                        .build())
+                .vehicle(VehicleSummaryResponse.builder()
+                        .id(vehicleId)
+                        .registrationNumber(attempt.getRegistrationNumber())
+                        .build())
+                .assignedAt(assignedAt)
+                .assignedBy(assignedBy)
+                .isActive(true)
+                .build();
+    }
+
     default DriverSummaryResponse mapDriver(VehicleAssignment assignment) {
         if (assignment == null || assignment.getDriver() == null) {
             return null;
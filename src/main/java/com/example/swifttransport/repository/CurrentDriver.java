@@ -0,0 +1,18 @@
+package com.example.swifttransport.repository;
+
+/**
+ * The driver a vehicle is currently assigned to, with just the columns of a
+ * {@code DriverSummaryResponse}.
+ */
+public interface CurrentDriver {
+
+    Long getVehicleId();
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getLicenseNumber();
+}
@@ -0,0 +1,14 @@
+package com.example.swifttransport.repository;
+
+/**
+ * The vehicle a driver is currently assigned, with just the columns of a
+ * {@code VehicleSummaryResponse}.
+ */
+public interface CurrentVehicle {
+
+    Long getDriverId();
+
+    Long getId();
+
+    String getRegistrationNumber();
+}
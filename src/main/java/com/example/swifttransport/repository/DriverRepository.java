@@ -2,39 +2,109 @@ package com.example.swifttransport.repository;
 
 import com.example.swifttransport.entity.Driver;
 import com.example.swifttransport.enums.DriverStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DriverRepository extends JpaRepository<Driver, Long> {
 
     Optional<Driver> findByIdAndDeletedFalse(Long id);
 
+    @Query("SELECT d.version AS version, va.id AS assignmentId, v.version AS counterpartVersion FROM Driver d " +
+           "LEFT JOIN VehicleAssignment va ON va.driver = d AND va.isActive = true " +
+           "LEFT JOIN va.vehicle v " +
+           "WHERE d.id = :id AND d.deleted = false")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    List<Driver> findAllByIdInAndDeletedFalse(Collection<Long> ids);
+
     Optional<Driver> findByLicenseNumber(String licenseNumber);
 
     boolean existsByLicenseNumber(String licenseNumber);
 
-    Page<Driver> findAllByDeletedFalse(Pageable pageable);
+    @Query("SELECT d.licenseNumber FROM Driver d WHERE d.licenseNumber IN :licenseNumbers")
+    Set<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    /*
+     * Search runs against drivers.search_text, a generated lower-cased
+     * "first last phone license" column with a pg_trgm GIN index (V7), so the
+     * substring LIKE is answered from the index instead of a sequential scan.
+     * Offset results are ranked by how well the term matches a word in it.
+     */
+
+    String SEARCH_WHERE = "d.deleted = false AND d.search_text LIKE '%' || LOWER(:search) || '%'";
+
+    String SEARCH_FROM = "FROM drivers d WHERE " + SEARCH_WHERE;
 
-    Page<Driver> findAllByStatusAndDeletedFalse(DriverStatus status, Pageable pageable);
+    String SEARCH_BY_STATUS_FROM = SEARCH_FROM + " AND d.status = :status";
 
-    @Query("SELECT d FROM Driver d WHERE d.deleted = false AND " +
-           "(LOWER(CONCAT(d.firstName, ' ', d.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "d.phoneNumber LIKE CONCAT('%', :search, '%') OR " +
-           "d.licenseNumber LIKE CONCAT('%', :search, '%'))")
+    String SEARCH_RANKING = " ORDER BY word_similarity(LOWER(:search), d.search_text) DESC, d.id";
+
+    /**
+     * SQL form of the search for planner estimates; binds the search term.
+     */
+    String SEARCH_ESTIMATE_SQL = "SELECT d.id FROM drivers d WHERE d.deleted = false " +
+           "AND d.search_text LIKE '%' || LOWER(?) || '%'";
+
+    /**
+     * SQL form of the status-filtered search for planner estimates; binds the search term, then the status.
+     */
+    String SEARCH_BY_STATUS_ESTIMATE_SQL = SEARCH_ESTIMATE_SQL + " AND d.status = ?";
+
+    @Query(value = "SELECT d.* " + SEARCH_FROM + SEARCH_RANKING,
+           countQuery = "SELECT COUNT(*) " + SEARCH_FROM,
+           nativeQuery = true)
     Page<Driver> searchDrivers(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT d FROM Driver d WHERE d.deleted = false AND d.status = :status AND " +
-           "(LOWER(CONCAT(d.firstName, ' ', d.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "d.phoneNumber LIKE CONCAT('%', :search, '%') OR " +
-           "d.licenseNumber LIKE CONCAT('%', :search, '%'))")
+    @Query(value = "SELECT d.* " + SEARCH_BY_STATUS_FROM + SEARCH_RANKING,
+           countQuery = "SELECT COUNT(*) " + SEARCH_BY_STATUS_FROM,
+           nativeQuery = true)
     Page<Driver> searchDriversByStatus(@Param("search") String search,
-                                       @Param("status") DriverStatus status,
+                                       @Param("status") String status,
                                        Pageable pageable);
+
+    // Slices skip the COUNT(*); totals come from entity counters or estimates
+
+    @Query("SELECT d FROM Driver d")
+    Slice<Driver> findAllAsSlice(Pageable pageable);
+
+    Slice<Driver> findAllByDeletedFalse(Pageable pageable);
+
+    Slice<Driver> findAllByStatusAndDeletedFalse(DriverStatus status, Pageable pageable);
+
+    @Query(value = "SELECT d.* " + SEARCH_FROM + SEARCH_RANKING, nativeQuery = true)
+    Slice<Driver> searchDriversSlice(@Param("search") String search, Pageable pageable);
+
+    @Query(value = "SELECT d.* " + SEARCH_BY_STATUS_FROM + SEARCH_RANKING, nativeQuery = true)
+    Slice<Driver> searchDriversByStatusSlice(@Param("search") String search,
+                                             @Param("status") String status,
+                                             Pageable pageable);
+
+    // Keyset pagination: seek past the last id of the previous page
+
+    List<Driver> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<Driver> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<Driver> findByStatusAndDeletedFalseAndIdGreaterThanOrderByIdAsc(DriverStatus status, Long afterId, Limit limit);
+
+    @Query(value = "SELECT d.* " + SEARCH_FROM + " AND d.id > :afterId ORDER BY d.id", nativeQuery = true)
+    List<Driver> searchDriversAfter(@Param("search") String search, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(value = "SELECT d.* " + SEARCH_BY_STATUS_FROM + " AND d.id > :afterId ORDER BY d.id", nativeQuery = true)
+    List<Driver> searchDriversByStatusAfter(@Param("search") String search,
+                                            @Param("status") String status,
+                                            @Param("afterId") Long afterId,
+                                            Limit limit);
 }
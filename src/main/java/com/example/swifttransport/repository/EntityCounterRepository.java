@@ -0,0 +1,29 @@
+package com.example.swifttransport.repository;
+
+import com.example.swifttransport.entity.EntityCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface EntityCounterRepository extends JpaRepository<EntityCounter, String> {
+
+    @Modifying
+    @Query("UPDATE EntityCounter c SET c.value = c.value + :delta WHERE c.name = :name")
+    int increment(@Param("name") String name, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO entity_counters (name, count_value) VALUES (:name, :value)", nativeQuery = true)
+    void insert(@Param("name") String name, @Param("value") long value);
+
+    /**
+     * Scalar query, so values updated in bulk in the current transaction are
+     * read from the database rather than from stale managed entities.
+     */
+    @Query("SELECT COALESCE(SUM(c.value), 0) FROM EntityCounter c WHERE c.name IN :names")
+    long sumByNameIn(@Param("names") Collection<String> names);
+}
@@ -0,0 +1,53 @@
+package com.example.swifttransport.repository;
+
+import com.example.swifttransport.entity.VehicleAssignmentHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Assignment history across the live and archive tables. Mirrors the history
+ * queries of {@link VehicleAssignmentRepository}.
+ */
+@org.springframework.stereotype.Repository
+public interface VehicleAssignmentHistoryRepository extends Repository<VehicleAssignmentHistory, Long> {
+
+    @Query("SELECT h FROM VehicleAssignmentHistory h")
+    Slice<VehicleAssignmentHistory> findAllAsSlice(Pageable pageable);
+
+    Page<VehicleAssignmentHistory> findAllByDriverId(Long driverId, Pageable pageable);
+
+    Page<VehicleAssignmentHistory> findAllByVehicleId(Long vehicleId, Pageable pageable);
+
+    // Keyset pagination on (assigned_at, id): seek past the last row of the previous page
+
+    @Query("SELECT h FROM VehicleAssignmentHistory h " +
+           "WHERE (h.assignedAt, h.id) > (:assignedAt, :afterId) " +
+           "ORDER BY h.assignedAt, h.id")
+    List<VehicleAssignmentHistory> findAllAfter(@Param("assignedAt") LocalDateTime assignedAt,
+                                                @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    @Query("SELECT h FROM VehicleAssignmentHistory h " +
+           "WHERE h.driver.id = :driverId AND (h.assignedAt, h.id) > (:assignedAt, :afterId) " +
+           "ORDER BY h.assignedAt, h.id")
+    List<VehicleAssignmentHistory> findByDriverIdAfter(@Param("driverId") Long driverId,
+                                                       @Param("assignedAt") LocalDateTime assignedAt,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    @Query("SELECT h FROM VehicleAssignmentHistory h " +
+           "WHERE h.vehicle.id = :vehicleId AND (h.assignedAt, h.id) > (:assignedAt, :afterId) " +
+           "ORDER BY h.assignedAt, h.id")
+    List<VehicleAssignmentHistory> findByVehicleIdAfter(@Param("vehicleId") Long vehicleId,
+                                                        @Param("assignedAt") LocalDateTime assignedAt,
+                                                        @Param("afterId") Long afterId,
+                                                        Limit limit);
+}
@@ -1,14 +1,21 @@
 package com.example.swifttransport.repository;
 
 import com.example.swifttransport.entity.VehicleAssignment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface VehicleAssignmentRepository extends JpaRepository<VehicleAssignment, Long> {
@@ -21,7 +28,12 @@ public interface VehicleAssignmentRepository extends JpaRepository<VehicleAssign
 
     boolean existsByVehicleIdAndIsActiveTrue(Long vehicleId);
 
-    Page<VehicleAssignment> findAllByIsActiveTrue(Pageable pageable);
+    // Slices skip the COUNT(*); totals come from entity counters
+
+    Slice<VehicleAssignment> findAllByIsActiveTrue(Pageable pageable);
+
+    @Query("SELECT va FROM VehicleAssignment va")
+    Slice<VehicleAssignment> findAllAsSlice(Pageable pageable);
 
     Page<VehicleAssignment> findAllByDriverId(Long driverId, Pageable pageable);
 
@@ -32,4 +44,130 @@ public interface VehicleAssignmentRepository extends JpaRepository<VehicleAssign
 
     @Query("SELECT va FROM VehicleAssignment va WHERE va.isActive = true AND va.vehicle.id = :vehicleId")
     Optional<VehicleAssignment> findActiveAssignmentByVehicle(@Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT va FROM VehicleAssignment va JOIN FETCH va.driver " +
+           "WHERE va.isActive = true AND va.vehicle.id IN :vehicleIds")
+    List<VehicleAssignment> findActiveWithDriverByVehicleIds(@Param("vehicleIds") Collection<Long> vehicleIds);
+
+    @Query("SELECT va FROM VehicleAssignment va JOIN FETCH va.vehicle " +
+           "WHERE va.isActive = true AND va.driver.id IN :driverIds")
+    List<VehicleAssignment> findActiveWithVehicleByDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // Summary-only lookups for sparse fieldsets; no entities are loaded
+
+    @Query("SELECT va.driver.id AS driverId, v.id AS id, v.registrationNumber AS registrationNumber " +
+           "FROM VehicleAssignment va JOIN va.vehicle v " +
+           "WHERE va.isActive = true AND va.driver.id IN :driverIds")
+    List<CurrentVehicle> findCurrentVehiclesByDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    @Query("SELECT va.vehicle.id AS vehicleId, d.id AS id, d.firstName AS firstName, d.lastName AS lastName, " +
+           "d.licenseNumber AS licenseNumber " +
+           "FROM VehicleAssignment va JOIN va.driver d " +
+           "WHERE va.isActive = true AND va.vehicle.id IN :vehicleIds")
+    List<CurrentDriver> findCurrentDriversByVehicleIds(@Param("vehicleIds") Collection<Long> vehicleIds);
+
+    // Set-based checks and updates for bulk assign/unassign
+
+    @Query("SELECT va.driver.id FROM VehicleAssignment va WHERE va.isActive = true AND va.driver.id IN :driverIds")
+    Set<Long> findActiveDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    @Query("SELECT va.vehicle.id FROM VehicleAssignment va WHERE va.isActive = true AND va.vehicle.id IN :vehicleIds")
+    Set<Long> findActiveVehicleIds(@Param("vehicleIds") Collection<Long> vehicleIds);
+
+    @Modifying
+    @Query("UPDATE VehicleAssignment va SET va.isActive = false, va.unassignedAt = :unassignedAt, " +
+           "va.version = va.version + 1 " +
+           "WHERE va.id IN :ids AND va.isActive = true")
+    int deactivateAll(@Param("ids") Collection<Long> ids, @Param("unassignedAt") LocalDateTime unassignedAt);
+
+    /**
+     * Checks the driver and vehicle and inserts the assignment in one
+     * statement. The insert only runs when both are eligible, and
+     * {@code ON CONFLICT DO NOTHING} lets the partial unique indexes on active
+     * assignments reject a busy driver or vehicle instead of raising an error.
+     * The assignment counters are bumped in the same statement. The returned
+     * row carries what the caller needs to build a response or explain a
+     * rejection; {@code driverBusy} and {@code vehicleBusy} reflect the rows
+     * visible when the statement started. PostgreSQL only.
+     */
+    @Query(value =
+           "WITH d AS (" +
+           "  SELECT id, status, first_name, last_name, license_number FROM drivers " +
+           "  WHERE id = :driverId AND deleted = false" +
+           "), v AS (" +
+           "  SELECT id, active, registration_number FROM vehicles WHERE id = :vehicleId" +
+           "), ins AS (" +
+           "  INSERT INTO vehicle_assignments (driver_id, vehicle_id, assigned_at, is_active, assigned_by) " +
+           "  SELECT d.id, v.id, :assignedAt, true, :assignedBy FROM d CROSS JOIN v " +
+           "  WHERE d.status = 'ACTIVE' AND v.active " +
+           "  ON CONFLICT DO NOTHING " +
+           "  RETURNING id" +
+           "), counted AS (" +
+           "  UPDATE entity_counters SET count_value = count_value + 1 " +
+           "  WHERE name IN ('assignments:active', 'assignments:total') " +
+           "  AND EXISTS (SELECT 1 FROM ins)" +
+           ") " +
+           "SELECT (SELECT id FROM ins) AS \"assignmentId\", " +
+           "(SELECT status FROM d) AS \"driverStatus\", " +
+           "(SELECT first_name FROM d) AS \"firstName\", " +
+           "(SELECT last_name FROM d) AS \"lastName\", " +
+           "(SELECT license_number FROM d) AS \"licenseNumber\", " +
+           "(SELECT active FROM v) AS \"vehicleActive\", " +
+           "(SELECT registration_number FROM v) AS \"registrationNumber\", " +
+           "EXISTS (SELECT 1 FROM vehicle_assignments WHERE driver_id = :driverId AND is_active = true) AS \"driverBusy\", " +
+           "EXISTS (SELECT 1 FROM vehicle_assignments WHERE vehicle_id = :vehicleId AND is_active = true) AS \"vehicleBusy\"",
+           nativeQuery = true)
+    AssignAttempt tryAssign(@Param("driverId") Long driverId,
+                            @Param("vehicleId") Long vehicleId,
+                            @Param("assignedBy") Long assignedBy,
+                            @Param("assignedAt") LocalDateTime assignedAt);
+
+    /**
+     * Result of {@link #tryAssign}. {@code assignmentId} is null when nothing
+     * was inserted; the other columns are null when the driver or vehicle
+     * doesn't exist.
+     */
+    interface AssignAttempt {
+        Long getAssignmentId();
+        String getDriverStatus();
+        String getFirstName();
+        String getLastName();
+        String getLicenseNumber();
+        Boolean getVehicleActive();
+        String getRegistrationNumber();
+        Boolean getDriverBusy();
+        Boolean getVehicleBusy();
+    }
+
+    // Keyset pagination on (assigned_at, id): seek past the last row of the previous page
+
+    @Query("SELECT va FROM VehicleAssignment va " +
+           "WHERE (va.assignedAt, va.id) > (:assignedAt, :afterId) " +
+           "ORDER BY va.assignedAt, va.id")
+    List<VehicleAssignment> findAllAfter(@Param("assignedAt") LocalDateTime assignedAt,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    @Query("SELECT va FROM VehicleAssignment va " +
+           "WHERE va.isActive = true AND (va.assignedAt, va.id) > (:assignedAt, :afterId) " +
+           "ORDER BY va.assignedAt, va.id")
+    List<VehicleAssignment> findActiveAfter(@Param("assignedAt") LocalDateTime assignedAt,
+                                            @Param("afterId") Long afterId,
+                                            Limit limit);
+
+    @Query("SELECT va FROM VehicleAssignment va " +
+           "WHERE va.driver.id = :driverId AND (va.assignedAt, va.id) > (:assignedAt, :afterId) " +
+           "ORDER BY va.assignedAt, va.id")
+    List<VehicleAssignment> findByDriverIdAfter(@Param("driverId") Long driverId,
+                                                @Param("assignedAt") LocalDateTime assignedAt,
+                                                @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    @Query("SELECT va FROM VehicleAssignment va " +
+           "WHERE va.vehicle.id = :vehicleId AND (va.assignedAt, va.id) > (:assignedAt, :afterId) " +
+           "ORDER BY va.assignedAt, va.id")
+    List<VehicleAssignment> findByVehicleIdAfter(@Param("vehicleId") Long vehicleId,
+                                                 @Param("assignedAt") LocalDateTime assignedAt,
+                                                 @Param("afterId") Long afterId,
+                                                 Limit limit);
 }
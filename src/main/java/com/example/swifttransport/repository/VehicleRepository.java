@@ -1,22 +1,74 @@
 package com.example.swifttransport.repository;
 
 import com.example.swifttransport.entity.Vehicle;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     Optional<Vehicle> findByRegistrationNumber(String registrationNumber);
 
+    @Query("SELECT v.version AS version, va.id AS assignmentId, d.version AS counterpartVersion FROM Vehicle v " +
+           "LEFT JOIN VehicleAssignment va ON va.vehicle = v AND va.isActive = true " +
+           "LEFT JOIN va.driver d " +
+           "WHERE v.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
     boolean existsByRegistrationNumber(String registrationNumber);
 
+    @Query("SELECT v.registrationNumber FROM Vehicle v WHERE v.registrationNumber IN :registrationNumbers")
+    Set<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
+
     Page<Vehicle> findByRegistrationNumberContainingOrMakeContainingOrModelContaining(
             String registrationNumber, String make, String model, Pageable pageable);
 
-    Page<Vehicle> findAllByActiveTrue(Pageable pageable);
+    /**
+     * SQL equivalent of the registration/make/model search for planner estimates; binds the term three times.
+     */
+    String SEARCH_ESTIMATE_SQL = "SELECT v.id FROM vehicles v WHERE " +
+            "v.registration_number LIKE '%' || ? || '%' OR " +
+            "v.make LIKE '%' || ? || '%' OR " +
+            "v.model LIKE '%' || ? || '%'";
+
+    /**
+     * The same search as a native condition on {@code vehicles v}; binds {@code :search}.
+     */
+    String SEARCH_WHERE = "(v.registration_number LIKE '%' || :search || '%' OR " +
+            "v.make LIKE '%' || :search || '%' OR " +
+            "v.model LIKE '%' || :search || '%')";
+
+    // Slices skip the COUNT(*); totals come from entity counters or estimates
+
+    @Query("SELECT v FROM Vehicle v")
+    Slice<Vehicle> findAllAsSlice(Pageable pageable);
+
+    Slice<Vehicle> findAllByActiveTrue(Pageable pageable);
+
+    Slice<Vehicle> findSliceByRegistrationNumberContainingOrMakeContainingOrModelContaining(
+            String registrationNumber, String make, String model, Pageable pageable);
+
+    // Keyset pagination: seek past the last id of the previous page
+
+    List<Vehicle> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<Vehicle> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT v FROM Vehicle v WHERE v.id > :afterId AND " +
+           "(v.registrationNumber LIKE CONCAT('%', :search, '%') OR " +
+           "v.make LIKE CONCAT('%', :search, '%') OR " +
+           "v.model LIKE CONCAT('%', :search, '%')) " +
+           "ORDER BY v.id")
+    List<Vehicle> searchVehiclesAfter(@Param("search") String search, @Param("afterId") Long afterId, Limit limit);
 }
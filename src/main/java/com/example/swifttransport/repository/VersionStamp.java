@@ -0,0 +1,16 @@
+package com.example.swifttransport.repository;
+
+/**
+ * Versions behind one representation of a driver or vehicle: the entity's own
+ * optimistic lock version, plus its active assignment and the version of the
+ * entity on the other side of it, whose summary the response embeds. The
+ * last two are null when nothing is assigned.
+ */
+public interface VersionStamp {
+
+    Long getVersion();
+
+    Long getAssignmentId();
+
+    Long getCounterpartVersion();
+}
@@ -0,0 +1,194 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.ApiRateLimitConfig;
+import com.example.swifttransport.enums.RateLimitGroup;
+import com.example.swifttransport.util.CustomMessages;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import io.github.bucket4j.distributed.proxy.AsyncProxyManager;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits every API request per caller: per user id for authenticated
+ * requests, per IP otherwise, with separate buckets per endpoint group and
+ * limits by role ({@link ApiRateLimitConfig}).
+ *
+ * <p>Buckets live in Redis and are consumed through Bucket4j's async Lettuce
+ * API, and the request thread never waits for the reply. Each caller's last
+ * known state is kept on this node: a caller Redis has rejected is turned
+ * away locally until its bucket refills, and everyone else is let through
+ * while their consume is in flight. A caller can therefore overshoot by the
+ * requests it has in flight during one Redis round trip. If Redis fails,
+ * requests are allowed.
+ *
+ * <p>Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining},
+ * {@code RateLimit-Reset} and {@code RateLimit-Policy} from the IETF
+ * RateLimit header draft.
+ */
+@Slf4j
+@Component
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    static final String REDIS_KEY_PREFIX = "rate-limit:api:";
+
+    private static final String API_PREFIX = "/api/";
+    private static final String AUTH_PREFIX = "/api/v1/auth/";
+    private static final String HEALTH_PATH = "/api/v1/health";
+
+    private final AsyncProxyManager<String> proxyManager;
+    private final ApiRateLimitConfig rateLimitConfig;
+    private final Cache<String, CallerState> callers;
+
+    public ApiRateLimitFilter(ProxyManager<String> proxyManager, ApiRateLimitConfig rateLimitConfig) {
+        this.proxyManager = proxyManager.asAsync();
+        this.rateLimitConfig = rateLimitConfig;
+        this.callers = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getLocalKeys())
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !rateLimitConfig.isEnabled()
+                || !path.startsWith(API_PREFIX)
+                || path.startsWith(AUTH_PREFIX)
+                || path.equals(HEALTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitGroup group = RateLimitGroup.of(request.getMethod(), request.getRequestURI());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Caller caller = Caller.of(authentication, request);
+        ApiRateLimitConfig.Limit limit = rateLimitConfig.limitFor(caller.tier(), group);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = REDIS_KEY_PREFIX + caller.key() + ":" + group.name().toLowerCase();
+        CallerState state = callers.get(key, k -> new CallerState(limit, bucketFor(k, limit)));
+
+        long now = System.nanoTime();
+        if (!state.isBlocked(now)) {
+            state.consume(now);
+        }
+
+        setHeaders(response, state, now);
+        if (state.isBlocked(now)) {
+            long retryAfterSeconds = RateLimitResponses.retryAfterSeconds(state.blockedUntil - now);
+            log.warn(CustomMessages.LOG_API_RATE_LIMIT_EXCEEDED, caller.key(), group);
+            RateLimitResponses.tooManyRequests(request, response, retryAfterSeconds,
+                    "Rate limit exceeded. Please try again after " + retryAfterSeconds + " second(s).");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private AsyncBucketProxy bucketFor(String key, ApiRateLimitConfig.Limit limit) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(limit.getCapacity())
+                        .refillGreedy(limit.getCapacity(), limit.getWindow())
+                        .build())
+                .build();
+        return proxyManager.builder().build(key, () -> CompletableFuture.completedFuture(configuration));
+    }
+
+    private static void setHeaders(HttpServletResponse response, CallerState state, long now) {
+        long windowSeconds = state.limit.getWindow().toSeconds();
+        response.setHeader("RateLimit-Limit", String.valueOf(state.limit.getCapacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(Math.max(0, state.remaining)));
+        response.setHeader("RateLimit-Reset", String.valueOf(
+                Math.max(0, TimeUnit.NANOSECONDS.toSeconds(Math.max(state.resetAt, state.blockedUntil) - now))));
+        response.setHeader("RateLimit-Policy", state.limit.getCapacity() + ";w=" + windowSeconds);
+    }
+
+    /**
+     * Who a request is counted against.
+     */
+    record Caller(String tier, String key) {
+
+        static Caller of(Authentication authentication, HttpServletRequest request) {
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return new Caller(user.role().name(), "user:" + user.id());
+            }
+            if (authentication != null && authentication.getPrincipal() instanceof SecurityUser user) {
+                return new Caller(user.getRole().name(), "user:" + user.getId());
+            }
+            return new Caller(ApiRateLimitConfig.ANONYMOUS_TIER, "ip:" + RateLimitingFilter.resolveClientIp(request));
+        }
+    }
+
+    /**
+     * This node's view of one caller's bucket, refreshed from each Redis reply.
+     * Starts full, so a new caller is never rejected before Redis has answered.
+     */
+    static final class CallerState {
+
+        private final ApiRateLimitConfig.Limit limit;
+        private final AsyncBucketProxy bucket;
+        private volatile long remaining;
+        private volatile long resetAt;
+        private volatile long blockedUntil;
+
+        CallerState(ApiRateLimitConfig.Limit limit, AsyncBucketProxy bucket) {
+            this.limit = limit;
+            this.bucket = bucket;
+            this.remaining = limit.getCapacity();
+            this.resetAt = System.nanoTime();
+        }
+
+        boolean isBlocked(long now) {
+            return blockedUntil - now > 0;
+        }
+
+        void consume(long now) {
+            remaining = Math.max(0, remaining - 1);
+            CompletableFuture<ConsumptionProbe> reply = bucket.tryConsumeAndReturnRemaining(1);
+            if (reply.isDone() && !reply.isCompletedExceptionally()) {
+                // Already answered (e.g. pipelined reply); use it for this request
+                update(reply.join(), now);
+            } else {
+                reply.whenComplete((probe, ex) -> {
+                    if (ex != null) {
+                        log.debug("Rate limit check failed, allowing: {}", ex.getMessage());
+                    } else {
+                        update(probe, System.nanoTime());
+                    }
+                });
+            }
+        }
+
+        private void update(ConsumptionProbe probe, long now) {
+            remaining = probe.getRemainingTokens();
+            resetAt = now + probe.getNanosToWaitForReset();
+            if (!probe.isConsumed()) {
+                blockedUntil = now + probe.getNanosToWaitForRefill();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.enums.UserRole;
+
+import java.security.Principal;
+
+/**
+ * Principal of a request authenticated from JWT claims alone.
+ */
+public record AuthenticatedUser(Long id, String username, UserRole role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.swifttransport.security;
 
 import com.example.swifttransport.config.JwtConfig;
+import com.example.swifttransport.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,65 +15,158 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * <p>The signing key and parser are built once. Verified tokens are remembered
+ * by SHA-256 digest until they expire, so repeat requests with the same bearer
+ * token skip Base64 decoding, JSON parsing and the HMAC check.
+ *
+ * <p>Tokens carry the user id, role and security epoch as claims, so requests
+ * can be authenticated without loading the user from the database.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_EPOCH = "epoch";
+
     private final JwtConfig jwtConfig;
+    private final SecurityEpochService securityEpochService;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtTokenProvider(JwtConfig jwtConfig, SecurityEpochService securityEpochService) {
+        this.jwtConfig = jwtConfig;
+        this.securityEpochService = securityEpochService;
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
 
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .issuer(jwtConfig.getIssuer())
-                .signWith(getSigningKey())
-                .compact();
+                .signWith(signingKey);
+
+        if (userDetails instanceof SecurityUser securityUser) {
+            builder.claim(CLAIM_USER_ID, securityUser.getId())
+                    .claim(CLAIM_ROLE, securityUser.getRole().name())
+                    .claim(CLAIM_EPOCH, securityEpochService.current(securityUser.getId()));
+        }
+
+        return builder.compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Builds the principal from the claims of a verified token, or returns
+     * {@code null} for tokens issued before user claims were embedded.
+     */
+    public AuthenticatedUser getAuthenticatedUser(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role));
+    }
 
-        return claims.getSubject();
+    public long getSecurityEpoch(Claims claims) {
+        Long epoch = claims.get(CLAIM_EPOCH, Long.class);
+        return epoch != null ? epoch : 0L;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token and returns its claims, or {@code null} if the token
+     * is invalid or expired.
+     */
+    public Claims verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             log.error("JWT token is malformed: {}", e.getMessage());
-        } catch (SecurityException e) {
+        } catch (SignatureException e) {
             log.error("JWT signature validation failed: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT token is empty or null: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("JWT token is invalid: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     public long getExpirationTime() {
         return jwtConfig.getExpiration();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.RateLimitConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-IP login limiter in two tiers.
+ *
+ * <p>An in-memory bucket per IP with the cluster-wide limit comes first:
+ * once one node alone has seen more attempts than the cluster allows, the
+ * IP is over the limit and is rejected without touching Redis. Requests that
+ * pass go to the shared bucket in Redis through a proxy that syncs only
+ * every {@code syncTokens} attempts or {@code syncInterval}, so a node makes
+ * at most one Redis call per {@code syncTokens} logins from an IP. The
+ * cluster can therefore admit up to {@code syncTokens - 1} extra attempts
+ * per node and window.
+ *
+ * <p>Both tiers keep their buckets in bounded caches that forget an IP one
+ * window after its last attempt.
+ */
+@Component
+public class LoginRateLimiter {
+
+    static final String REDIS_KEY_PREFIX = "rate-limit:login:";
+
+    private final ProxyManager<String> proxyManager;
+    private final BucketConfiguration configuration;
+    private final Optimization syncOptimization;
+    private final Cache<String, Bucket> localBuckets;
+    private final Cache<String, Bucket> sharedBuckets;
+    private final LongAdder localRejections = new LongAdder();
+
+    public LoginRateLimiter(ProxyManager<String> proxyManager,
+                            BucketConfiguration loginBucketConfiguration,
+                            RateLimitConfig rateLimitConfig) {
+        this.proxyManager = proxyManager;
+        this.configuration = loginBucketConfiguration;
+        this.syncOptimization = Optimizations.delaying(
+                new DelayParameters(rateLimitConfig.getSyncTokens(), rateLimitConfig.getSyncInterval()));
+
+        Duration window = Duration.ofSeconds(rateLimitConfig.getWindowDurationSeconds());
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getLocalBuckets())
+                .expireAfterAccess(window)
+                .build();
+        this.sharedBuckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getLocalBuckets())
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    /**
+     * Takes one login attempt from the IP's allowance.
+     */
+    public ConsumptionProbe tryConsume(String ip) {
+        ConsumptionProbe local = localBuckets.get(ip, this::newLocalBucket).tryConsumeAndReturnRemaining(1);
+        if (!local.isConsumed()) {
+            localRejections.increment();
+            return local;
+        }
+        return sharedBuckets.get(ip, this::newSharedBucket).tryConsumeAndReturnRemaining(1);
+    }
+
+    /**
+     * Attempts rejected in memory, without a Redis round trip.
+     */
+    public long localRejections() {
+        return localRejections.sum();
+    }
+
+    private Bucket newLocalBucket(String ip) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+
+    private Bucket newSharedBucket(String ip) {
+        return proxyManager.builder()
+                .withOptimization(syncOptimization)
+                .build(REDIS_KEY_PREFIX + ip, configuration);
+    }
+}
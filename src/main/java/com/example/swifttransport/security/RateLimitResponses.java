@@ -0,0 +1,47 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.dto.response.ApiErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the 429 body shared by the rate limiting filters.
+ */
+final class RateLimitResponses {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private RateLimitResponses() {
+    }
+
+    static long retryAfterSeconds(long nanosToWait) {
+        return Math.max(1, (nanosToWait + 999_999_999L) / 1_000_000_000L);
+    }
+
+    static void tooManyRequests(HttpServletRequest request, HttpServletResponse response,
+                                long retryAfterSeconds, String message) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        ApiErrorResponse errorResponse = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        OBJECT_MAPPER.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
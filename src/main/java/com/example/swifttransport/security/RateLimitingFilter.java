@@ -1,29 +1,17 @@
 package com.example.swifttransport.security;
 
-import com.example.swifttransport.config.RateLimitConfig;
-import com.example.swifttransport.dto.response.ApiErrorResponse;
 import com.example.swifttransport.util.CustomMessages;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.distributed.proxy.ProxyManager;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.time.LocalDateTime;
 
 @Slf4j
 @Component
@@ -31,10 +19,8 @@ import java.time.LocalDateTime;
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final String LOGIN_PATH = "/api/v1/auth/login";
-    private static final String REDIS_KEY_PREFIX = "rate-limit:login:";
 
-    private final ProxyManager<String> proxyManager;
-    private final RateLimitConfig rateLimitConfig;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -47,16 +33,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         }
 
         String ip = resolveClientIp(request);
-        String bucketKey = REDIS_KEY_PREFIX + ip;
-
-        BucketConfiguration configuration = BucketConfiguration.builder()
-                .addLimit(Bandwidth.simple(rateLimitConfig.getMaxRequests(),
-                        Duration.ofSeconds(rateLimitConfig.getWindowDurationSeconds())))
-                .build();
-
-        Bucket bucket = proxyManager.builder().build(bucketKey, configuration);
-
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        ConsumptionProbe probe = loginRateLimiter.tryConsume(ip);
 
         if (probe.isConsumed()) {
             filterChain.doFilter(request, response);
@@ -67,29 +44,15 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
         log.warn(CustomMessages.LOG_RATE_LIMIT_EXCEEDED, ip, LOGIN_PATH);
 
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
-
-        ApiErrorResponse errorResponse = ApiErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.TOO_MANY_REQUESTS.value())
-                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
-                .message("Too many login attempts. Please try again after " + retryAfterSeconds + " second(s).")
-                .path(request.getRequestURI())
-                .build();
-
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.findAndRegisterModules();
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.writeValue(response.getOutputStream(), errorResponse);
+        RateLimitResponses.tooManyRequests(request, response, retryAfterSeconds,
+                "Too many login attempts. Please try again after " + retryAfterSeconds + " second(s).");
     }
 
     private boolean isLoginRequest(HttpServletRequest request) {
         return "POST".equals(request.getMethod()) && LOGIN_PATH.equals(request.getRequestURI());
     }
 
-    private String resolveClientIp(HttpServletRequest request) {
+    static String resolveClientIp(HttpServletRequest request) {
         String forwarded = request.getHeader("X-Forwarded-For");
         if (forwarded != null && !forwarded.isBlank()) {
             return forwarded.split(",")[0].strip();
@@ -0,0 +1,109 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.cache.CacheInvalidationMessage;
+import com.example.swifttransport.config.JwtConfig;
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Per-user security epochs.
+ *
+ * <p>Every token carries the epoch of its user at login. Revoking a user (on
+ * deactivation, a role or a password change) increments the epoch in a Redis
+ * hash, which invalidates all tokens issued before. Epochs are read through a
+ * small local cache, and revocations are broadcast on the cache invalidation
+ * channel so other nodes drop their copy at once.
+ */
+@Slf4j
+@Component
+public class SecurityEpochService implements MessageListener {
+
+    public static final String CHANNEL_CACHE_NAME = "security-epochs";
+    private static final String EPOCHS_KEY = "security-epochs";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalCacheConfig localCacheConfig;
+    private final Cache<Long, Long> localEpochs;
+
+    public SecurityEpochService(StringRedisTemplate redisTemplate,
+                                JwtConfig jwtConfig,
+                                LocalCacheConfig localCacheConfig) {
+        this.redisTemplate = redisTemplate;
+        this.localCacheConfig = localCacheConfig;
+        this.localEpochs = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(jwtConfig.getEpochLocalTtl())
+                .build();
+    }
+
+    /**
+     * Returns the current epoch of a user, 0 if the user was never revoked.
+     */
+    public long current(Long userId) {
+        Long epoch = localEpochs.get(userId, this::load);
+        return epoch != null ? epoch : 0L;
+    }
+
+    /**
+     * Whether a token issued at {@code tokenEpoch} is still valid. False when
+     * the epoch cannot be read, so a Redis outage rejects tokens instead of
+     * letting revoked ones through.
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        Long epoch = localEpochs.get(userId, this::load);
+        return epoch != null && tokenEpoch >= epoch;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. Called by
+     * {@link UserRevocationListener} whenever a user row changes.
+     */
+    public void revoke(Long userId) {
+        Long epoch = redisTemplate.opsForHash().increment(EPOCHS_KEY, userId.toString(), 1);
+        localEpochs.put(userId, epoch);
+        redisTemplate.convertAndSend(localCacheConfig.getInvalidationChannel(),
+                new CacheInvalidationMessage(nodeId, CHANNEL_CACHE_NAME, userId.toString()).encode());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+
+        if (!CHANNEL_CACHE_NAME.equals(invalidation.cacheName()) || nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        if (invalidation.isClear()) {
+            localEpochs.invalidateAll();
+        } else {
+            localEpochs.invalidate(Long.valueOf(invalidation.key()));
+        }
+    }
+
+    private Long load(Long userId) {
+        try {
+            Object value = redisTemplate.opsForHash().get(EPOCHS_KEY, userId.toString());
+            return value != null ? Long.parseLong(value.toString()) : 0L;
+        } catch (RuntimeException ex) {
+            // Not cached, so the next request retries Redis
+            log.warn("Could not load security epoch for user {}: {}", userId, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.enums.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * {@link org.springframework.security.core.userdetails.User} that also carries
+ * the user id and role, so they can be embedded in the issued token.
+ */
+@Getter
+public class SecurityUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final UserRole role;
+
+    public SecurityUser(User user) {
+        super(user.getUsername(),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.id = user.getId();
+        this.role = user.getRole();
+    }
+}
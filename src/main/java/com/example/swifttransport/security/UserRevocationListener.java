@@ -0,0 +1,54 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Revokes a user's tokens whenever their row is updated or deleted. Tokens
+ * carry the role and are trusted without a database read, so a deactivation,
+ * role change or password change has to move the security epoch on.
+ *
+ * <p>The epoch moves at flush, so a failure to reach Redis rolls the change
+ * back, and again after commit, so a token issued while the transaction was
+ * open does not outlive it. Rows changed with plain SQL bypass this listener
+ * and need {@link SecurityEpochService#revoke} called by hand.
+ */
+@Slf4j
+public class UserRevocationListener {
+
+    private final ObjectProvider<SecurityEpochService> securityEpochService;
+
+    public UserRevocationListener(ObjectProvider<SecurityEpochService> securityEpochService) {
+        this.securityEpochService = securityEpochService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void revoke(User user) {
+        SecurityEpochService epochs = securityEpochService.getIfAvailable();
+        if (epochs == null) {
+            return;
+        }
+        Long userId = user.getId();
+        epochs.revoke(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        epochs.revoke(userId);
+                    } catch (RuntimeException ex) {
+                        // The revocation at flush already stands
+                        log.warn("Could not revoke tokens of user {} after commit: {}", userId, ex.getMessage());
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.config.AssignmentArchiveConfig;
+import com.example.swifttransport.config.RedisConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves closed assignments older than {@code minAge} from
+ * {@code vehicle_assignments} into {@code vehicle_assignments_archive}
+ * (migration V11), so the live table and its indexes hold the active rows
+ * and recent history only.
+ *
+ * <p>Each chunk is copied and deleted in one short transaction, oldest id
+ * first, so a failure leaves every row in exactly one of the two tables and
+ * the next run resumes where this one stopped. {@code SKIP LOCKED} lets two
+ * nodes run the job at once without picking the same rows.
+ */
+@Slf4j
+@Component
+public class AssignmentArchiver {
+
+    private static final String SELECT_CHUNK_SQL =
+        "SELECT id, driver_id, vehicle_id FROM vehicle_assignments " +
+        "WHERE is_active = false AND unassigned_at < :cutoff " +
+        "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    private static final String COPY_SQL =
+        "INSERT INTO vehicle_assignments_archive " +
+        "(id, driver_id, vehicle_id, assigned_at, unassigned_at, assigned_by, archived_at) " +
+        "SELECT id, driver_id, vehicle_id, assigned_at, unassigned_at, assigned_by, :archivedAt " +
+        "FROM vehicle_assignments WHERE id IN (:ids)";
+
+    private static final String DELETE_SQL = "DELETE FROM vehicle_assignments WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCounterService entityCounterService;
+    private final CacheGenerations cacheGenerations;
+    private final AssignmentArchiveConfig archiveConfig;
+
+    public AssignmentArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              EntityCounterService entityCounterService, CacheGenerations cacheGenerations,
+                              AssignmentArchiveConfig archiveConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityCounterService = entityCounterService;
+        this.cacheGenerations = cacheGenerations;
+        this.archiveConfig = archiveConfig;
+    }
+
+    @Scheduled(cron = "${app.assignment-archive.cron:0 45 2 * * *}")
+    public void run() {
+        if (!archiveConfig.isEnabled()) {
+            return;
+        }
+        try {
+            long archived = archive(LocalDateTime.now().minus(archiveConfig.getMinAge()));
+            if (archived > 0) {
+                log.info("Archived {} closed assignments", archived);
+            }
+        } catch (DataAccessException ex) {
+            log.error("Assignment archiving failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Archives every assignment closed before {@code cutoff}, one chunk per
+     * transaction, and returns how many were moved.
+     */
+    long archive(LocalDateTime cutoff) {
+        long total = 0;
+        int moved;
+        do {
+            moved = archiveChunk(cutoff);
+            total += moved;
+        } while (moved == archiveConfig.getChunkSize());
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            Set<Long> driverIds = new LinkedHashSet<>();
+            Set<Long> vehicleIds = new LinkedHashSet<>();
+            jdbcTemplate.query(SELECT_CHUNK_SQL, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", archiveConfig.getChunkSize()),
+                resultSet -> {
+                    ids.add(resultSet.getLong("id"));
+                    driverIds.add(resultSet.getLong("driver_id"));
+                    vehicleIds.add(resultSet.getLong("vehicle_id"));
+                });
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update(COPY_SQL, params);
+            jdbcTemplate.update(DELETE_SQL, params);
+
+            entityCounterService.increment(EntityCounterService.ASSIGNMENTS_TOTAL, -ids.size());
+            entityCounterService.increment(EntityCounterService.ASSIGNMENTS_ARCHIVED, ids.size());
+
+            // Only history lists change; active lists and the driver and vehicle lists are untouched
+            List<String> namespaces = new ArrayList<>();
+            namespaces.add(RedisConfig.CACHE_ASSIGNMENTS);
+            driverIds.forEach(driverId -> namespaces.add(CacheGenerations.assignmentsForDriver(driverId)));
+            vehicleIds.forEach(vehicleId -> namespaces.add(CacheGenerations.assignmentsForVehicle(vehicleId)));
+            cacheGenerations.bump(namespaces.toArray(String[]::new));
+            return ids.size();
+        });
+        return moved != null ? moved : 0;
+    }
+}
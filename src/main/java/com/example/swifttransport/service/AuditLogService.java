@@ -0,0 +1,133 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLogQuery;
+import com.example.swifttransport.dto.response.AuditLogListResponse;
+import com.example.swifttransport.dto.response.AuditLogResponse;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.util.KeysetCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.swifttransport.util.CustomMessages.*;
+
+/**
+ * Reads {@code audit_logs} newest first with keyset pagination.
+ *
+ * <p>Every filter is a plain comparison on an indexed column, and the time
+ * bounds (including the cursor's) are applied to {@code timestamp} directly,
+ * so PostgreSQL prunes the monthly partitions outside the range and walks
+ * the entity, user or action index of the rest in order, stopping after one
+ * page.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String SELECT_SQL =
+        "SELECT id, action, entity_type, entity_id, user_id, username, \"timestamp\", details FROM audit_logs";
+
+    private static final RowMapper<AuditLogResponse> ROW_MAPPER = (resultSet, rowNum) -> AuditLogResponse.builder()
+        .id(resultSet.getLong("id"))
+        .action(AuditAction.valueOf(resultSet.getString("action")))
+        .entityType(resultSet.getString("entity_type"))
+        .entityId(resultSet.getObject("entity_id", Long.class))
+        .userId(resultSet.getObject("user_id", Long.class))
+        .username(resultSet.getString("username"))
+        .timestamp(resultSet.getObject("timestamp", LocalDateTime.class))
+        .details(parseDetails(resultSet.getString("details")))
+        .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AuditLogListResponse getAuditLogs(AuditLogQuery query) {
+        if (query.size() < 1 || query.size() > MAX_PAGE_SIZE) {
+            throw new BusinessValidationException(VALIDATION_AUDIT_PAGE_SIZE);
+        }
+        if (query.entityId() != null && query.entityType() == null) {
+            throw new BusinessValidationException(VALIDATION_AUDIT_ENTITY_ID_WITHOUT_TYPE);
+        }
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new BusinessValidationException(VALIDATION_AUDIT_TIME_RANGE);
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(" WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (query.entityType() != null) {
+            sql.append(" AND entity_type = :entityType");
+            params.addValue("entityType", query.entityType().toUpperCase(Locale.ROOT));
+        }
+        if (query.entityId() != null) {
+            sql.append(" AND entity_id = :entityId");
+            params.addValue("entityId", query.entityId());
+        }
+        if (query.userId() != null) {
+            sql.append(" AND user_id = :userId");
+            params.addValue("userId", query.userId());
+        }
+        if (query.action() != null) {
+            sql.append(" AND action = :action");
+            params.addValue("action", query.action().name());
+        }
+        if (query.from() != null) {
+            sql.append(" AND \"timestamp\" >= :from");
+            params.addValue("from", Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND \"timestamp\" < :to");
+            params.addValue("to", Timestamp.valueOf(query.to()));
+        }
+        if (query.after() != null && !query.after().isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(query.after());
+            // The plain upper bound lets the planner prune; the OR picks up ties on timestamp
+            sql.append(" AND \"timestamp\" <= :cursorTimestamp")
+                .append(" AND (\"timestamp\" < :cursorTimestamp OR id < :cursorId)");
+            params.addValue("cursorTimestamp", Timestamp.valueOf(cursor.timestamp()));
+            params.addValue("cursorId", cursor.id());
+        }
+        sql.append(" ORDER BY \"timestamp\" DESC, id DESC LIMIT :limit");
+        params.addValue("limit", query.size() + 1);
+
+        List<AuditLogResponse> rows = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        boolean last = rows.size() <= query.size();
+        List<AuditLogResponse> content = last ? rows : rows.subList(0, query.size());
+
+        return AuditLogListResponse.builder()
+            .content(content)
+            .size(query.size())
+            .last(last)
+            .nextCursor(last ? null : KeysetCursor.encode(content.getLast().timestamp(), content.getLast().id()))
+            .build();
+    }
+
+    private static Map<String, Object> parseDetails(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable audit details: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.catalog.VehicleCatalogIndex;
+import com.example.swifttransport.config.BulkImportConfig;
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.dto.request.CreateDriverRequest;
+import com.example.swifttransport.dto.request.CreateVehicleRequest;
+import com.example.swifttransport.dto.response.ImportReport;
+import com.example.swifttransport.dto.response.ImportRowResult;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.enums.ImportFormat;
+import com.example.swifttransport.enums.ImportRowStatus;
+import com.example.swifttransport.mapper.DriverMapper;
+import com.example.swifttransport.repository.DriverRepository;
+import com.example.swifttransport.repository.VehicleRepository;
+import com.example.swifttransport.util.ImportRecordReader;
+import com.example.swifttransport.util.ImportRecordReader.ImportRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.swifttransport.util.CustomMessages.*;
+
+/**
+ * Streams driver and vehicle uploads into the database in chunks.
+ *
+ * <p>Each chunk is converted and validated row by row, checked for existing
+ * unique keys with one {@code IN} query, inserted as JDBC batches and
+ * committed on its own, so memory stays bounded by the chunk size and a bad
+ * chunk does not undo the ones before it. Later chunks see the rows earlier
+ * ones committed, which catches duplicates across the whole file. List
+ * caches are invalidated once, after the last chunk.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private final DriverRepository driverRepository;
+    private final VehicleRepository vehicleRepository;
+    private final DriverMapper driverMapper;
+    private final EntityCounterService entityCounterService;
+    private final CacheGenerations cacheGenerations;
+    private final VehicleCatalogIndex vehicleCatalogIndex;
+    private final AuditLog auditLog;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final BulkImportConfig importConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public BulkImportService(DriverRepository driverRepository,
+                             VehicleRepository vehicleRepository,
+                             DriverMapper driverMapper,
+                             EntityCounterService entityCounterService,
+                             CacheGenerations cacheGenerations,
+                             VehicleCatalogIndex vehicleCatalogIndex,
+                             AuditLog auditLog,
+                             Validator validator,
+                             EntityManager entityManager,
+                             BulkImportConfig importConfig,
+                             PlatformTransactionManager transactionManager,
+                             JsonMapper jsonMapper) {
+        this.driverRepository = driverRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.driverMapper = driverMapper;
+        this.entityCounterService = entityCounterService;
+        this.cacheGenerations = cacheGenerations;
+        this.vehicleCatalogIndex = vehicleCatalogIndex;
+        this.auditLog = auditLog;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.importConfig = importConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Import columns the request types do not know are ignored, not rejected
+        this.jsonMapper = jsonMapper.rebuild()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    public ImportReport importDrivers(InputStream input, ImportFormat format) throws IOException {
+        ImportTarget<CreateDriverRequest, Driver> target = new ImportTarget<>(
+                CreateDriverRequest.class,
+                AuditLog.ENTITY_DRIVER,
+                CreateDriverRequest::licenseNumber,
+                driverRepository::findExistingLicenseNumbers,
+                VALIDATION_LICENSE_ALREADY_EXISTS,
+                driverMapper::toEntity,
+                Driver::getId,
+                saved -> driverRepository.saveAll(saved),
+                this::countDrivers);
+        ImportReport report = importRecords(input, format, target);
+        if (report.created() > 0) {
+            cacheGenerations.bump(RedisConfig.CACHE_DRIVERS);
+        }
+        return report;
+    }
+
+    public ImportReport importVehicles(InputStream input, ImportFormat format) throws IOException {
+        ImportTarget<CreateVehicleRequest, Vehicle> target = new ImportTarget<>(
+                CreateVehicleRequest.class,
+                AuditLog.ENTITY_VEHICLE,
+                CreateVehicleRequest::registrationNumber,
+                vehicleRepository::findExistingRegistrationNumbers,
+                VALIDATION_REGISTRATION_NUMBER_EXISTS,
+                request -> Vehicle.builder()
+                        .registrationNumber(request.registrationNumber())
+                        .make(request.make())
+                        .model(request.model())
+                        .year(request.year())
+                        .active(request.active())
+                        .build(),
+                Vehicle::getId,
+                saved -> {
+                    vehicleRepository.saveAll(saved);
+                    vehicleCatalogIndex.vehiclesChanged(saved);
+                },
+                this::countVehicles);
+        ImportReport report = importRecords(input, format, target);
+        if (report.created() > 0) {
+            cacheGenerations.bump(RedisConfig.CACHE_VEHICLES);
+        }
+        return report;
+    }
+
+    private <R, E> ImportReport importRecords(InputStream input, ImportFormat format, ImportTarget<R, E> target)
+            throws IOException {
+        List<ImportRowResult> results = new ArrayList<>();
+        try (ImportRecordReader reader = new ImportRecordReader(input, format, jsonMapper,
+                importConfig.getMaxRecordLength())) {
+            List<ImportRecord> chunk = new ArrayList<>(importConfig.getChunkSize());
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == importConfig.getChunkSize()) {
+                    results.addAll(importChunk(chunk, target));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(importChunk(chunk, target));
+            }
+        }
+
+        int created = (int) results.stream().filter(row -> row.status() == ImportRowStatus.CREATED).count();
+        log.info("Imported {} of {} {} rows", created, results.size(), target.type().getSimpleName());
+        return ImportReport.builder()
+                .total(results.size())
+                .created(created)
+                .rejected(results.size() - created)
+                .rows(results)
+                .build();
+    }
+
+    private <R, E> List<ImportRowResult> importChunk(List<ImportRecord> chunk, ImportTarget<R, E> target) {
+        List<ImportRowResult> results = new ArrayList<>(chunk.size());
+        Map<ImportRecord, R> candidates = new LinkedHashMap<>();
+        Set<String> keysInChunk = new HashSet<>();
+
+        for (ImportRecord record : chunk) {
+            if (!record.isValid()) {
+                results.add(ImportRowResult.rejected(record.line(), null, ImportRowStatus.INVALID, record.error()));
+                continue;
+            }
+            R request;
+            try {
+                request = jsonMapper.convertValue(trimmed(record.fields()), target.type());
+            } catch (JacksonException ex) {
+                results.add(ImportRowResult.rejected(record.line(), null, ImportRowStatus.INVALID,
+                        ex.getOriginalMessage()));
+                continue;
+            }
+            String key = target.key().apply(request);
+            Set<ConstraintViolation<R>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results.add(ImportRowResult.rejected(record.line(), key, ImportRowStatus.INVALID, error));
+            } else if (!keysInChunk.add(key)) {
+                results.add(ImportRowResult.rejected(record.line(), key, ImportRowStatus.DUPLICATE,
+                        VALIDATION_IMPORT_DUPLICATE_IN_FILE));
+            } else {
+                candidates.put(record, request);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            results.addAll(writeChunk(candidates, keysInChunk, target));
+        }
+        results.sort(Comparator.comparingLong(ImportRowResult::line));
+        return results;
+    }
+
+    private <R, E> List<ImportRowResult> writeChunk(Map<ImportRecord, R> candidates,
+                                                    Set<String> keys,
+                                                    ImportTarget<R, E> target) {
+        try {
+            return transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(importConfig.getJdbcBatchSize());
+                Set<String> existing = target.existingKeys().apply(keys);
+
+                List<ImportRowResult> results = new ArrayList<>(candidates.size());
+                Map<ImportRecord, E> entities = new LinkedHashMap<>();
+                candidates.forEach((record, request) -> {
+                    String key = target.key().apply(request);
+                    if (existing.contains(key)) {
+                        results.add(ImportRowResult.rejected(record.line(), key, ImportRowStatus.DUPLICATE,
+                                target.existsMessage()));
+                    } else {
+                        entities.put(record, target.toEntity().apply(request));
+                    }
+                });
+
+                if (!entities.isEmpty()) {
+                    List<E> saved = List.copyOf(entities.values());
+                    target.save().accept(saved);
+                    target.countCreated().accept(saved);
+                    entityManager.flush();
+                    Map<Long, Map<String, Object>> audit = new LinkedHashMap<>();
+                    entities.forEach((record, entity) -> {
+                        R request = candidates.get(record);
+                        results.add(ImportRowResult.created(record.line(), target.key().apply(request),
+                                target.id().apply(entity)));
+                        Map<String, Object> details = new LinkedHashMap<>(AuditLog.fieldsOf(request));
+                        details.put("importLine", record.line());
+                        audit.put(target.id().apply(entity), details);
+                    });
+                    auditLog.recordEach(AuditAction.CREATE, target.auditEntity(), audit);
+                    entityManager.clear();
+                }
+                return results;
+            });
+        } catch (DataAccessException | PersistenceException ex) {
+            log.warn("Import chunk failed: {}", ex.getMessage());
+            String error = VALIDATION_IMPORT_CHUNK_FAILED.formatted(
+                    NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            List<ImportRowResult> failed = new ArrayList<>(candidates.size());
+            candidates.forEach((record, request) -> failed.add(ImportRowResult.rejected(record.line(),
+                    target.key().apply(request), ImportRowStatus.FAILED, error)));
+            return failed;
+        }
+    }
+
+    private void countDrivers(List<Driver> drivers) {
+        drivers.stream()
+                .collect(Collectors.groupingBy(Driver::getStatus, Collectors.counting()))
+                .forEach((status, count) ->
+                        entityCounterService.increment(EntityCounterService.driversWithStatus(status), count));
+        entityCounterService.increment(EntityCounterService.DRIVERS_TOTAL, drivers.size());
+    }
+
+    private void countVehicles(List<Vehicle> vehicles) {
+        vehicles.stream()
+                .collect(Collectors.partitioningBy(vehicle -> Boolean.TRUE.equals(vehicle.getActive()),
+                        Collectors.counting()))
+                .forEach((active, count) -> {
+                    if (count > 0) {
+                        entityCounterService.increment(EntityCounterService.vehicles(active), count);
+                    }
+                });
+    }
+
+    private static Map<String, String> trimmed(Map<String, String> fields) {
+        Map<String, String> values = new HashMap<>();
+        fields.forEach((name, value) -> {
+            String trimmed = value != null ? value.trim() : null;
+            values.put(name, trimmed == null || trimmed.isEmpty() ? null : trimmed);
+        });
+        return values;
+    }
+
+    /**
+     * What differs between importing drivers and vehicles.
+     */
+    private record ImportTarget<R, E>(
+            Class<R> type,
+            String auditEntity,
+            Function<R, String> key,
+            Function<Collection<String>, Set<String>> existingKeys,
+            String existsMessage,
+            Function<R, E> toEntity,
+            Function<E, Long> id,
+            Consumer<List<E>> save,
+            Consumer<List<E>> countCreated
+    ) {
+    }
+}
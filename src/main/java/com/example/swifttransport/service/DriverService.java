@@ -1,38 +1,83 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
 import com.example.swifttransport.config.RedisConfig;
 import com.example.swifttransport.dto.request.CreateDriverRequest;
 import com.example.swifttransport.dto.request.UpdateDriverRequest;
 import com.example.swifttransport.dto.response.DriverListResponse;
 import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.VehicleSummaryResponse;
 import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.enums.CountMode;
 import com.example.swifttransport.enums.DriverStatus;
 import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.exception.PreconditionFailedException;
 import com.example.swifttransport.exception.ResourceNotFoundException;
 import com.example.swifttransport.mapper.DriverMapper;
+import com.example.swifttransport.repository.CurrentVehicle;
 import com.example.swifttransport.repository.DriverRepository;
 import com.example.swifttransport.repository.VehicleAssignmentRepository;
+import com.example.swifttransport.util.EntityTag;
+import com.example.swifttransport.util.Fieldset;
+import com.example.swifttransport.util.KeysetCursor;
 import static com.example.swifttransport.util.CustomMessages.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DriverService implements DriverServiceInterface {
 
+    /**
+     * Fields a driver can be read with through {@code fields=}, in response order.
+     */
+    public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "phoneNumber",
+        "licenseNumber", "status", "currentVehicle", "createdAt", "updatedAt");
+
+    private static final String CURRENT_VEHICLE = "currentVehicle";
+
+    private static final FieldsetReader.Source FIELDSET_SOURCE = new FieldsetReader.Source("drivers d", Map.of(
+        "id", "d.id",
+        "firstName", "d.first_name",
+        "lastName", "d.last_name",
+        "phoneNumber", "d.phone_number",
+        "licenseNumber", "d.license_number",
+        "status", "d.status",
+        "createdAt", "d.created_at",
+        "updatedAt", "d.updated_at"));
+
     private final DriverRepository driverRepository;
     private final VehicleAssignmentRepository assignmentRepository;
     private final DriverMapper driverMapper;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounterService entityCounterService;
+    private final RowCountEstimator rowCountEstimator;
+    private final AuditLog auditLog;
+    private final FieldsetReader fieldsetReader;
+    private final CacheManager cacheManager;
 
     @Transactional
-    @CacheEvict(value = RedisConfig.CACHE_DRIVERS, allEntries = true)
     public DriverResponse createDriver(CreateDriverRequest request) {
         if (driverRepository.existsByLicenseNumber(request.licenseNumber())) {
             throw new BusinessValidationException(VALIDATION_LICENSE_ALREADY_EXISTS);
@@ -40,72 +85,225 @@ public class DriverService implements DriverServiceInterface {
 
         Driver driver = driverMapper.toEntity(request);
         Driver saved = driverRepository.save(driver);
+        entityCounterService.increment(EntityCounterService.driversWithStatus(saved.getStatus()), 1);
+        entityCounterService.increment(EntityCounterService.DRIVERS_TOTAL, 1);
+        cacheGenerations.bump(RedisConfig.CACHE_DRIVERS);
+        auditLog.record(AuditAction.CREATE, AuditLog.ENTITY_DRIVER, saved.getId(), AuditLog.fieldsOf(request));
         return driverMapper.toResponse(saved);
     }
 
     @Cacheable(
         value = RedisConfig.CACHE_DRIVERS,
-        key = "'page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':status:' + #status + ':search:' + #search + ':deleted:' + #includeDeleted"
+        key = "@cacheGenerations.current('drivers') + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':status:' + #status + ':search:' + #search + ':deleted:' + #includeDeleted + ':count:' + #countMode",
+        sync = true
     )
     public DriverListResponse getDrivers(Pageable pageable,
                                          DriverStatus status,
                                          String search,
-                                         boolean includeDeleted) {
-        Page<Driver> driverPage;
+                                         boolean includeDeleted,
+                                         CountMode countMode) {
+        Slice<Driver> driverSlice;
+        Long totalElements;
+
+        if (search != null && !search.isBlank()) {
+            if (countMode == CountMode.EXACT) {
+                Page<Driver> driverPage = status != null
+                    ? driverRepository.searchDriversByStatus(search, status.name(), pageable)
+                    : driverRepository.searchDrivers(search, pageable);
+                driverSlice = driverPage;
+                totalElements = driverPage.getTotalElements();
+            } else {
+                driverSlice = status != null
+                    ? driverRepository.searchDriversByStatusSlice(search, status.name(), pageable)
+                    : driverRepository.searchDriversSlice(search, pageable);
+                totalElements = countMode == CountMode.ESTIMATE ? estimateSearch(search, status) : null;
+            }
+        } else if (status != null) {
+            driverSlice = driverRepository.findAllByStatusAndDeletedFalse(status, pageable);
+            totalElements = countedTotal(status, false);
+        } else if (includeDeleted) {
+            driverSlice = driverRepository.findAllAsSlice(pageable);
+            totalElements = countedTotal(null, true);
+        } else {
+            driverSlice = driverRepository.findAllByDeletedFalse(pageable);
+            totalElements = countedTotal(null, false);
+        }
+
+        // Never report fewer rows than this page proves exist
+        Long total = totalElements != null
+            ? Math.max(totalElements, driverSlice.getPageable().getOffset() + driverSlice.getNumberOfElements())
+            : null;
+
+        return DriverListResponse.builder()
+                .content(toDriverResponses(driverSlice.getContent()))
+                .page(driverSlice.getNumber())
+                .size(driverSlice.getSize())
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / driverSlice.getSize()) : null)
+                .last(driverSlice.isLast())
+                .build();
+    }
+
+    public DriverListResponse getDriversAfter(String after,
+                                              int size,
+                                              DriverStatus status,
+                                              String search,
+                                              boolean includeDeleted) {
+        long afterId = KeysetCursor.decode(after).id();
+        Limit limit = KeysetCursor.limitFor(size);
+        List<Driver> drivers;
 
         if (search != null && !search.isBlank()) {
             if (status != null) {
-                driverPage = driverRepository.searchDriversByStatus(search, status, pageable);
+                drivers = driverRepository.searchDriversByStatusAfter(search, status.name(), afterId, limit);
             } else {
-                driverPage = driverRepository.searchDrivers(search, pageable);
+                drivers = driverRepository.searchDriversAfter(search, afterId, limit);
             }
         } else if (status != null) {
-            driverPage = driverRepository.findAllByStatusAndDeletedFalse(status, pageable);
+            drivers = driverRepository.findByStatusAndDeletedFalseAndIdGreaterThanOrderByIdAsc(status, afterId, limit);
         } else if (includeDeleted) {
-            driverPage = driverRepository.findAll(pageable);
+            drivers = driverRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
         } else {
-            driverPage = driverRepository.findAllByDeletedFalse(pageable);
+            drivers = driverRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(afterId, limit);
         }
 
+        boolean last = drivers.size() <= size;
+        List<Driver> content = last ? drivers : drivers.subList(0, size);
+
         return DriverListResponse.builder()
-                .content(driverMapper.toResponseList(driverPage.getContent()))
-                .page(driverPage.getNumber())
-                .size(driverPage.getSize())
-                .totalElements(driverPage.getTotalElements())
-                .totalPages(driverPage.getTotalPages())
-                .last(driverPage.isLast())
+                .content(toDriverResponses(content))
+                .size(size)
+                .last(last)
+                .nextCursor(last ? null : KeysetCursor.encode(content.getLast().getId()))
                 .build();
     }
 
-    @Cacheable(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id")
+    public FieldsetListResponse getDriverFields(Fieldset fields,
+                                                Pageable pageable,
+                                                DriverStatus status,
+                                                String search,
+                                                boolean includeDeleted,
+                                                CountMode countMode) {
+        boolean searching = search != null && !search.isBlank();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = String.join(" AND ", fieldsetConditions(status, search, includeDeleted, params));
+        int size = pageable.getPageSize();
+
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields, where,
+            searching ? DriverRepository.SEARCH_RANKING : " ORDER BY d.id", params, size + 1, pageable.getOffset());
+        boolean last = rows.size() <= size;
+        List<Map<String, Object>> content = last ? rows : rows.subList(0, size);
+
+        Long totalElements;
+        if (!searching) {
+            totalElements = countedTotal(status, includeDeleted);
+        } else if (countMode == CountMode.EXACT) {
+            totalElements = fieldsetReader.count(FIELDSET_SOURCE, where, params);
+        } else {
+            totalElements = countMode == CountMode.ESTIMATE ? estimateSearch(search, status) : null;
+        }
+
+        // Never report fewer rows than this page proves exist
+        Long total = totalElements != null ? Math.max(totalElements, pageable.getOffset() + content.size()) : null;
+
+        return FieldsetListResponse.builder()
+                .content(withCurrentVehicles(fields, content))
+                .page(pageable.getPageNumber())
+                .size(size)
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / size) : null)
+                .last(last)
+                .build();
+    }
+
+    public FieldsetListResponse getDriverFieldsAfter(Fieldset fields,
+                                                     String after,
+                                                     int size,
+                                                     DriverStatus status,
+                                                     String search,
+                                                     boolean includeDeleted) {
+        long afterId = KeysetCursor.decode(after).id();
+        Limit limit = KeysetCursor.limitFor(size);
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId);
+        List<String> conditions = fieldsetConditions(status, search, includeDeleted, params);
+        conditions.add("d.id > :afterId");
+
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields,
+            String.join(" AND ", conditions), " ORDER BY d.id", params, limit.max(), 0);
+        boolean last = rows.size() <= size;
+        List<Map<String, Object>> content = last ? rows : rows.subList(0, size);
+
+        return FieldsetListResponse.builder()
+                .content(withCurrentVehicles(fields, content))
+                .size(size)
+                .last(last)
+                .nextCursor(last ? null : KeysetCursor.encode(FieldsetReader.ids(content).getLast()))
+                .build();
+    }
+
+    public Map<String, Object> getDriverFieldsById(Fieldset fields, Long id) {
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields,
+            "d.id = :id AND d.deleted = false", "", new MapSqlParameterSource("id", id), 1, 0);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(DRIVER_NOT_FOUND);
+        }
+        return withCurrentVehicles(fields, rows).getFirst();
+    }
+
+    @Cacheable(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id", sync = true)
     public DriverResponse getDriverById(Long id) {
         Driver driver = driverRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> new ResourceNotFoundException(DRIVER_NOT_FOUND));
-        return driverMapper.toResponse(driver);
+        return toDriverResponse(driver);
+    }
+
+    public String getDriverTag(Long id) {
+        return driverRepository.findVersionStampById(id)
+            .map(EntityTag::of)
+            .orElseThrow(() -> new ResourceNotFoundException(DRIVER_NOT_FOUND));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getDriversTag() {
+        return EntityTag.forList(RedisConfig.CACHE_DRIVERS, cacheGenerations.current(RedisConfig.CACHE_DRIVERS));
     }
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_DRIVERS, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id")
-    })
-    public DriverResponse updateDriver(Long id, UpdateDriverRequest request) {
-        Driver driver = driverRepository.findByIdAndDeletedFalse(id)
-            .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_DRIVER, id));
+    @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id")
+    public DriverResponse updateDriver(Long id, UpdateDriverRequest request, String ifMatch) {
+        Driver driver = findForWrite(id, ifMatch);
 
+        DriverStatus previousStatus = driver.getStatus();
         driverMapper.updateEntityFromRequest(request, driver);
         Driver updated = driverRepository.save(driver);
-        return driverMapper.toResponse(updated);
+        entityCounterService.move(EntityCounterService.driversWithStatus(previousStatus),
+            EntityCounterService.driversWithStatus(updated.getStatus()));
+        cacheGenerations.bump(RedisConfig.CACHE_DRIVERS);
+        invalidateAssignedVehicle(id);
+        auditLog.record(AuditAction.UPDATE, AuditLog.ENTITY_DRIVER, id, AuditLog.fieldsOf(request));
+        return toDriverResponse(updated);
+    }
+
+    /**
+     * The assigned vehicle's ETag carries this driver's version and vehicle
+     * list pages embed the driver's name and licence number, so a driver
+     * update evicts the vehicle's by-id entry and moves the vehicle lists to
+     * a new generation.
+     */
+    private void invalidateAssignedVehicle(Long driverId) {
+        assignmentRepository.findByDriverIdAndIsActiveTrue(driverId).ifPresent(assignment -> {
+            Cache vehicleByIdCache = cacheManager.getCache(RedisConfig.CACHE_VEHICLE_BY_ID);
+            if (vehicleByIdCache != null) {
+                vehicleByIdCache.evict(assignment.getVehicle().getId());
+            }
+            cacheGenerations.bump(RedisConfig.CACHE_VEHICLES);
+        });
     }
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_DRIVERS, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id")
-    })
-    public void deleteDriver(Long id) {
-        Driver driver = driverRepository.findByIdAndDeletedFalse(id)
-            .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_DRIVER, id));
+    @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#id")
+    public void deleteDriver(Long id, String ifMatch) {
+        Driver driver = findForWrite(id, ifMatch);
 
         if (assignmentRepository.existsByDriverIdAndIsActiveTrue(id)) {
             throw new BusinessValidationException(VALIDATION_CANNOT_DELETE_ASSIGNED_DRIVER);
@@ -113,5 +311,117 @@ public class DriverService implements DriverServiceInterface {
 
         driver.setDeleted(true);
         driverRepository.save(driver);
+        entityCounterService.increment(EntityCounterService.driversWithStatus(driver.getStatus()), -1);
+        cacheGenerations.bump(RedisConfig.CACHE_DRIVERS);
+        auditLog.record(AuditAction.DELETE, AuditLog.ENTITY_DRIVER, id);
+    }
+
+    /**
+     * Loads a driver to be written, rejecting the write when {@code ifMatch}
+     * names a representation other than the current one. The tag is built
+     * from the version of the loaded instance, so a write that commits after
+     * this check still fails the version check when we flush.
+     */
+    private Driver findForWrite(Long id, String ifMatch) {
+        Driver driver = driverRepository.findByIdAndDeletedFalse(id)
+            .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_DRIVER, id));
+        if (ifMatch != null) {
+            String current = driverRepository.findVersionStampById(id)
+                .map(stamp -> EntityTag.of(driver.getVersion(), stamp))
+                .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_DRIVER, id));
+            if (!EntityTag.matches(ifMatch, current)) {
+                throw new PreconditionFailedException(String.format(PRECONDITION_FAILED, RESOURCE_DRIVER, id));
+            }
+        }
+        return driver;
+    }
+
+    /**
+     * Total of an unsearched list, read from the entity counters.
+     */
+    private Long countedTotal(DriverStatus status, boolean includeDeleted) {
+        if (status != null) {
+            return entityCounterService.sum(EntityCounterService.driversWithStatus(status));
+        }
+        return includeDeleted
+            ? entityCounterService.sum(EntityCounterService.DRIVERS_TOTAL)
+            : entityCounterService.activeDrivers();
+    }
+
+    /**
+     * Native conditions for the same filters the list endpoints apply, binding
+     * their parameters into {@code params}. Search implies non-deleted rows.
+     */
+    private static List<String> fieldsetConditions(DriverStatus status,
+                                                   String search,
+                                                   boolean includeDeleted,
+                                                   MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (search != null && !search.isBlank()) {
+            conditions.add(DriverRepository.SEARCH_WHERE);
+            params.addValue("search", search);
+        } else if (status != null || !includeDeleted) {
+            conditions.add("d.deleted = false");
+        }
+        if (status != null) {
+            conditions.add("d.status = :status");
+            params.addValue("status", status.name());
+        }
+        return conditions;
+    }
+
+    /**
+     * Fills in each row's current vehicle when it was asked for, with one
+     * summary-only lookup for the page; otherwise the assignments are not
+     * read at all.
+     */
+    private List<Map<String, Object>> withCurrentVehicles(Fieldset fields, List<Map<String, Object>> rows) {
+        if (fields.includes(CURRENT_VEHICLE) && !rows.isEmpty()) {
+            Map<Long, VehicleSummaryResponse> currentVehicles = new HashMap<>();
+            for (CurrentVehicle vehicle : assignmentRepository.findCurrentVehiclesByDriverIds(FieldsetReader.ids(rows))) {
+                currentVehicles.put(vehicle.getDriverId(), VehicleSummaryResponse.builder()
+                    .id(vehicle.getId())
+                    .registrationNumber(vehicle.getRegistrationNumber())
+                    .build());
+            }
+            rows.forEach(row -> row.put(CURRENT_VEHICLE, currentVehicles.get(((Number) row.get(Fieldset.ID)).longValue())));
+        }
+        return List.copyOf(rows);
+    }
+
+    private Long estimateSearch(String search, DriverStatus status) {
+        return status != null
+            ? rowCountEstimator.estimate(DriverRepository.SEARCH_BY_STATUS_ESTIMATE_SQL, search, status.name())
+            : rowCountEstimator.estimate(DriverRepository.SEARCH_ESTIMATE_SQL, search);
+    }
+
+    private DriverResponse toDriverResponse(Driver driver) {
+        return toDriverResponses(List.of(driver)).getFirst();
+    }
+
+    /**
+     * Maps a page of drivers, resolving every current vehicle with one batched
+     * lookup keyed by the page's driver ids.
+     */
+    private List<DriverResponse> toDriverResponses(List<Driver> drivers) {
+        if (drivers.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> driverIds = drivers.stream()
+            .map(Driver::getId)
+            .toList();
+
+        Map<Long, VehicleSummaryResponse> currentVehicles = new HashMap<>();
+        for (VehicleAssignment assignment : assignmentRepository.findActiveWithVehicleByDriverIds(driverIds)) {
+            currentVehicles.put(assignment.getDriver().getId(), VehicleSummaryResponse.builder()
+                .id(assignment.getVehicle().getId())
+                .registrationNumber(assignment.getVehicle().getRegistrationNumber())
+                .build());
+        }
+
+        return drivers.stream()
+            .map(driver -> driverMapper.toResponse(driver, currentVehicles.get(driver.getId())))
+            .toList();
     }
 }
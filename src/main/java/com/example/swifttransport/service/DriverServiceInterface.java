@@ -4,9 +4,14 @@ import com.example.swifttransport.dto.request.CreateDriverRequest;
 import com.example.swifttransport.dto.request.UpdateDriverRequest;
 import com.example.swifttransport.dto.response.DriverListResponse;
 import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.enums.CountMode;
 import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.util.Fieldset;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Map;
+
 public interface DriverServiceInterface {
     /**
      * Creates a new driver based on the provided request.
@@ -23,9 +28,61 @@ public interface DriverServiceInterface {
      * @param status         Optional status to filter drivers.
      * @param search         Optional search term to filter drivers by name or license number.
      * @param includeDeleted If true, deleted drivers are included in the results.
+     * @param countMode      How totals are computed for searches; other lists read maintained counters.
      * @return A paginated list of drivers.
      */
-    DriverListResponse getDrivers(Pageable pageable, DriverStatus status, String search, boolean includeDeleted);
+    DriverListResponse getDrivers(Pageable pageable, DriverStatus status, String search, boolean includeDeleted,
+                                  CountMode countMode);
+
+    /**
+     * Retrieves the page of drivers that follows a cursor, ordered by ID. No total count is computed.
+     *
+     * @param after          Opaque cursor from a previous page's {@code nextCursor}; empty for the first page.
+     * @param size           Maximum number of drivers to return.
+     * @param status         Optional status to filter drivers.
+     * @param search         Optional search term to filter drivers by name or license number.
+     * @param includeDeleted If true, deleted drivers are included in the results.
+     * @return A page of drivers with the cursor of the next page.
+     */
+    DriverListResponse getDriversAfter(String after, int size, DriverStatus status, String search, boolean includeDeleted);
+
+    /**
+     * Retrieves an offset page of drivers with only the requested fields,
+     * applying the same filters and totals as {@link #getDrivers}.
+     *
+     * @param fields The fields to select; the current vehicle is looked up only if included.
+     * @param pageable The page number and size.
+     * @param status Optional status filter.
+     * @param search Optional search term.
+     * @param includeDeleted Whether soft-deleted drivers are listed.
+     * @param countMode How totals of a search are computed.
+     * @return Rows holding the requested fields, with paging details.
+     */
+    FieldsetListResponse getDriverFields(Fieldset fields, Pageable pageable, DriverStatus status, String search,
+                                         boolean includeDeleted, CountMode countMode);
+
+    /**
+     * Retrieves the page of drivers after a cursor with only the requested fields.
+     *
+     * @param fields The fields to select.
+     * @param after The cursor returned with the previous page.
+     * @param size The maximum number of drivers to return.
+     * @param status Optional status filter.
+     * @param search Optional search term.
+     * @param includeDeleted Whether soft-deleted drivers are listed.
+     * @return Rows holding the requested fields and the cursor of the next page, if any.
+     */
+    FieldsetListResponse getDriverFieldsAfter(Fieldset fields, String after, int size, DriverStatus status,
+                                              String search, boolean includeDeleted);
+
+    /**
+     * Retrieves only the requested fields of a driver.
+     *
+     * @param fields The fields to select.
+     * @param id The ID of the driver.
+     * @return The requested fields by name.
+     */
+    Map<String, Object> getDriverFieldsById(Fieldset fields, Long id);
 
     /**
      * Retrieves a driver by its ID.
@@ -35,19 +92,36 @@ public interface DriverServiceInterface {
      */
     DriverResponse getDriverById(Long id);
 
+    /**
+     * Returns the strong ETag of a driver's current representation without loading it.
+     *
+     * @param id The ID of the driver.
+     * @return The quoted entity tag.
+     */
+    String getDriverTag(Long id);
+
+    /**
+     * Returns the weak ETag shared by every driver list, or null if none can be given yet.
+     *
+     * @return The weak entity tag, or null.
+     */
+    String getDriversTag();
+
     /**
      * Updates the details of an existing driver.
      *
      * @param id      The ID of the driver to update.
      * @param request The request containing updated driver details.
+     * @param ifMatch Optional If-Match header; the update is rejected unless it names the current ETag.
      * @return The updated driver details.
      */
-    DriverResponse updateDriver(Long id, UpdateDriverRequest request);
+    DriverResponse updateDriver(Long id, UpdateDriverRequest request, String ifMatch);
 
     /**
      * Deletes a driver from the system by its ID.
      *
-     * @param id The ID of the driver to delete.
+     * @param id      The ID of the driver to delete.
+     * @param ifMatch Optional If-Match header; the delete is rejected unless it names the current ETag.
      */
-    void deleteDriver(Long id);
+    void deleteDriver(Long id, String ifMatch);
 }
@@ -0,0 +1,76 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.repository.EntityCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counters behind the list totals. Writers adjust them in their own
+ * transaction, so a committed count always matches the committed rows.
+ *
+ * <p>Counter rows are seeded by migration V6. A name without a row is
+ * created on first increment, which only happens on schemas built without
+ * Flyway (tests), where the tables start empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EntityCounterService {
+
+    public static final String DRIVERS_TOTAL = "drivers:total";
+    public static final String VEHICLES_ACTIVE = "vehicles:active";
+    public static final String VEHICLES_INACTIVE = "vehicles:inactive";
+    public static final String ASSIGNMENTS_TOTAL = "assignments:total";
+    public static final String ASSIGNMENTS_ACTIVE = "assignments:active";
+    public static final String ASSIGNMENTS_ARCHIVED = "assignments:archived";
+
+    private final EntityCounterRepository counterRepository;
+
+    /**
+     * Non-deleted drivers with the given status.
+     */
+    public static String driversWithStatus(DriverStatus status) {
+        return "drivers:status:" + status.name();
+    }
+
+    public static String vehicles(Boolean active) {
+        return Boolean.TRUE.equals(active) ? VEHICLES_ACTIVE : VEHICLES_INACTIVE;
+    }
+
+    /**
+     * Non-deleted drivers across all statuses.
+     */
+    public long activeDrivers() {
+        return sum(Arrays.stream(DriverStatus.values())
+                .map(EntityCounterService::driversWithStatus)
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Returns the sum of the named counters; missing counters count as 0.
+     */
+    public long sum(String... names) {
+        return counterRepository.sumByNameIn(List.of(names));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(String name, long delta) {
+        if (counterRepository.increment(name, delta) == 0) {
+            counterRepository.insert(name, delta);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(String from, String to) {
+        if (!from.equals(to)) {
+            increment(from, -1);
+            increment(to, 1);
+        }
+    }
+}
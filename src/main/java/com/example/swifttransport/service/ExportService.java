@@ -0,0 +1,256 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.config.ExportConfig;
+import com.example.swifttransport.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams whole tables to a response body as NDJSON or CSV.
+ *
+ * <p>Rows come from a forward-only JDBC cursor with a fixed fetch size and
+ * are written straight to the output as they are read, so heap use does not
+ * depend on the number of rows. Nothing passes through the entity manager or
+ * the list caches. The query runs in a read-only transaction because the
+ * PostgreSQL driver only honours the fetch size with auto-commit off.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String DRIVERS_SQL =
+        "SELECT id AS \"id\", first_name AS \"firstName\", last_name AS \"lastName\", " +
+        "phone_number AS \"phoneNumber\", license_number AS \"licenseNumber\", status AS \"status\", " +
+        "deleted AS \"deleted\", created_at AS \"createdAt\", updated_at AS \"updatedAt\" " +
+        "FROM drivers";
+
+    private static final String VEHICLES_SQL =
+        "SELECT id AS \"id\", registration_number AS \"registrationNumber\", make AS \"make\", " +
+        "model AS \"model\", year AS \"year\", active AS \"active\", " +
+        "created_at AS \"createdAt\", updated_at AS \"updatedAt\" " +
+        "FROM vehicles ORDER BY id";
+
+    private static final String ASSIGNMENTS_SQL =
+        "SELECT va.id AS \"id\", va.driver_id AS \"driverId\", va.vehicle_id AS \"vehicleId\", " +
+        "va.assigned_at AS \"assignedAt\", va.unassigned_at AS \"unassignedAt\", " +
+        "va.is_active AS \"isActive\", u.username AS \"assignedBy\" " +
+        "FROM (" +
+        "SELECT id, driver_id, vehicle_id, assigned_at, unassigned_at, is_active, assigned_by " +
+        "FROM vehicle_assignments " +
+        "UNION ALL " +
+        "SELECT id, driver_id, vehicle_id, assigned_at, unassigned_at, false, assigned_by " +
+        "FROM vehicle_assignments_archive" +
+        ") va LEFT JOIN users u ON u.id = va.assigned_by";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         ExportConfig exportConfig) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(exportConfig.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void exportDrivers(OutputStream output, ExportFormat format, boolean includeDeleted) throws IOException {
+        String sql = DRIVERS_SQL + (includeDeleted ? "" : " WHERE deleted = false") + " ORDER BY id";
+        export(output, format, sql);
+    }
+
+    public void exportVehicles(OutputStream output, ExportFormat format) throws IOException {
+        export(output, format, VEHICLES_SQL);
+    }
+
+    /**
+     * Exports assignment history, live and archived, in id order, optionally
+     * only the assignments made at or after {@code since}, which keeps
+     * incremental nightly pulls small.
+     */
+    public void exportAssignments(OutputStream output, ExportFormat format, LocalDateTime since) throws IOException {
+        if (since == null) {
+            export(output, format, ASSIGNMENTS_SQL + " ORDER BY va.id");
+        } else {
+            export(output, format, ASSIGNMENTS_SQL + " WHERE va.assigned_at >= ? ORDER BY va.id", since);
+        }
+    }
+
+    private void export(OutputStream output, ExportFormat format, String sql, Object... args) throws IOException {
+        long start = System.nanoTime();
+        try (RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output)) {
+            Long rows = transactionTemplate.execute(status -> jdbcTemplate.query(sql, resultSet -> {
+                try {
+                    // Started from the metadata so an empty CSV export still has its header
+                    writer.start(Columns.of(resultSet.getMetaData()));
+                    long count = 0;
+                    while (resultSet.next()) {
+                        writer.write(resultSet);
+                        count++;
+                    }
+                    return count;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, args));
+            log.debug("Exported {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        } catch (UncheckedIOException ex) {
+            // Usually the client went away; there is no response left to report an error on
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Column labels and JDBC types of a result, read from its metadata once
+     * rather than per cell.
+     */
+    private record Columns(List<String> labels, int[] types) {
+
+        static Columns of(ResultSetMetaData metaData) throws SQLException {
+            int count = metaData.getColumnCount();
+            List<String> labels = new ArrayList<>(count);
+            int[] types = new int[count];
+            for (int column = 1; column <= count; column++) {
+                labels.add(metaData.getColumnLabel(column));
+                types[column - 1] = metaData.getColumnType(column);
+            }
+            return new Columns(labels, types);
+        }
+
+        int size() {
+            return types.length;
+        }
+
+        /**
+         * Reads a column as the Java type its JSON or CSV form is written from.
+         */
+        Object value(ResultSet resultSet, int column) throws SQLException {
+            Object value = switch (types[column - 1]) {
+                case Types.BIGINT, Types.INTEGER, Types.SMALLINT -> resultSet.getLong(column);
+                case Types.BOOLEAN, Types.BIT -> resultSet.getBoolean(column);
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> resultSet.getObject(column, LocalDateTime.class);
+                default -> resultSet.getString(column);
+            };
+            return resultSet.wasNull() ? null : value;
+        }
+    }
+
+    private interface RowWriter extends Closeable {
+
+        void start(Columns columns) throws IOException;
+
+        void write(ResultSet resultSet) throws SQLException, IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private Columns columns;
+
+        NdjsonRowWriter(OutputStream output) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(Columns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int column = 1; column <= columns.size(); column++) {
+                generator.writeFieldName(columns.labels().get(column - 1));
+                switch (columns.value(resultSet, column)) {
+                    case null -> generator.writeNull();
+                    case Long number -> generator.writeNumber(number);
+                    case Boolean flag -> generator.writeBoolean(flag);
+                    case Object other -> generator.writeString(other.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private Columns columns;
+
+        CsvRowWriter(OutputStream output) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void start(Columns columns) throws IOException {
+            this.columns = columns;
+            writeLine(columns.labels());
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            List<Object> values = new ArrayList<>(columns.size());
+            for (int column = 1; column <= columns.size(); column++) {
+                values.add(columns.value(resultSet, column));
+            }
+            writeLine(values);
+        }
+
+        private void writeLine(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value != null) {
+                    writer.write(quote(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
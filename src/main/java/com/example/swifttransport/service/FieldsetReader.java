@@ -0,0 +1,85 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.util.Fieldset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads rows for a {@link Fieldset}, selecting only the columns behind the
+ * requested fields.
+ *
+ * <p>Field names come from a fixed whitelist and map to fixed column
+ * expressions, so the select list is built from constants and never from
+ * the request. Fields that are not columns of the table, such as a current
+ * assignment, are left to the caller, which resolves them with one batched
+ * lookup only when they were asked for.
+ */
+@Component
+@RequiredArgsConstructor
+public class FieldsetReader {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * A table rows are read from, e.g. {@code drivers d}, and the column
+     * expression behind each field that is stored in it.
+     */
+    public record Source(String from, Map<String, String> columns) {
+    }
+
+    /**
+     * Reads up to {@code limit} rows after skipping {@code offset}.
+     * {@code where} may be empty; {@code orderBy} is appended as given.
+     * Every requested field is a key of each row, in fieldset order; fields
+     * without a column are null for the caller to fill in.
+     */
+    public List<Map<String, Object>> read(Source source, Fieldset fields, String where, String orderBy,
+                                          MapSqlParameterSource params, int limit, long offset) {
+        List<String> selected = fields.names().stream()
+            .filter(source.columns()::containsKey)
+            .toList();
+        String sql = "SELECT " + String.join(", ", selected.stream().map(source.columns()::get).toList())
+            + " FROM " + source.from() + whereClause(where) + orderBy + " LIMIT :limit OFFSET :offset";
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        return jdbcTemplate.query(sql, params, (resultSet, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : fields.names()) {
+                int column = selected.indexOf(name);
+                Object value = column < 0 ? null : resultSet.getObject(column + 1);
+                row.put(name, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+            }
+            return row;
+        });
+    }
+
+    public long count(Source source, String where, MapSqlParameterSource params) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + source.from() + whereClause(where),
+            params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Ids of the given rows, for resolving relations of the page in one query.
+     */
+    public static List<Long> ids(List<Map<String, Object>> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            ids.add(((Number) row.get(Fieldset.ID)).longValue());
+        }
+        return ids;
+    }
+
+    private static String whereClause(String where) {
+        return where.isEmpty() ? "" : " WHERE " + where;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.swifttransport.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimates the row count of a query from the PostgreSQL planner instead of
+ * running it, for {@code countMode=estimate}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the planner's estimate for {@code sql}, or {@code null} if the
+     * database can't provide one.
+     */
+    public Long estimate(String sql, Object... args) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+            Matcher matcher = plan != null ? PLAN_ROWS.matcher(plan) : null;
+            return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+        } catch (DataAccessException ex) {
+            log.debug("Row estimate not available: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
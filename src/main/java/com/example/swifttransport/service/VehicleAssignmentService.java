@@ -1,95 +1,303 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
 import com.example.swifttransport.config.RedisConfig;
 import com.example.swifttransport.dto.request.AssignVehicleRequest;
 import com.example.swifttransport.dto.response.AssignmentListResponse;
 import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResult;
 import com.example.swifttransport.entity.Driver;
-import com.example.swifttransport.entity.User;
 import com.example.swifttransport.entity.Vehicle;
 import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.entity.VehicleAssignmentHistory;
+import com.example.swifttransport.enums.AuditAction;
 import com.example.swifttransport.enums.DriverStatus;
 import com.example.swifttransport.exception.BusinessValidationException;
 import com.example.swifttransport.exception.ResourceNotFoundException;
 import com.example.swifttransport.mapper.VehicleAssignmentMapper;
 import com.example.swifttransport.repository.DriverRepository;
 import com.example.swifttransport.repository.UserRepository;
+import com.example.swifttransport.repository.VehicleAssignmentHistoryRepository;
 import com.example.swifttransport.repository.VehicleAssignmentRepository;
+import com.example.swifttransport.repository.VehicleAssignmentRepository.AssignAttempt;
 import com.example.swifttransport.repository.VehicleRepository;
+import com.example.swifttransport.security.AuthenticatedUser;
+import com.example.swifttransport.util.EntityTag;
+import com.example.swifttransport.util.KeysetCursor;
 import static com.example.swifttransport.util.CustomMessages.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class VehicleAssignmentService {
 
+    /**
+     * Inserts the accepted pairs of a bulk assignment in one statement. As in
+     * {@link VehicleAssignmentRepository#tryAssign}, {@code ON CONFLICT DO
+     * NOTHING} lets the partial unique indexes skip a pair whose driver or
+     * vehicle was assigned concurrently instead of failing the batch; only
+     * inserted rows come back as generated keys.
+     */
+    private static final String BULK_INSERT_SQL =
+        "INSERT INTO vehicle_assignments (id, driver_id, vehicle_id, assigned_at, is_active, assigned_by, version) " +
+        "SELECT nextval('vehicle_assignments_id_seq'), p.driver_id, p.vehicle_id, " +
+        "CAST(:assignedAt AS TIMESTAMP), true, CAST(:assignedBy AS BIGINT), 0 " +
+        "FROM (VALUES :pairs) AS p(driver_id, vehicle_id) " +
+        "ON CONFLICT DO NOTHING";
+
+    private static final String[] BULK_INSERT_KEYS = {"id", "driver_id"};
+
     private final VehicleAssignmentRepository assignmentRepository;
+    private final VehicleAssignmentHistoryRepository historyRepository;
     private final DriverRepository driverRepository;
     private final VehicleRepository vehicleRepository;
     private final UserRepository userRepository;
     private final VehicleAssignmentMapper assignmentMapper;
+    private final CacheGenerations cacheGenerations;
+    private final CacheManager cacheManager;
+    private final EntityCounterService entityCounterService;
+    private final AuditLog auditLog;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_ASSIGNMENTS, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLES, allEntries = true),
         @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#request.vehicleId"),
         @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#request.driverId")
     })
     public AssignmentResponse assignVehicle(AssignVehicleRequest request) {
-        Driver driver = driverRepository.findByIdAndDeletedFalse(request.driverId())
-            .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_DRIVER, request.driverId()));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        LocalDateTime assignedAt = LocalDateTime.now();
 
-        if (driver.getStatus() != DriverStatus.ACTIVE) {
-            throw new BusinessValidationException(VALIDATION_DRIVER_MUST_BE_ACTIVE);
+        // Eligibility checks, insert and counters in one round trip; see tryAssign
+        AssignAttempt attempt = assignmentRepository.tryAssign(
+            request.driverId(), request.vehicleId(), currentUserId(authentication), assignedAt);
+        if (attempt.getAssignmentId() == null) {
+            throw rejection(request, attempt);
         }
 
-        Vehicle vehicle = vehicleRepository.findById(request.vehicleId())
-            .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_VEHICLE, request.vehicleId()));
+        bumpAssignmentGenerations(request.driverId(), request.vehicleId());
+        auditLog.record(AuditAction.ASSIGN, AuditLog.ENTITY_ASSIGNMENT, attempt.getAssignmentId(),
+            auditDetails(request.driverId(), request.vehicleId()));
+        return assignmentMapper.toResponse(attempt, request.driverId(), request.vehicleId(), assignedAt, username);
+    }
 
-        if (!vehicle.getActive()) {
-            throw new BusinessValidationException(VALIDATION_VEHICLE_NOT_ACTIVE);
+    /**
+     * Explains why {@link VehicleAssignmentRepository#tryAssign} inserted
+     * nothing, checking the rules in the same order as the bulk path.
+     */
+    private RuntimeException rejection(AssignVehicleRequest request, AssignAttempt attempt) {
+        if (attempt.getDriverStatus() == null) {
+            return new ResourceNotFoundException(RESOURCE_DRIVER, request.driverId());
+        }
+        if (!DriverStatus.ACTIVE.name().equals(attempt.getDriverStatus())) {
+            return new BusinessValidationException(VALIDATION_DRIVER_MUST_BE_ACTIVE);
+        }
+        if (attempt.getVehicleActive() == null) {
+            return new ResourceNotFoundException(RESOURCE_VEHICLE, request.vehicleId());
         }
+        if (!attempt.getVehicleActive()) {
+            return new BusinessValidationException(VALIDATION_VEHICLE_NOT_ACTIVE);
+        }
+        if (Boolean.TRUE.equals(attempt.getDriverBusy())) {
+            return new BusinessValidationException(VALIDATION_DRIVER_ALREADY_ASSIGNED);
+        }
+        if (Boolean.TRUE.equals(attempt.getVehicleBusy())) {
+            return new BusinessValidationException(VALIDATION_VEHICLE_ALREADY_ASSIGNED);
+        }
+        // A concurrent assignment committed after the statement's snapshot; look again to see which side it took
+        return new BusinessValidationException(assignmentRepository.existsByDriverIdAndIsActiveTrue(request.driverId())
+            ? VALIDATION_DRIVER_ALREADY_ASSIGNED
+            : VALIDATION_VEHICLE_ALREADY_ASSIGNED);
+    }
+
+    /**
+     * Assigns many vehicles in one transaction. Drivers, vehicles and their
+     * current assignments are loaded with one query each, every pair is
+     * checked against the same rules as {@link #assignVehicle}, and the
+     * accepted pairs are inserted with one statement. A rejected pair is
+     * reported in its result and does not fail the others, including a pair
+     * that lost its driver or vehicle to an assignment committed after the
+     * checks. Caches are invalidated once for the whole batch.
+     */
+    @Transactional
+    public BulkAssignmentResponse assignVehicles(List<AssignVehicleRequest> requests) {
+        Set<Long> driverIds = requests.stream().map(AssignVehicleRequest::driverId).collect(Collectors.toSet());
+        Set<Long> vehicleIds = requests.stream().map(AssignVehicleRequest::vehicleId).collect(Collectors.toSet());
 
-        if (assignmentRepository.existsByDriverIdAndIsActiveTrue(request.driverId())) {
-            throw new BusinessValidationException(VALIDATION_DRIVER_ALREADY_ASSIGNED);
+        Map<Long, Driver> drivers = driverRepository.findAllByIdInAndDeletedFalse(driverIds).stream()
+            .collect(Collectors.toMap(Driver::getId, Function.identity()));
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(vehicleIds).stream()
+            .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        Set<Long> busyDrivers = new HashSet<>(assignmentRepository.findActiveDriverIds(driverIds));
+        Set<Long> busyVehicles = new HashSet<>(assignmentRepository.findActiveVehicleIds(vehicleIds));
+
+        List<BulkAssignmentResult> results = new ArrayList<>(requests.size());
+        Map<Integer, AssignVehicleRequest> accepted = new LinkedHashMap<>();
+
+        for (AssignVehicleRequest request : requests) {
+            Driver driver = drivers.get(request.driverId());
+            Vehicle vehicle = vehicles.get(request.vehicleId());
+            String error = null;
+            if (driver == null) {
+                error = DRIVER_NOT_FOUND;
+            } else if (driver.getStatus() != DriverStatus.ACTIVE) {
+                error = VALIDATION_DRIVER_MUST_BE_ACTIVE;
+            } else if (vehicle == null) {
+                error = VALIDATION_VEHICLE_NOT_FOUND;
+            } else if (!vehicle.getActive()) {
+                error = VALIDATION_VEHICLE_NOT_ACTIVE;
+            } else if (!busyDrivers.add(driver.getId())) {
+                error = VALIDATION_DRIVER_ALREADY_ASSIGNED;
+            } else if (!busyVehicles.add(vehicle.getId())) {
+                busyDrivers.remove(driver.getId());
+                error = VALIDATION_VEHICLE_ALREADY_ASSIGNED;
+            }
+
+            if (error != null) {
+                results.add(BulkAssignmentResult.rejected(request.driverId(), request.vehicleId(), error));
+            } else {
+                accepted.put(results.size(), request);
+                results.add(null);
+            }
         }
 
-        if (assignmentRepository.existsByVehicleIdAndIsActiveTrue(request.vehicleId())) {
-            throw new BusinessValidationException(VALIDATION_VEHICLE_ALREADY_ASSIGNED);
+        if (accepted.isEmpty()) {
+            return BulkAssignmentResponse.of(results);
         }
 
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User assignedBy = userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_PREFIX + username));
+        Map<Long, Long> inserted = insertAssignments(accepted.values(),
+            currentUserId(SecurityContextHolder.getContext().getAuthentication()));
+        // Drivers of pairs that were skipped; whatever took them committed after the busy check
+        Set<Long> lostDrivers = accepted.values().stream()
+            .map(AssignVehicleRequest::driverId)
+            .filter(driverId -> !inserted.containsKey(driverId))
+            .collect(Collectors.toSet());
+        Set<Long> takenDrivers = lostDrivers.isEmpty()
+            ? Set.of()
+            : new HashSet<>(assignmentRepository.findActiveDriverIds(lostDrivers));
 
-        VehicleAssignment assignment = VehicleAssignment.builder()
-            .driver(driver)
-            .vehicle(vehicle)
-            .assignedBy(assignedBy)
-            .isActive(true)
-            .build();
+        List<AssignVehicleRequest> applied = new ArrayList<>(inserted.size());
+        accepted.forEach((position, request) -> {
+            Long assignmentId = inserted.get(request.driverId());
+            if (assignmentId != null) {
+                applied.add(request);
+                results.set(position,
+                    BulkAssignmentResult.applied(request.driverId(), request.vehicleId(), assignmentId));
+            } else {
+                results.set(position, BulkAssignmentResult.rejected(request.driverId(), request.vehicleId(),
+                    takenDrivers.contains(request.driverId())
+                        ? VALIDATION_DRIVER_ALREADY_ASSIGNED
+                        : VALIDATION_VEHICLE_ALREADY_ASSIGNED));
+            }
+        });
 
-        VehicleAssignment saved = assignmentRepository.save(assignment);
-        return assignmentMapper.toResponse(saved);
+        if (!applied.isEmpty()) {
+            entityCounterService.increment(EntityCounterService.ASSIGNMENTS_ACTIVE, applied.size());
+            entityCounterService.increment(EntityCounterService.ASSIGNMENTS_TOTAL, applied.size());
+            invalidateAssignments(
+                applied.stream().map(AssignVehicleRequest::driverId).toList(),
+                applied.stream().map(AssignVehicleRequest::vehicleId).toList());
+            Map<Long, Map<String, Object>> audit = new LinkedHashMap<>();
+            applied.forEach(request -> audit.put(inserted.get(request.driverId()),
+                auditDetails(request.driverId(), request.vehicleId())));
+            auditLog.recordEach(AuditAction.ASSIGN, AuditLog.ENTITY_ASSIGNMENT, audit);
+        }
+        return BulkAssignmentResponse.of(results);
+    }
+
+    /**
+     * Runs {@link #BULK_INSERT_SQL} and returns the new assignment ids by
+     * driver. Every driver appears in at most one pair, and a pair missing
+     * from the result was skipped.
+     */
+    private Map<Long, Long> insertAssignments(Collection<AssignVehicleRequest> pairs, Long assignedBy) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("assignedAt", LocalDateTime.now())
+            .addValue("assignedBy", assignedBy)
+            .addValue("pairs", pairs.stream()
+                .map(pair -> new Object[] {pair.driverId(), pair.vehicleId()})
+                .toList());
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(BULK_INSERT_SQL, parameters, keys, BULK_INSERT_KEYS);
+
+        Map<Long, Long> ids = new HashMap<>();
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.put(((Number) row.get("driver_id")).longValue(), ((Number) row.get("id")).longValue());
+        }
+        return ids;
     }
 
+    /**
+     * Ends the active assignments of many drivers with one query to find them
+     * and one {@code UPDATE} to close them. Drivers without an active
+     * assignment are reported in their result. Caches are invalidated once for
+     * the whole batch.
+     */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_ASSIGNMENTS, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLES, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#driverId")
-    })
+    public BulkAssignmentResponse unassignVehicles(List<Long> driverIds) {
+        Map<Long, VehicleAssignment> active = assignmentRepository
+            .findActiveWithVehicleByDriverIds(new HashSet<>(driverIds)).stream()
+            .collect(Collectors.toMap(assignment -> assignment.getDriver().getId(), Function.identity()));
+
+        List<BulkAssignmentResult> results = new ArrayList<>(driverIds.size());
+        Set<Long> ended = new HashSet<>();
+        for (Long driverId : driverIds) {
+            VehicleAssignment assignment = active.get(driverId);
+            if (assignment == null || !ended.add(driverId)) {
+                results.add(BulkAssignmentResult.rejected(driverId, null, NO_ACTIVE_ASSIGNMENT_PREFIX + driverId));
+            } else {
+                results.add(BulkAssignmentResult.applied(driverId, assignment.getVehicle().getId(),
+                    assignment.getId()));
+            }
+        }
+
+        if (!ended.isEmpty()) {
+            List<VehicleAssignment> closing = ended.stream().map(active::get).toList();
+            int updated = assignmentRepository.deactivateAll(
+                closing.stream().map(VehicleAssignment::getId).toList(), LocalDateTime.now());
+            entityCounterService.increment(EntityCounterService.ASSIGNMENTS_ACTIVE, -updated);
+            invalidateAssignments(ended,
+                closing.stream().map(assignment -> assignment.getVehicle().getId()).toList());
+            auditLog.recordEach(AuditAction.UNASSIGN, AuditLog.ENTITY_ASSIGNMENT, auditDetails(closing));
+        }
+        return BulkAssignmentResponse.of(results);
+    }
+
+    @Transactional
+    @CacheEvict(value = RedisConfig.CACHE_DRIVER_BY_ID, key = "#driverId")
     public AssignmentResponse unassignVehicle(Long driverId) {
         VehicleAssignment assignment = assignmentRepository.findByDriverIdAndIsActiveTrue(driverId)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -99,33 +307,232 @@ public class VehicleAssignmentService {
         assignment.setUnassignedAt(java.time.LocalDateTime.now());
 
         VehicleAssignment saved = assignmentRepository.save(assignment);
+        entityCounterService.increment(EntityCounterService.ASSIGNMENTS_ACTIVE, -1);
+
+        Long vehicleId = saved.getVehicle().getId();
+        Cache vehicleByIdCache = cacheManager.getCache(RedisConfig.CACHE_VEHICLE_BY_ID);
+        if (vehicleByIdCache != null) {
+            vehicleByIdCache.evict(vehicleId);
+        }
+        bumpAssignmentGenerations(driverId, vehicleId);
+        auditLog.record(AuditAction.UNASSIGN, AuditLog.ENTITY_ASSIGNMENT, saved.getId(),
+            auditDetails(driverId, vehicleId));
         return assignmentMapper.toResponse(saved);
     }
 
+    /**
+     * Weak ETag of an assignment list, from the same generation its cache key uses.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getAssignmentsTag(Long driverId, Long vehicleId) {
+        String namespace = driverId != null ? CacheGenerations.assignmentsForDriver(driverId)
+            : vehicleId != null ? CacheGenerations.assignmentsForVehicle(vehicleId)
+            : RedisConfig.CACHE_ASSIGNMENTS;
+        return EntityTag.forList(namespace, cacheGenerations.current(namespace));
+    }
+
     @Cacheable(
         value = RedisConfig.CACHE_ASSIGNMENTS,
-        key = "'page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':active:' + #activeOnly + ':driver:' + #driverId + ':vehicle:' + #vehicleId"
+        key = "@cacheGenerations.current(#driverId != null ? 'assignments:driver:' + #driverId : (#vehicleId != null ? 'assignments:vehicle:' + #vehicleId : 'assignments'))"
+            + " + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':active:' + #activeOnly + ':driver:' + #driverId + ':vehicle:' + #vehicleId"
+            + " + ':archived:' + #includeArchived",
+        sync = true
     )
-    public AssignmentListResponse getAssignments(Pageable pageable, boolean activeOnly, Long driverId, Long vehicleId) {
-        Page<VehicleAssignment> assignmentPage;
+    public AssignmentListResponse getAssignments(Pageable pageable, boolean activeOnly, Long driverId, Long vehicleId,
+                                                 boolean includeArchived) {
+        if (readsArchive(includeArchived, activeOnly, driverId, vehicleId)) {
+            return getAssignmentHistory(pageable, driverId, vehicleId);
+        }
+
+        Slice<VehicleAssignment> assignmentSlice;
+        long totalElements;
+
+        // Per-driver and per-vehicle histories are small and index-backed, so they keep an exact count
+        if (driverId != null) {
+            Page<VehicleAssignment> assignmentPage = assignmentRepository.findAllByDriverId(driverId, pageable);
+            assignmentSlice = assignmentPage;
+            totalElements = assignmentPage.getTotalElements();
+        } else if (vehicleId != null) {
+            Page<VehicleAssignment> assignmentPage = assignmentRepository.findAllByVehicleId(vehicleId, pageable);
+            assignmentSlice = assignmentPage;
+            totalElements = assignmentPage.getTotalElements();
+        } else if (activeOnly) {
+            assignmentSlice = assignmentRepository.findAllByIsActiveTrue(pageable);
+            totalElements = entityCounterService.sum(EntityCounterService.ASSIGNMENTS_ACTIVE);
+        } else {
+            assignmentSlice = assignmentRepository.findAllAsSlice(pageable);
+            totalElements = entityCounterService.sum(EntityCounterService.ASSIGNMENTS_TOTAL);
+        }
+
+        return toListResponse(assignmentSlice, assignmentMapper.toResponseList(assignmentSlice.getContent()),
+            totalElements);
+    }
+
+    /**
+     * Keyset variant of {@link #getAssignments}: returns the assignments after
+     * the cursor in (assignedAt, id) order, without a total count, so late
+     * pages cost the same as the first. Not cached; it serves full walks.
+     */
+    public AssignmentListResponse getAssignmentsAfter(String after, int size, boolean activeOnly,
+                                                      Long driverId, Long vehicleId, boolean includeArchived) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Limit limit = KeysetCursor.limitFor(size);
+        if (readsArchive(includeArchived, activeOnly, driverId, vehicleId)) {
+            return getAssignmentHistoryAfter(cursor, size, limit, driverId, vehicleId);
+        }
+
+        List<VehicleAssignment> assignments;
 
         if (driverId != null) {
-            assignmentPage = assignmentRepository.findAllByDriverId(driverId, pageable);
+            assignments = assignmentRepository.findByDriverIdAfter(driverId, cursor.timestamp(), cursor.id(), limit);
         } else if (vehicleId != null) {
-            assignmentPage = assignmentRepository.findAllByVehicleId(vehicleId, pageable);
+            assignments = assignmentRepository.findByVehicleIdAfter(vehicleId, cursor.timestamp(), cursor.id(), limit);
         } else if (activeOnly) {
-            assignmentPage = assignmentRepository.findAllByIsActiveTrue(pageable);
+            assignments = assignmentRepository.findActiveAfter(cursor.timestamp(), cursor.id(), limit);
+        } else {
+            assignments = assignmentRepository.findAllAfter(cursor.timestamp(), cursor.id(), limit);
+        }
+
+        boolean last = assignments.size() <= size;
+        List<VehicleAssignment> content = last ? assignments : assignments.subList(0, size);
+
+        return AssignmentListResponse.builder()
+            .content(assignmentMapper.toResponseList(content))
+            .size(size)
+            .last(last)
+            .nextCursor(last ? null : KeysetCursor.encode(content.getLast().getAssignedAt(), content.getLast().getId()))
+            .build();
+    }
+
+    /**
+     * Archived assignments are all closed, so only history queries need the
+     * archive: anything filtered by driver or vehicle, or the full list. The
+     * active-only list never reads it.
+     */
+    private static boolean readsArchive(boolean includeArchived, boolean activeOnly, Long driverId, Long vehicleId) {
+        return includeArchived && (driverId != null || vehicleId != null || !activeOnly);
+    }
+
+    private AssignmentListResponse getAssignmentHistory(Pageable pageable, Long driverId, Long vehicleId) {
+        Slice<VehicleAssignmentHistory> historySlice;
+        long totalElements;
+
+        if (driverId != null) {
+            Page<VehicleAssignmentHistory> historyPage = historyRepository.findAllByDriverId(driverId, pageable);
+            historySlice = historyPage;
+            totalElements = historyPage.getTotalElements();
+        } else if (vehicleId != null) {
+            Page<VehicleAssignmentHistory> historyPage = historyRepository.findAllByVehicleId(vehicleId, pageable);
+            historySlice = historyPage;
+            totalElements = historyPage.getTotalElements();
+        } else {
+            historySlice = historyRepository.findAllAsSlice(pageable);
+            totalElements = entityCounterService.sum(
+                EntityCounterService.ASSIGNMENTS_TOTAL, EntityCounterService.ASSIGNMENTS_ARCHIVED);
+        }
+
+        return toListResponse(historySlice, assignmentMapper.toHistoryResponseList(historySlice.getContent()),
+            totalElements);
+    }
+
+    private AssignmentListResponse getAssignmentHistoryAfter(KeysetCursor cursor, int size, Limit limit,
+                                                             Long driverId, Long vehicleId) {
+        List<VehicleAssignmentHistory> history;
+
+        if (driverId != null) {
+            history = historyRepository.findByDriverIdAfter(driverId, cursor.timestamp(), cursor.id(), limit);
+        } else if (vehicleId != null) {
+            history = historyRepository.findByVehicleIdAfter(vehicleId, cursor.timestamp(), cursor.id(), limit);
         } else {
-            assignmentPage = assignmentRepository.findAll(pageable);
+            history = historyRepository.findAllAfter(cursor.timestamp(), cursor.id(), limit);
         }
 
+        boolean last = history.size() <= size;
+        List<VehicleAssignmentHistory> content = last ? history : history.subList(0, size);
+
+        return AssignmentListResponse.builder()
+            .content(assignmentMapper.toHistoryResponseList(content))
+            .size(size)
+            .last(last)
+            .nextCursor(last ? null : KeysetCursor.encode(content.getLast().getAssignedAt(), content.getLast().getId()))
+            .build();
+    }
+
+    private static AssignmentListResponse toListResponse(Slice<?> slice, List<AssignmentResponse> content,
+                                                         long totalElements) {
+        // Never report fewer rows than this page proves exist
+        long total = Math.max(totalElements, slice.getPageable().getOffset() + slice.getNumberOfElements());
+
         return AssignmentListResponse.builder()
-            .content(assignmentMapper.toResponseList(assignmentPage.getContent()))
-            .page(assignmentPage.getNumber())
-            .size(assignmentPage.getSize())
-            .totalElements(assignmentPage.getTotalElements())
-            .totalPages(assignmentPage.getTotalPages())
-            .last(assignmentPage.isLast())
+            .content(content)
+            .page(slice.getNumber())
+            .size(slice.getSize())
+            .totalElements(total)
+            .totalPages((int) Math.ceil((double) total / slice.getSize()))
+            .last(slice.isLast())
             .build();
     }
+
+    /**
+     * An assignment change affects the unfiltered assignment lists, the lists
+     * filtered by this driver or vehicle, and the driver and vehicle lists that
+     * show current assignments. Lists filtered by other drivers or vehicles keep
+     * their cached pages.
+     */
+    private void bumpAssignmentGenerations(Long driverId, Long vehicleId) {
+        cacheGenerations.bump(
+            RedisConfig.CACHE_ASSIGNMENTS,
+            CacheGenerations.assignmentsForDriver(driverId),
+            CacheGenerations.assignmentsForVehicle(vehicleId),
+            RedisConfig.CACHE_DRIVERS,
+            RedisConfig.CACHE_VEHICLES);
+    }
+
+    /**
+     * Bulk counterpart of the single-pair evictions: evicts every affected
+     * driver and vehicle by id and bumps all affected generations in a single
+     * after-commit pass.
+     */
+    private void invalidateAssignments(Collection<Long> driverIds, Collection<Long> vehicleIds) {
+        evictAll(RedisConfig.CACHE_DRIVER_BY_ID, driverIds);
+        evictAll(RedisConfig.CACHE_VEHICLE_BY_ID, vehicleIds);
+
+        List<String> namespaces = new ArrayList<>();
+        namespaces.add(RedisConfig.CACHE_ASSIGNMENTS);
+        namespaces.add(RedisConfig.CACHE_DRIVERS);
+        namespaces.add(RedisConfig.CACHE_VEHICLES);
+        driverIds.forEach(driverId -> namespaces.add(CacheGenerations.assignmentsForDriver(driverId)));
+        vehicleIds.forEach(vehicleId -> namespaces.add(CacheGenerations.assignmentsForVehicle(vehicleId)));
+        cacheGenerations.bump(namespaces.toArray(String[]::new));
+    }
+
+    private void evictAll(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private static Map<String, Object> auditDetails(Long driverId, Long vehicleId) {
+        return Map.of("driverId", driverId, "vehicleId", vehicleId);
+    }
+
+    private static Map<Long, Map<String, Object>> auditDetails(Collection<VehicleAssignment> assignments) {
+        Map<Long, Map<String, Object>> details = new LinkedHashMap<>();
+        for (VehicleAssignment assignment : assignments) {
+            details.put(assignment.getId(),
+                auditDetails(assignment.getDriver().getId(), assignment.getVehicle().getId()));
+        }
+        return details;
+    }
+
+    private Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.id();
+        }
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_PREFIX + username))
+            .getId();
+    }
 }
@@ -1,42 +1,89 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.catalog.VehicleCatalogIndex;
+import com.example.swifttransport.catalog.VehicleFacetQuery;
 import com.example.swifttransport.config.RedisConfig;
 import com.example.swifttransport.dto.request.CreateVehicleRequest;
 import com.example.swifttransport.dto.request.UpdateVehicleRequest;
 import com.example.swifttransport.dto.response.DriverSummaryResponse;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.VehicleFacetResponse;
 import com.example.swifttransport.dto.response.VehicleListResponse;
 import com.example.swifttransport.dto.response.VehicleResponse;
 import com.example.swifttransport.entity.Vehicle;
 import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.enums.CountMode;
 import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.exception.PreconditionFailedException;
 import com.example.swifttransport.exception.ResourceNotFoundException;
+import com.example.swifttransport.repository.CurrentDriver;
 import com.example.swifttransport.repository.VehicleAssignmentRepository;
 import com.example.swifttransport.repository.VehicleRepository;
 import com.example.swifttransport.util.CustomMessages;
+import com.example.swifttransport.util.EntityTag;
+import com.example.swifttransport.util.Fieldset;
+import com.example.swifttransport.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class VehicleService implements VehicleServiceInterface{
 
+    /**
+     * Fields a vehicle can be read with through {@code fields=}, in response order.
+     */
+    public static final List<String> FIELDS = List.of("id", "registrationNumber", "make", "model", "year",
+            "active", "currentDriver", "createdAt", "updatedAt");
+
+    private static final String CURRENT_DRIVER = "currentDriver";
+
+    private static final FieldsetReader.Source FIELDSET_SOURCE = new FieldsetReader.Source("vehicles v", Map.of(
+            "id", "v.id",
+            "registrationNumber", "v.registration_number",
+            "make", "v.make",
+            "model", "v.model",
+            "year", "v.year",
+            "active", "v.active",
+            "createdAt", "v.created_at",
+            "updatedAt", "v.updated_at"));
+
     private final VehicleRepository vehicleRepository;
     private final VehicleAssignmentRepository assignmentRepository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounterService entityCounterService;
+    private final RowCountEstimator rowCountEstimator;
+    private final VehicleCatalogIndex vehicleCatalogIndex;
+    private final AuditLog auditLog;
+    private final FieldsetReader fieldsetReader;
+    private final CacheManager cacheManager;
 
     /**
      {@inheritDoc}
      */
     @Transactional
-    @CacheEvict(value = RedisConfig.CACHE_VEHICLES, allEntries = true)
     public VehicleResponse createVehicle(CreateVehicleRequest request) {
         log.debug("Creating new vehicle with registration: {}", request.registrationNumber());
         
@@ -53,7 +100,11 @@ public class VehicleService implements VehicleServiceInterface{
                 .build();
 
         Vehicle saved = vehicleRepository.save(vehicle);
-        return toVehicleResponse(saved);
+        entityCounterService.increment(EntityCounterService.vehicles(saved.getActive()), 1);
+        cacheGenerations.bump(RedisConfig.CACHE_VEHICLES);
+        vehicleCatalogIndex.vehicleChanged(saved);
+        auditLog.record(AuditAction.CREATE, AuditLog.ENTITY_VEHICLE, saved.getId(), AuditLog.fieldsOf(request));
+        return toVehicleResponse(saved, null);
     }
 
     /**
@@ -61,39 +112,172 @@ public class VehicleService implements VehicleServiceInterface{
      */
     @Cacheable(
         value = RedisConfig.CACHE_VEHICLES,
-        key = "'page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':active:' + #activeOnly + ':search:' + #search"
+        key = "@cacheGenerations.current('vehicles') + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize + ':active:' + #activeOnly + ':search:' + #search + ':count:' + #countMode",
+        sync = true
     )
-    public VehicleListResponse getVehicles(Pageable pageable, Boolean activeOnly, String search) {
+    public VehicleListResponse getVehicles(Pageable pageable, Boolean activeOnly, String search, CountMode countMode) {
         log.debug("Fetching vehicles from database - cache miss for page: {}, size: {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Vehicle> vehiclePage;
+        Slice<Vehicle> vehicleSlice;
+        Long totalElements;
 
         if (search != null && !search.isBlank()) {
-            vehiclePage = vehicleRepository.findByRegistrationNumberContainingOrMakeContainingOrModelContaining(
-                    search, search, search, pageable);
+            if (countMode == CountMode.EXACT) {
+                Page<Vehicle> vehiclePage = vehicleRepository.findByRegistrationNumberContainingOrMakeContainingOrModelContaining(
+                        search, search, search, pageable);
+                vehicleSlice = vehiclePage;
+                totalElements = vehiclePage.getTotalElements();
+            } else {
+                vehicleSlice = vehicleRepository.findSliceByRegistrationNumberContainingOrMakeContainingOrModelContaining(
+                        search, search, search, pageable);
+                totalElements = countMode == CountMode.ESTIMATE
+                        ? rowCountEstimator.estimate(VehicleRepository.SEARCH_ESTIMATE_SQL, search, search, search)
+                        : null;
+            }
         } else if (activeOnly != null && activeOnly) {
-            vehiclePage = vehicleRepository.findAllByActiveTrue(pageable);
+            vehicleSlice = vehicleRepository.findAllByActiveTrue(pageable);
+            totalElements = entityCounterService.sum(EntityCounterService.VEHICLES_ACTIVE);
         } else {
-            vehiclePage = vehicleRepository.findAll(pageable);
+            vehicleSlice = vehicleRepository.findAllAsSlice(pageable);
+            totalElements = entityCounterService.sum(EntityCounterService.VEHICLES_ACTIVE,
+                    EntityCounterService.VEHICLES_INACTIVE);
         }
 
+        // Never report fewer rows than this page proves exist
+        Long total = totalElements != null
+                ? Math.max(totalElements, vehicleSlice.getPageable().getOffset() + vehicleSlice.getNumberOfElements())
+                : null;
+
         return VehicleListResponse.builder()
-                .content(vehiclePage.getContent().stream()
-                        .map(this::toVehicleResponse)
-                        .toList())
-                .page(vehiclePage.getNumber())
-                .size(vehiclePage.getSize())
-                .totalElements(vehiclePage.getTotalElements())
-                .totalPages(vehiclePage.getTotalPages())
-                .last(vehiclePage.isLast())
+                .content(toVehicleResponses(vehicleSlice.getContent()))
+                .page(vehicleSlice.getNumber())
+                .size(vehicleSlice.getSize())
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / vehicleSlice.getSize()) : null)
+                .last(vehicleSlice.isLast())
+                .build();
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    public VehicleListResponse getVehiclesAfter(String after, int size, Boolean activeOnly, String search) {
+        long afterId = KeysetCursor.decode(after).id();
+        Limit limit = KeysetCursor.limitFor(size);
+        List<Vehicle> vehicles;
+
+        if (search != null && !search.isBlank()) {
+            vehicles = vehicleRepository.searchVehiclesAfter(search, afterId, limit);
+        } else if (activeOnly != null && activeOnly) {
+            vehicles = vehicleRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, limit);
+        } else {
+            vehicles = vehicleRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        }
+
+        boolean last = vehicles.size() <= size;
+        List<Vehicle> content = last ? vehicles : vehicles.subList(0, size);
+
+        return VehicleListResponse.builder()
+                .content(toVehicleResponses(content))
+                .size(size)
+                .last(last)
+                .nextCursor(last ? null : KeysetCursor.encode(content.getLast().getId()))
+                .build();
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    public FieldsetListResponse getVehicleFields(Fieldset fields, Pageable pageable, Boolean activeOnly, String search,
+                                                 CountMode countMode) {
+        boolean searching = search != null && !search.isBlank();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = String.join(" AND ", fieldsetConditions(activeOnly, search, params));
+        int size = pageable.getPageSize();
+
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields, where, " ORDER BY v.id",
+                params, size + 1, pageable.getOffset());
+        boolean last = rows.size() <= size;
+        List<Map<String, Object>> content = last ? rows : rows.subList(0, size);
+
+        Long totalElements;
+        if (!searching) {
+            totalElements = activeOnly != null && activeOnly
+                    ? entityCounterService.sum(EntityCounterService.VEHICLES_ACTIVE)
+                    : entityCounterService.sum(EntityCounterService.VEHICLES_ACTIVE,
+                            EntityCounterService.VEHICLES_INACTIVE);
+        } else if (countMode == CountMode.EXACT) {
+            totalElements = fieldsetReader.count(FIELDSET_SOURCE, where, params);
+        } else {
+            totalElements = countMode == CountMode.ESTIMATE
+                    ? rowCountEstimator.estimate(VehicleRepository.SEARCH_ESTIMATE_SQL, search, search, search)
+                    : null;
+        }
+
+        // Never report fewer rows than this page proves exist
+        Long total = totalElements != null ? Math.max(totalElements, pageable.getOffset() + content.size()) : null;
+
+        return FieldsetListResponse.builder()
+                .content(withCurrentDrivers(fields, content))
+                .page(pageable.getPageNumber())
+                .size(size)
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / size) : null)
+                .last(last)
                 .build();
     }
 
     /**
      {@inheritDoc}
      */
-    @Cacheable(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id")
+    public FieldsetListResponse getVehicleFieldsAfter(Fieldset fields, String after, int size, Boolean activeOnly,
+                                                      String search) {
+        long afterId = KeysetCursor.decode(after).id();
+        Limit limit = KeysetCursor.limitFor(size);
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId);
+        List<String> conditions = fieldsetConditions(activeOnly, search, params);
+        conditions.add("v.id > :afterId");
+
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields,
+                String.join(" AND ", conditions), " ORDER BY v.id", params, limit.max(), 0);
+        boolean last = rows.size() <= size;
+        List<Map<String, Object>> content = last ? rows : rows.subList(0, size);
+
+        return FieldsetListResponse.builder()
+                .content(withCurrentDrivers(fields, content))
+                .size(size)
+                .last(last)
+                .nextCursor(last ? null : KeysetCursor.encode(FieldsetReader.ids(content).getLast()))
+                .build();
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    public Map<String, Object> getVehicleFieldsById(Fieldset fields, Long id) {
+        List<Map<String, Object>> rows = fieldsetReader.read(FIELDSET_SOURCE, fields, "v.id = :id", "",
+                new MapSqlParameterSource("id", id), 1, 0);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND);
+        }
+        return withCurrentDrivers(fields, rows).getFirst();
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    public VehicleFacetResponse getVehicleFacets(VehicleFacetQuery query) {
+        if (query.limit() < 1 || query.limit() > 1_000) {
+            throw new BusinessValidationException(CustomMessages.VALIDATION_FACET_LIMIT);
+        }
+        return vehicleCatalogIndex.search(query);
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    @Cacheable(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id", sync = true)
     public VehicleResponse getVehicleById(Long id) {
         log.debug("Fetching vehicle {} from database - cache miss", id);
         
@@ -102,20 +286,34 @@ public class VehicleService implements VehicleServiceInterface{
         return toVehicleResponse(vehicle);
     }
 
+    /**
+     {@inheritDoc}
+     */
+    public String getVehicleTag(Long id) {
+        return vehicleRepository.findVersionStampById(id)
+                .map(EntityTag::of)
+                .orElseThrow(() -> new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND));
+    }
+
+    /**
+     {@inheritDoc}
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getVehiclesTag() {
+        return EntityTag.forList(RedisConfig.CACHE_VEHICLES, cacheGenerations.current(RedisConfig.CACHE_VEHICLES));
+    }
+
     /**
      {@inheritDoc}
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLES, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id")
-    })
-    public VehicleResponse updateVehicle(Long id, UpdateVehicleRequest request) {
+    @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id")
+    public VehicleResponse updateVehicle(Long id, UpdateVehicleRequest request, String ifMatch) {
         log.debug("Updating vehicle {}", id);
         
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND));
+        Vehicle vehicle = findForWrite(id, ifMatch);
 
+        Boolean wasActive = vehicle.getActive();
         if (request.make() != null) {
             vehicle.setMake(request.make());
         }
@@ -130,46 +328,144 @@ public class VehicleService implements VehicleServiceInterface{
         }
 
         Vehicle updated = vehicleRepository.save(vehicle);
+        entityCounterService.move(EntityCounterService.vehicles(wasActive),
+                EntityCounterService.vehicles(updated.getActive()));
+        cacheGenerations.bump(RedisConfig.CACHE_VEHICLES);
+        vehicleCatalogIndex.vehicleChanged(updated);
+        invalidateAssignedDriver(id);
+        auditLog.record(AuditAction.UPDATE, AuditLog.ENTITY_VEHICLE, id, AuditLog.fieldsOf(request));
         return toVehicleResponse(updated);
     }
 
+    /**
+     * The assigned driver's ETag carries this vehicle's version and driver
+     * list pages embed the vehicle, so a vehicle update evicts the driver's
+     * by-id entry and moves the driver lists to a new generation.
+     */
+    private void invalidateAssignedDriver(Long vehicleId) {
+        assignmentRepository.findByVehicleIdAndIsActiveTrue(vehicleId).ifPresent(assignment -> {
+            Cache driverByIdCache = cacheManager.getCache(RedisConfig.CACHE_DRIVER_BY_ID);
+            if (driverByIdCache != null) {
+                driverByIdCache.evict(assignment.getDriver().getId());
+            }
+            cacheGenerations.bump(RedisConfig.CACHE_DRIVERS);
+        });
+    }
+
     /**
      {@inheritDoc}
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLES, allEntries = true),
-        @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id")
-    })
-    public void deleteVehicle(Long id) {
+    @CacheEvict(value = RedisConfig.CACHE_VEHICLE_BY_ID, key = "#id")
+    public void deleteVehicle(Long id, String ifMatch) {
         log.debug("Deleting vehicle {}", id);
         
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND));
+        Vehicle vehicle = findForWrite(id, ifMatch);
 
         if (assignmentRepository.existsByVehicleIdAndIsActiveTrue(id)) {
             throw new BusinessValidationException(CustomMessages.VALIDATION_CANNOT_DELETE_ASSIGNED_VEHICLE);
         }
 
         vehicleRepository.delete(vehicle);
+        entityCounterService.increment(EntityCounterService.vehicles(vehicle.getActive()), -1);
+        cacheGenerations.bump(RedisConfig.CACHE_VEHICLES);
+        vehicleCatalogIndex.vehicleRemoved(id);
+        auditLog.record(AuditAction.DELETE, AuditLog.ENTITY_VEHICLE, id,
+                Map.of("registrationNumber", vehicle.getRegistrationNumber()));
+    }
+
+    /**
+     * Loads a vehicle to be written, rejecting the write when {@code ifMatch}
+     * names a representation other than the current one. The version check
+     * at flush catches anything that commits after this comparison.
+     */
+    private Vehicle findForWrite(Long id, String ifMatch) {
+        Vehicle vehicle = vehicleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND));
+        if (ifMatch != null) {
+            String current = vehicleRepository.findVersionStampById(id)
+                    .map(stamp -> EntityTag.of(vehicle.getVersion(), stamp))
+                    .orElseThrow(() -> new ResourceNotFoundException(CustomMessages.VALIDATION_VEHICLE_NOT_FOUND));
+            if (!EntityTag.matches(ifMatch, current)) {
+                throw new PreconditionFailedException(
+                        String.format(CustomMessages.PRECONDITION_FAILED, CustomMessages.RESOURCE_VEHICLE, id));
+            }
+        }
+        return vehicle;
+    }
+
+    /**
+     * Native conditions for the same filters the list endpoints apply, binding
+     * their parameters into {@code params}. Search ignores the active filter,
+     * as it does there.
+     */
+    private static List<String> fieldsetConditions(Boolean activeOnly, String search, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (search != null && !search.isBlank()) {
+            conditions.add(VehicleRepository.SEARCH_WHERE);
+            params.addValue("search", search);
+        } else if (activeOnly != null && activeOnly) {
+            conditions.add("v.active = true");
+        }
+        return conditions;
+    }
+
+    /**
+     * Fills in each row's current driver when it was asked for, with one
+     * summary-only lookup for the page; otherwise the assignments are not
+     * read at all.
+     */
+    private List<Map<String, Object>> withCurrentDrivers(Fieldset fields, List<Map<String, Object>> rows) {
+        if (fields.includes(CURRENT_DRIVER) && !rows.isEmpty()) {
+            Map<Long, DriverSummaryResponse> currentDrivers = new HashMap<>();
+            for (CurrentDriver driver : assignmentRepository.findCurrentDriversByVehicleIds(FieldsetReader.ids(rows))) {
+                currentDrivers.put(driver.getVehicleId(), DriverSummaryResponse.builder()
+                        .id(driver.getId())
+                        .firstName(driver.getFirstName())
+                        .lastName(driver.getLastName())
+                        .licenseNumber(driver.getLicenseNumber())
+                        .build());
+            }
+            rows.forEach(row -> row.put(CURRENT_DRIVER,
+                    currentDrivers.get(((Number) row.get(Fieldset.ID)).longValue())));
+        }
+        return List.copyOf(rows);
     }
 
     private VehicleResponse toVehicleResponse(Vehicle vehicle) {
-        VehicleAssignment activeAssignment = assignmentRepository
-                .findByVehicleIdAndIsActiveTrue(vehicle.getId())
-                .orElse(null);
-
-        DriverSummaryResponse currentDriver = null;
-        if (activeAssignment != null && activeAssignment.getDriver() != null) {
-            var driver = activeAssignment.getDriver();
-            currentDriver = DriverSummaryResponse.builder()
+        return toVehicleResponses(List.of(vehicle)).getFirst();
+    }
+
+    /**
+     * Maps a page of vehicles, resolving every current driver with one batched
+     * lookup instead of one query per vehicle.
+     */
+    private List<VehicleResponse> toVehicleResponses(List<Vehicle> vehicles) {
+        if (vehicles.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> vehicleIds = vehicles.stream()
+                .map(Vehicle::getId)
+                .toList();
+
+        Map<Long, DriverSummaryResponse> currentDrivers = new HashMap<>();
+        for (VehicleAssignment assignment : assignmentRepository.findActiveWithDriverByVehicleIds(vehicleIds)) {
+            var driver = assignment.getDriver();
+            currentDrivers.put(assignment.getVehicle().getId(), DriverSummaryResponse.builder()
                     .id(driver.getId())
                     .firstName(driver.getFirstName())
                     .lastName(driver.getLastName())
                     .licenseNumber(driver.getLicenseNumber())
-                    .build();
+                    .build());
         }
 
+        return vehicles.stream()
+                .map(vehicle -> toVehicleResponse(vehicle, currentDrivers.get(vehicle.getId())))
+                .toList();
+    }
+
+    private VehicleResponse toVehicleResponse(Vehicle vehicle, DriverSummaryResponse currentDriver) {
         return VehicleResponse.builder()
                 .id(vehicle.getId())
                 .registrationNumber(vehicle.getRegistrationNumber())
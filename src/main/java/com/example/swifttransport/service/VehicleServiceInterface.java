@@ -1,11 +1,18 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.catalog.VehicleFacetQuery;
 import com.example.swifttransport.dto.request.CreateVehicleRequest;
 import com.example.swifttransport.dto.request.UpdateVehicleRequest;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.VehicleFacetResponse;
 import com.example.swifttransport.dto.response.VehicleListResponse;
 import com.example.swifttransport.dto.response.VehicleResponse;
+import com.example.swifttransport.enums.CountMode;
+import com.example.swifttransport.util.Fieldset;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Map;
+
 public interface VehicleServiceInterface {
 
     /**
@@ -22,9 +29,66 @@ public interface VehicleServiceInterface {
      * @param pageable   Pagination information.
      * @param activeOnly If true, only active vehicles are returned.
      * @param search     Optional search term to filter vehicles by make or model.
+     * @param countMode  How totals are computed for searches; other lists read maintained counters.
      * @return A paginated list of vehicles.
      */
-    VehicleListResponse getVehicles (Pageable pageable, Boolean activeOnly, String search);
+    VehicleListResponse getVehicles (Pageable pageable, Boolean activeOnly, String search, CountMode countMode);
+
+    /**
+     * Retrieves the page of vehicles that follows a cursor, ordered by ID. No total count is computed.
+     *
+     * @param after      Opaque cursor from a previous page's {@code nextCursor}; empty for the first page.
+     * @param size       Maximum number of vehicles to return.
+     * @param activeOnly If true, only active vehicles are returned.
+     * @param search     Optional search term to filter vehicles by make or model.
+     * @return A page of vehicles with the cursor of the next page.
+     */
+    VehicleListResponse getVehiclesAfter(String after, int size, Boolean activeOnly, String search);
+
+    /**
+     * Retrieves an offset page of vehicles with only the requested fields,
+     * applying the same filters and totals as {@link #getVehicles}.
+     *
+     * @param fields The fields to select; the current driver is looked up only if included.
+     * @param pageable The page number and size.
+     * @param activeOnly Whether only active vehicles are listed.
+     * @param search Optional search term.
+     * @param countMode How totals of a search are computed.
+     * @return Rows holding the requested fields, with paging details.
+     */
+    FieldsetListResponse getVehicleFields(Fieldset fields, Pageable pageable, Boolean activeOnly, String search,
+                                          CountMode countMode);
+
+    /**
+     * Retrieves the page of vehicles after a cursor with only the requested fields.
+     *
+     * @param fields The fields to select.
+     * @param after The cursor returned with the previous page.
+     * @param size The maximum number of vehicles to return.
+     * @param activeOnly Whether only active vehicles are listed.
+     * @param search Optional search term.
+     * @return Rows holding the requested fields and the cursor of the next page, if any.
+     */
+    FieldsetListResponse getVehicleFieldsAfter(Fieldset fields, String after, int size, Boolean activeOnly,
+                                               String search);
+
+    /**
+     * Retrieves only the requested fields of a vehicle.
+     *
+     * @param fields The fields to select.
+     * @param id The ID of the vehicle.
+     * @return The requested fields by name.
+     */
+    Map<String, Object> getVehicleFieldsById(Fieldset fields, Long id);
+
+    /**
+     * Searches the in-memory vehicle catalog and counts matches per make, model
+     * and year.
+     *
+     * @param query The facet filters and the maximum number of ids to return.
+     * @return The matching vehicle ids and the facet counts.
+     */
+    VehicleFacetResponse getVehicleFacets(VehicleFacetQuery query);
 
     /**
      * Retrieves a vehicle by its ID.
@@ -34,19 +98,36 @@ public interface VehicleServiceInterface {
      */
     VehicleResponse getVehicleById(Long id);
 
+    /**
+     * Returns the strong ETag of a vehicle's current representation without loading it.
+     *
+     * @param id The ID of the vehicle.
+     * @return The quoted entity tag.
+     */
+    String getVehicleTag(Long id);
+
+    /**
+     * Returns the weak ETag shared by every vehicle list, or null if none can be given yet.
+     *
+     * @return The weak entity tag, or null.
+     */
+    String getVehiclesTag();
+
     /**
      * Updates the details of an existing vehicle.
      *
      * @param id      The ID of the vehicle to update.
      * @param request The request containing updated vehicle details.
+     * @param ifMatch Optional If-Match header; the update is rejected unless it names the current ETag.
      * @return The updated vehicle details.
      */
-    VehicleResponse updateVehicle(Long id, UpdateVehicleRequest request);
+    VehicleResponse updateVehicle(Long id, UpdateVehicleRequest request, String ifMatch);
 
     /**
      * Deletes a vehicle from the system by its ID.
      *
-     * @param id The ID of the account to delete.
+     * @param id      The ID of the account to delete.
+     * @param ifMatch Optional If-Match header; the delete is rejected unless it names the current ETag.
      */
-    void deleteVehicle(Long id);
+    void deleteVehicle(Long id, String ifMatch);
 }
@@ -8,9 +8,15 @@ public class CustomMessages {
     public static final String LOG_BUSINESS_VALIDATION_FAILED = "Business validation failed: {}";
     public static final String LOG_ACCESS_DENIED = "Access denied: {}";
     public static final String LOG_UNEXPECTED_ERROR = "Unexpected error occurred";
+    public static final String LOG_DATABASE_BUSY = "Database bulkhead full, rejected {}";
+    public static final String DATABASE_BUSY = "The service is busy, please retry shortly";
+    public static final String LOG_PRECONDITION_FAILED = "Precondition failed: {}";
+    public static final String LOG_CONCURRENT_MODIFICATION = "Concurrent modification: {}";
+    public static final String CONCURRENT_MODIFICATION = "The resource was modified by another request, please reload and retry";
 
     // Rate limiting
     public static final String LOG_RATE_LIMIT_EXCEEDED = "Rate limit exceeded for IP {} on {}";
+    public static final String LOG_API_RATE_LIMIT_EXCEEDED = "API rate limit exceeded for {} on {} endpoints";
 
     // Logger messages for JWT
     public static final String LOG_JWT_TOKEN_EXPIRED = "JWT token is expired: {}";
@@ -50,6 +56,41 @@ public class CustomMessages {
     public static final String VALIDATION_LICENSE_ALREADY_EXISTS = "A driver with this license number already exists";
     public static final String VALIDATION_CANNOT_DELETE_ASSIGNED_DRIVER = "Cannot delete driver with active vehicle assignment. Please unassign vehicle first.";
 
+    // Validation messages for cursor pagination
+    public static final String VALIDATION_INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String VALIDATION_PAGE_SIZE = "Page size must be at least 1";
+    public static final String VALIDATION_INVALID_COUNT_MODE = "countMode must be one of exact, estimate, none";
+    public static final String VALIDATION_FACET_LIMIT = "limit must be between 1 and 1000";
+
+    // Validation messages for sparse fieldsets
+    public static final String VALIDATION_UNKNOWN_FIELD = "Unknown field '%s'; fields must be among %s";
+    public static final String VALIDATION_EMPTY_FIELDSET = "fields must name at least one field";
+
+    // Validation messages for bulk imports
+    public static final String VALIDATION_IMPORT_CONTENT_TYPE = "Import body must be text/csv or application/x-ndjson";
+    public static final String VALIDATION_IMPORT_MISSING_HEADER = "CSV import must start with a header row";
+    public static final String VALIDATION_IMPORT_COLUMN_COUNT = "Row has %d columns, header has %d";
+    public static final String VALIDATION_IMPORT_UNTERMINATED_QUOTE = "Unterminated quoted field";
+    public static final String VALIDATION_IMPORT_RECORD_TOO_LONG = "Record is longer than %d characters";
+    public static final String VALIDATION_IMPORT_NOT_AN_OBJECT = "Line is not a JSON object";
+    public static final String VALIDATION_IMPORT_DUPLICATE_IN_FILE = "Duplicate of an earlier row in this import";
+    public static final String VALIDATION_IMPORT_CHUNK_FAILED = "Chunk could not be written: %s";
+
+    // Validation messages for bulk assignments
+    public static final String VALIDATION_BULK_ASSIGNMENTS_SIZE = "A batch must contain between 1 and 500 assignments";
+    public static final String VALIDATION_BULK_DRIVER_IDS_SIZE = "A batch must contain between 1 and 500 driver ids";
+
+    // Validation messages for exports
+    public static final String VALIDATION_INVALID_EXPORT_FORMAT = "format must be one of ndjson, csv";
+
+    // Validation messages for audit log queries
+    public static final String VALIDATION_AUDIT_ENTITY_ID_WITHOUT_TYPE = "entityId requires entityType";
+    public static final String VALIDATION_AUDIT_TIME_RANGE = "from must be before to";
+    public static final String VALIDATION_AUDIT_PAGE_SIZE = "size must be between 1 and 500";
+
+    // Conditional requests
+    public static final String PRECONDITION_FAILED = "%s %d has changed since it was read; If-Match no longer matches";
+
     // Resource names for ResourceNotFoundException
     public static final String RESOURCE_DRIVER = "Driver";
     public static final String RESOURCE_VEHICLE = "Vehicle";
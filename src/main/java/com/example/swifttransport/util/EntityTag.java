@@ -0,0 +1,62 @@
+package com.example.swifttransport.util;
+
+import com.example.swifttransport.repository.VersionStamp;
+
+/**
+ * HTTP entity tags built from versions the database already tracks, so a
+ * tag can be computed and compared without loading or mapping the resource.
+ *
+ * <p>By-id resources get strong tags from their {@link VersionStamp}. Lists
+ * get weak tags from the cache generation of their namespace, which every
+ * write that can change a page of the list already bumps.
+ */
+public final class EntityTag {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private EntityTag() {
+    }
+
+    public static String of(VersionStamp stamp) {
+        return of(stamp.getVersion(), stamp);
+    }
+
+    /**
+     * Tag for an entity whose version was read separately, e.g. from the
+     * managed instance about to be written.
+     */
+    public static String of(Long version, VersionStamp stamp) {
+        return "\"" + valueOf(version) + "." + valueOf(stamp.getAssignmentId())
+            + "." + valueOf(stamp.getCounterpartVersion()) + "\"";
+    }
+
+    /**
+     * Weak tag for a list namespace, or null while the namespace has no
+     * generation yet; generation 0 recurs whenever an idle counter expires,
+     * so it can't tell two states of the list apart.
+     */
+    public static String forList(String namespace, long generation) {
+        return generation > 0 ? WEAK_PREFIX + "\"" + namespace + "-" + generation + "\"" : null;
+    }
+
+    /**
+     * Strong comparison of an {@code If-Match} header against the current
+     * tag; a missing header always matches and weak tags never do.
+     */
+    public static boolean matches(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.swifttransport.util;
+
+import com.example.swifttransport.exception.BusinessValidationException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_EMPTY_FIELDSET;
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_UNKNOWN_FIELD;
+
+/**
+ * The fields a client asked for with {@code fields=}, a comma-separated list
+ * of response property names. The id is always part of the set, since
+ * cursors and relations are keyed by it, and names keep the order of the
+ * resource's own field list rather than the order they were asked in.
+ */
+public record Fieldset(Set<String> names) {
+
+    public static final String ID = "id";
+
+    public static Fieldset parse(String parameter, List<String> allowed) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String name : parameter.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new BusinessValidationException(
+                    String.format(VALIDATION_UNKNOWN_FIELD, trimmed, String.join(", ", allowed)));
+            }
+            requested.add(trimmed);
+        }
+        if (requested.isEmpty()) {
+            throw new BusinessValidationException(VALIDATION_EMPTY_FIELDSET);
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : allowed) {
+            if (name.equals(ID) || requested.contains(name)) {
+                names.add(name);
+            }
+        }
+        return new Fieldset(Collections.unmodifiableSet(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.swifttransport.util;
+
+import com.example.swifttransport.enums.ImportFormat;
+import com.example.swifttransport.exception.BusinessValidationException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.swifttransport.util.CustomMessages.*;
+
+/**
+ * Reads an import body one record at a time, so memory use does not depend
+ * on the size of the upload.
+ *
+ * <p>CSV bodies start with a header row naming the fields; quoted fields may
+ * contain commas, doubled quotes and line breaks. NDJSON bodies hold one JSON
+ * object per line. Either way a record is a map of field name to raw text,
+ * with empty values mapped to {@code null}. A record that cannot be parsed, or
+ * runs past {@code maxRecordLength} characters, is returned with an error
+ * instead of failing the whole import; the length limit keeps an unterminated
+ * quote from pulling the rest of the upload into one record.
+ */
+public final class ImportRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final JsonMapper jsonMapper;
+    private final int maxRecordLength;
+    private final List<String> header;
+    private String pushedBack;
+    private long lineNumber;
+
+    public record ImportRecord(long line, Map<String, String> fields, String error) {
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    public ImportRecordReader(InputStream input, ImportFormat format, JsonMapper jsonMapper, int maxRecordLength)
+            throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.jsonMapper = jsonMapper;
+        this.maxRecordLength = maxRecordLength;
+        this.header = format == ImportFormat.CSV ? readHeader() : List.of();
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of the input.
+     */
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (line.length() > maxRecordLength) {
+            return tooLong(lineNumber);
+        }
+        return format == ImportFormat.CSV ? csvRecord(line) : jsonRecord(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readHeader() throws IOException {
+        String line = readLine();
+        if (line == null || line.isBlank()) {
+            throw new BusinessValidationException(VALIDATION_IMPORT_MISSING_HEADER);
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : parseCsv(line.startsWith("\uFEFF") ? line.substring(1) : line)) {
+            columns.add(column == null ? "" : column.trim());
+        }
+        return List.copyOf(columns);
+    }
+
+    private ImportRecord csvRecord(String firstLine) throws IOException {
+        long start = lineNumber;
+        StringBuilder text = new StringBuilder(firstLine);
+        boolean quoted = endsQuoted(firstLine, false);
+        while (quoted) {
+            String continuation = readLine();
+            if (continuation == null) {
+                return new ImportRecord(start, Map.of(), VALIDATION_IMPORT_UNTERMINATED_QUOTE);
+            }
+            if (text.length() + 1 + continuation.length() > maxRecordLength) {
+                // The overflowing line starts the next record, as if the quote had been closed before it
+                pushBack(continuation);
+                return tooLong(start);
+            }
+            text.append('\n').append(continuation);
+            quoted = endsQuoted(continuation, true);
+        }
+
+        List<String> values = parseCsv(text);
+        if (values.size() != header.size()) {
+            return new ImportRecord(start, Map.of(),
+                    VALIDATION_IMPORT_COLUMN_COUNT.formatted(values.size(), header.size()));
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new ImportRecord(start, fields, null);
+    }
+
+    private ImportRecord jsonRecord(String line) {
+        JsonNode node;
+        try {
+            node = jsonMapper.readTree(line);
+        } catch (JacksonException ex) {
+            return new ImportRecord(lineNumber, Map.of(), ex.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return new ImportRecord(lineNumber, Map.of(), VALIDATION_IMPORT_NOT_AN_OBJECT);
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.properties().forEach(field -> {
+            JsonNode value = field.getValue();
+            fields.put(field.getKey(), value.isNull() || value.asString().isEmpty() ? null : value.asString());
+        });
+        return new ImportRecord(lineNumber, fields, null);
+    }
+
+    private String readLine() throws IOException {
+        String line = pushedBack != null ? pushedBack : reader.readLine();
+        pushedBack = null;
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    private void pushBack(String line) {
+        pushedBack = line;
+        lineNumber--;
+    }
+
+    private ImportRecord tooLong(long line) {
+        return new ImportRecord(line, Map.of(), VALIDATION_IMPORT_RECORD_TOO_LONG.formatted(maxRecordLength));
+    }
+
+    /**
+     * Returns whether a quoted field is still open at the end of {@code line},
+     * given whether one was open at its start. Each quote toggles the state, a
+     * doubled quote included, so only the new line is scanned.
+     */
+    private static boolean endsQuoted(String line, boolean quoted) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    private static List<String> parseCsv(CharSequence text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.isEmpty() ? null : value.toString());
+                value.setLength(0);
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+        values.add(value.isEmpty() ? null : value.toString());
+        return values;
+    }
+}
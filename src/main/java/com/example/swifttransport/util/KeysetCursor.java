@@ -0,0 +1,70 @@
+package com.example.swifttransport.util;
+
+import com.example.swifttransport.exception.BusinessValidationException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_INVALID_CURSOR;
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_PAGE_SIZE;
+
+/**
+ * Position in a keyset-paginated list: the sort key of the last row returned.
+ *
+ * <p>Lists sorted by id only leave {@code timestamp} null. The encoded form is
+ * opaque to clients; an empty token means "from the start".
+ */
+public record KeysetCursor(LocalDateTime timestamp, long id) {
+
+    /**
+     * Lower bound for timestamp-sorted lists, earlier than any stored row.
+     */
+    public static final LocalDateTime MIN_TIMESTAMP = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    public static KeysetCursor start() {
+        return new KeysetCursor(MIN_TIMESTAMP, 0L);
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(',');
+            if (separator < 0) {
+                return new KeysetCursor(MIN_TIMESTAMP, Long.parseLong(value));
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BusinessValidationException(VALIDATION_INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Limit for a page of {@code size} rows plus one look-ahead row, which
+     * tells whether another page follows without counting.
+     */
+    public static Limit limitFor(int size) {
+        if (size < 1) {
+            throw new BusinessValidationException(VALIDATION_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    public static String encode(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        return encode(timestamp + "," + id);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
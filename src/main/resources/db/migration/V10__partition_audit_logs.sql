@@ -0,0 +1,54 @@
+-- Rebuild audit_logs as a table range-partitioned by month, so retention
+-- drops whole partitions and time-bounded queries touch only the months
+-- they cover. The primary key has to include the partition key.
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT audit_logs_pkey TO audit_logs_unpartitioned_pkey;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+DROP INDEX idx_audit_logs_entity;
+DROP INDEX idx_audit_logs_timestamp;
+DROP INDEX idx_audit_logs_action;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    action VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id BIGINT,
+    user_id BIGINT,
+    username VARCHAR(100),
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    details JSONB,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Catches rows outside every monthly partition; normally stays empty because
+-- AuditPartitionMaintenance creates partitions ahead of time
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Monthly partitions from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT min(timestamp) FROM audit_logs_unpartitioned), LOCALTIMESTAMP));
+BEGIN
+    WHILE month <= date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_p' || to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, action, entity_type, entity_id, user_id, username, timestamp, details)
+SELECT id, action, entity_type, entity_id, user_id, username, COALESCE(timestamp, LOCALTIMESTAMP), details
+FROM audit_logs_unpartitioned;
+
+DROP TABLE audit_logs_unpartitioned;
+
+-- Rows arrive in time order, so a BRIN index stays tiny and never bloats
+-- the way the B-tree on timestamp did
+CREATE INDEX idx_audit_logs_timestamp_brin ON audit_logs USING BRIN (timestamp) WITH (pages_per_range = 32);
+
+-- Keyset lookups, newest first, by entity, user and action
+CREATE INDEX idx_audit_logs_entity ON audit_logs (entity_type, entity_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_logs_user ON audit_logs (user_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_logs_action ON audit_logs (action, timestamp DESC, id DESC);
@@ -0,0 +1,26 @@
+-- Closed assignments older than app.assignment-archive.min-age are moved
+-- here by AssignmentArchiver, keeping vehicle_assignments down to the active
+-- rows and recent history. Every archived row is inactive.
+CREATE TABLE vehicle_assignments_archive (
+    id BIGINT PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    assigned_at TIMESTAMP NOT NULL,
+    unassigned_at TIMESTAMP,
+    assigned_by BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (driver_id) REFERENCES drivers(id),
+    FOREIGN KEY (vehicle_id) REFERENCES vehicles(id),
+    FOREIGN KEY (assigned_by) REFERENCES users(id)
+);
+
+-- Same (assigned_at, id) orderings as the hot table (V5), so history pages
+-- over both tables merge two index scans
+CREATE INDEX idx_assignments_archive_assigned_at_id ON vehicle_assignments_archive(assigned_at, id);
+CREATE INDEX idx_assignments_archive_driver_assigned_at_id ON vehicle_assignments_archive(driver_id, assigned_at, id);
+CREATE INDEX idx_assignments_archive_vehicle_assigned_at_id ON vehicle_assignments_archive(vehicle_id, assigned_at, id);
+
+-- Finds the next rows to archive without touching active ones
+CREATE INDEX idx_assignments_closed_unassigned_at ON vehicle_assignments(unassigned_at, id) WHERE is_active = false;
+
+INSERT INTO entity_counters (name, count_value) VALUES ('assignments:archived', 0);
@@ -0,0 +1,5 @@
+-- Optimistic lock versions. Existing rows and rows inserted outside JPA
+-- (bulk imports, the single-statement assignment) start at 0.
+ALTER TABLE drivers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicle_assignments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Indexes backing keyset (cursor) pagination.
+-- Assignments are walked in (assigned_at, id) order, optionally per driver or vehicle;
+-- the composite indexes also cover the single-column driver/vehicle lookups.
+CREATE INDEX idx_assignments_assigned_at_id ON vehicle_assignments(assigned_at, id);
+CREATE INDEX idx_assignments_active_assigned_at_id ON vehicle_assignments(assigned_at, id) WHERE is_active = true;
+CREATE INDEX idx_assignments_driver_assigned_at_id ON vehicle_assignments(driver_id, assigned_at, id);
+CREATE INDEX idx_assignments_vehicle_assigned_at_id ON vehicle_assignments(vehicle_id, assigned_at, id);
+
+DROP INDEX idx_assignments_driver;
+DROP INDEX idx_assignments_vehicle;
+
+-- Drivers filtered by status are walked in id order
+CREATE INDEX idx_drivers_status_id ON drivers(status, id) WHERE deleted = false;
+DROP INDEX idx_drivers_status;
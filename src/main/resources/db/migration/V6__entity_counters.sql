@@ -0,0 +1,28 @@
+-- Row counts behind list totals, maintained by the services in the same
+-- transaction as the writes. Re-running the seed statements below recomputes
+-- them if they are ever suspected to have drifted.
+CREATE TABLE entity_counters (
+    name VARCHAR(100) PRIMARY KEY,
+    count_value BIGINT NOT NULL
+);
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'drivers:status:' || s.status, COUNT(d.id)
+FROM (VALUES ('ACTIVE'), ('SUSPENDED'), ('INACTIVE')) AS s(status)
+LEFT JOIN drivers d ON d.status = s.status AND d.deleted = false
+GROUP BY s.status;
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'drivers:total', COUNT(*) FROM drivers;
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'vehicles:active', COUNT(*) FROM vehicles WHERE active = true;
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'vehicles:inactive', COUNT(*) FROM vehicles WHERE active IS NOT TRUE;
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'assignments:total', COUNT(*) FROM vehicle_assignments;
+
+INSERT INTO entity_counters (name, count_value)
+SELECT 'assignments:active', COUNT(*) FROM vehicle_assignments WHERE is_active = true;
@@ -0,0 +1,11 @@
+-- Index-backed substring search for drivers.
+-- search_text holds the searchable fields lower-cased in one column; the
+-- trigram GIN index lets LIKE '%term%' and word_similarity() use an index
+-- instead of scanning the table.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE drivers ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+    LOWER(first_name || ' ' || last_name || ' ' || phone_number || ' ' || license_number)
+) STORED;
+
+CREATE INDEX idx_drivers_search_trgm ON drivers USING GIN (search_text gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Driver and vehicle ids come from pooled sequences (allocationSize = 50):
+-- Hibernate reserves 50 ids per nextval, so inserts no longer need the
+-- generated key back and can be sent as JDBC batches. The column defaults
+-- stay in place, so plain SQL inserts still work.
+ALTER SEQUENCE drivers_id_seq INCREMENT BY 50;
+ALTER SEQUENCE vehicles_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Assignment ids come from a pooled sequence, like drivers and vehicles (V8),
+-- so bulk assignments are inserted as JDBC batches.
+ALTER SEQUENCE vehicle_assignments_id_seq INCREMENT BY 50;
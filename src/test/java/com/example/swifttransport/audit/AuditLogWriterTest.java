@@ -0,0 +1,135 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.config.AuditConfig;
+import com.example.swifttransport.dto.response.AuditWriterStatsResponse;
+import com.example.swifttransport.enums.AuditAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditConfig auditConfig;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        auditConfig = new AuditConfig();
+        auditConfig.setQueueCapacity(3);
+        auditConfig.setBatchSize(2);
+        auditConfig.setFlushInterval(Duration.ofHours(1));
+        writer = new AuditLogWriter(jdbcTemplate, auditConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void offer_DropsEventsOnceTheQueueIsFull() {
+        writer.open();
+
+        assertThat(writer.offer(event(1L))).isTrue();
+        assertThat(writer.offer(event(2L))).isTrue();
+        assertThat(writer.offer(event(3L))).isTrue();
+        assertThat(writer.offer(event(4L))).isFalse();
+
+        AuditWriterStatsResponse stats = writer.stats();
+        assertThat(stats.queueDepth()).isEqualTo(3);
+        assertThat(stats.enqueued()).isEqualTo(3);
+        assertThat(stats.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_WritesQueuedEventsInBatches() {
+        writer.open();
+        writer.offer(event(1L));
+        writer.offer(event(2L));
+        writer.offer(event(3L));
+
+        assertThat(writer.flush()).isEqualTo(3);
+
+        verify(jdbcTemplate).batchUpdate(eq(AuditLogWriter.INSERT_SQL), argThat(batchOf(2)), eq(2), setter());
+        verify(jdbcTemplate).batchUpdate(eq(AuditLogWriter.INSERT_SQL), argThat(batchOf(1)), eq(1), setter());
+        assertThat(writer.stats().written()).isEqualTo(3);
+        assertThat(writer.stats().batches()).isEqualTo(2);
+        assertThat(writer.stats().queueDepth()).isZero();
+    }
+
+    @Test
+    void flush_CountsFailedBatchesWithoutRetrying() {
+        when(jdbcTemplate.batchUpdate(any(String.class), anyCollection(), anyInt(), setter()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        writer.open();
+        writer.offer(event(1L));
+
+        assertThat(writer.flush()).isZero();
+        assertThat(writer.flush()).isZero();
+
+        assertThat(writer.stats().failed()).isEqualTo(1);
+        verify(jdbcTemplate, times(1)).batchUpdate(any(String.class), anyCollection(), anyInt(), setter());
+    }
+
+    @Test
+    void stop_DrainsTheQueueAndRejectsLaterEvents() {
+        writer.start();
+        auditConfig.setBatchSize(10);
+        writer.offer(event(1L));
+        writer.offer(event(2L));
+
+        writer.stop();
+
+        verify(jdbcTemplate).batchUpdate(eq(AuditLogWriter.INSERT_SQL), argThat(batchOf(2)), anyInt(), setter());
+        assertThat(writer.isRunning()).isFalse();
+        assertThat(writer.offer(event(3L))).isFalse();
+        assertThat(writer.stats().dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_BeforeStartIsDropped() {
+        assertThat(writer.offer(event(1L))).isFalse();
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyCollection(), anyInt(), setter());
+    }
+
+    private static AuditEvent event(Long entityId) {
+        return new AuditEvent(AuditAction.CREATE, AuditLog.ENTITY_DRIVER, entityId, 1L, "admin@swift.com",
+                LocalDateTime.now(), Map.of("licenseNumber", "DL-" + entityId));
+    }
+
+    private static ArgumentMatcher<Collection<AuditEvent>> batchOf(int size) {
+        return batch -> batch != null && batch.size() == size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ParameterizedPreparedStatementSetter<AuditEvent> setter() {
+        return any(ParameterizedPreparedStatementSetter.class);
+    }
+}
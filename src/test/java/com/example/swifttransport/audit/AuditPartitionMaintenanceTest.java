@@ -0,0 +1,77 @@
+package com.example.swifttransport.audit;
+
+import com.example.swifttransport.config.AuditConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        AuditConfig auditConfig = new AuditConfig();
+        auditConfig.setRetentionMonths(3);
+        auditConfig.setPartitionsAhead(1);
+        maintenance = new AuditPartitionMaintenance(jdbcTemplate, transactionManager, auditConfig);
+    }
+
+    @Test
+    void maintain_CreatesUpcomingMonthsAndDropsExpiredOnes() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "audit_logs_default", "audit_logs_p202606", "audit_logs_p202607", "audit_logs_p202608",
+                "audit_logs_p202609", "audit_logs_p202610", "audit_logs_p202611"));
+
+        maintenance.maintain(LocalDate.of(2026, 10, 17));
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_logs_p202610 PARTITION OF audit_logs "
+                + "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS audit_logs_p202611 PARTITION OF audit_logs "
+                + "FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')");
+        verify(jdbcTemplate).execute("DROP TABLE audit_logs_p202606");
+        verify(jdbcTemplate).execute("DROP TABLE audit_logs_p202607");
+        verify(jdbcTemplate, never()).execute("DROP TABLE audit_logs_p202608");
+        verify(jdbcTemplate, never()).execute("DROP TABLE audit_logs_default");
+    }
+
+    @Test
+    void maintain_SkipsWhenAnotherNodeHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        maintenance.maintain(LocalDate.of(2026, 10, 17));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void expiredPartitions_IgnoresUnknownNames() {
+        assertThat(AuditPartitionMaintenance.expiredPartitions(
+                List.of("audit_logs_p2026xx", "audit_logs_p202501", "other"), YearMonth.of(2026, 1)))
+                .containsExactly("audit_logs_p202501");
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.CacheGenerationConfig;
+import com.example.swifttransport.config.LocalCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheGenerationsTest {
+
+    private static final String CHANNEL = "cache:invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheGenerations cacheGenerations;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        CacheGenerationConfig generationConfig = new CacheGenerationConfig();
+        generationConfig.setKeyTtl(Duration.ofDays(1));
+        generationConfig.setLocalTtl(Duration.ofMinutes(1));
+        LocalCacheConfig localCacheConfig = new LocalCacheConfig();
+        localCacheConfig.setInvalidationChannel(CHANNEL);
+
+        cacheGenerations = new CacheGenerations(redisTemplate, generationConfig, localCacheConfig);
+    }
+
+    @Test
+    void current_DefaultsToZeroAndIsReadOnce() {
+        when(valueOperations.get("cache-generation:drivers")).thenReturn(null);
+
+        assertThat(cacheGenerations.current("drivers")).isZero();
+        assertThat(cacheGenerations.current("drivers")).isZero();
+
+        verify(valueOperations, times(1)).get("cache-generation:drivers");
+    }
+
+    @Test
+    void bump_IncrementsAndBroadcastsWithoutTransaction() {
+        when(valueOperations.increment("cache-generation:drivers")).thenReturn(4L);
+
+        cacheGenerations.bump("drivers");
+
+        assertThat(cacheGenerations.current("drivers")).isEqualTo(4L);
+        verify(valueOperations).setIfAbsent(eq("cache-generation:drivers"), anyString());
+        verify(redisTemplate).expire("cache-generation:drivers", Duration.ofDays(1));
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void bump_IsDeferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheGenerations.bump("vehicles");
+            verify(valueOperations, never()).increment(anyString());
+
+            when(valueOperations.increment("cache-generation:vehicles")).thenReturn(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+
+            verify(valueOperations).increment("cache-generation:vehicles");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onMessage_FromOtherNodeForcesReload() {
+        when(valueOperations.get("cache-generation:vehicles")).thenReturn("2", "3");
+        assertThat(cacheGenerations.current("vehicles")).isEqualTo(2L);
+
+        CacheInvalidationMessage message =
+                new CacheInvalidationMessage("other-node", CacheGenerations.CHANNEL_CACHE_NAME, "vehicles");
+        cacheGenerations.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                message.encode().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cacheGenerations.current("vehicles")).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.CacheValueFormat;
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.dto.response.AssignmentListResponse;
+import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.dto.response.DriverListResponse;
+import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.DriverSummaryResponse;
+import com.example.swifttransport.dto.response.VehicleListResponse;
+import com.example.swifttransport.dto.response.VehicleResponse;
+import com.example.swifttransport.dto.response.VehicleSummaryResponse;
+import com.example.swifttransport.enums.DriverStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBinarySerializerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 4, 10, 15, 30, 123_456_789);
+
+    private final ResponseBinarySerializer serializer = new ResponseBinarySerializer();
+
+    @Test
+    void roundTrip_DriverListResponse() {
+        DriverListResponse list = driverPage(20);
+
+        assertThat(serializer.deserialize(serializer.serialize(list))).isEqualTo(list);
+    }
+
+    @Test
+    void roundTrip_VehicleListResponse() {
+        VehicleListResponse list = VehicleListResponse.builder()
+                .content(List.of(
+                        vehicle(1L, new DriverSummaryResponse(3L, "Kwame", "Mensah", "DL001234567")),
+                        vehicle(2L, null)))
+                .page(0)
+                .size(20)
+                .totalElements(2L)
+                .totalPages(1)
+                .last(true)
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(list))).isEqualTo(list);
+    }
+
+    @Test
+    void roundTrip_CursorAssignmentListResponseWithNulls() {
+        AssignmentListResponse list = AssignmentListResponse.builder()
+                .content(List.of(
+                        assignment(1L),
+                        AssignmentResponse.builder().id(2L).build()))
+                .size(2)
+                .last(false)
+                .nextCursor("MjAyNi0wMi0wNFQxMDoxNTozMCwy")
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(list))).isEqualTo(list);
+    }
+
+    @Test
+    void deserialize_ForeignOrOutdatedPayloadIsACacheMiss() {
+        byte[] bytes = serializer.serialize(driver(1L));
+
+        byte[] outdated = bytes.clone();
+        outdated[1] = (byte) (ResponseBinarySerializer.SCHEMA_VERSION + 1);
+
+        assertThat(serializer.deserialize(outdated)).isNull();
+        assertThat(serializer.deserialize("{\"@class\":\"x\"}".getBytes())).isNull();
+    }
+
+    @Test
+    void binaryPayloadIsLessThanHalfTheSizeOfJson() {
+        DriverListResponse page = driverPage(100);
+
+        byte[] binaryBytes = serializer.serialize(page);
+        byte[] jsonBytes = RedisConfig.valueSerializer(CacheValueFormat.JSON).serialize(page);
+
+        assertThat(binaryBytes.length).isLessThan(jsonBytes.length / 2);
+    }
+
+    static DriverListResponse driverPage(int size) {
+        List<DriverResponse> content = new ArrayList<>();
+        IntStream.range(0, size).forEach(i -> content.add(driver((long) i)));
+        return DriverListResponse.builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(1_000L)
+                .totalPages(1_000 / size)
+                .last(false)
+                .build();
+    }
+
+    private static DriverResponse driver(Long id) {
+        return DriverResponse.builder()
+                .id(id)
+                .firstName("Kwame")
+                .lastName("Mensah")
+                .phoneNumber("+233244111111")
+                .licenseNumber("DL00" + id)
+                .status(DriverStatus.ACTIVE)
+                .currentVehicle(id % 2 == 0 ? new VehicleSummaryResponse(id, "GH-1234-20") : null)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    private static VehicleResponse vehicle(Long id, DriverSummaryResponse currentDriver) {
+        return VehicleResponse.builder()
+                .id(id)
+                .registrationNumber("GH-" + id)
+                .make("Toyota")
+                .model("Hiace")
+                .year(2020)
+                .active(true)
+                .currentDriver(currentDriver)
+                .createdAt(NOW)
+                .build();
+    }
+
+    private static AssignmentResponse assignment(Long id) {
+        return AssignmentResponse.builder()
+                .id(id)
+                .driver(new DriverSummaryResponse(1L, "Akua", "Osei", "DL002345678"))
+                .vehicle(new VehicleSummaryResponse(2L, "GH-5678-21"))
+                .assignedAt(NOW)
+                .assignedBy("ops@swift.com")
+                .isActive(false)
+                .unassignedAt(NOW.plusHours(8))
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.config.ResponseCacheConfig;
+import com.example.swifttransport.dto.response.VehicleResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+
+    private static final String ETAG = "\"3.0.0\"";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ResponseCacheConfig config;
+    private ResponseBodyCache responseBodyCache;
+
+    @BeforeEach
+    void setUp() {
+        config = new ResponseCacheConfig();
+        config.setGzipMinSize(64);
+        responseBodyCache = new ResponseBodyCache(new ConcurrentMapCacheManager(RedisConfig.CACHE_RESPONSES),
+                JsonMapper.builder().build(), config);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "ops@swift.com", null, List.of(new SimpleGrantedAuthority("ROLE_OPERATIONS"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void respond_SerializesOnceAndServesLaterRequestsFromBytes() throws IOException {
+        MockHttpServletResponse first = get(request(), vehicle("Hiace"));
+        MockHttpServletResponse second = get(request(), vehicle("changed without a new tag"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(first.getContentAsString()).contains("\"model\":\"Hiace\"");
+    }
+
+    @Test
+    void respond_SendsTheGzippedCopyToClientsThatAcceptIt() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+
+        MockHttpServletResponse gzipped = get(request, vehicle("Hiace"));
+        MockHttpServletResponse plain = get(request(), vehicle("Hiace"));
+
+        assertThat(gzipped.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzipped.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain.getContentAsString());
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void respond_AnswersAMatchingIfNoneMatchWithoutLoadingTheBody() {
+        MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<VehicleResponse> result =
+                responseBodyCache.respond(new ServletWebRequest(request, response), ETAG, vehicle("Hiace"));
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void key_IgnoresParameterOrderButNotRoleOrTag() {
+        MockHttpServletRequest request = request();
+        request.setParameter("size", "20");
+        request.setParameter("page", "1");
+        MockHttpServletRequest reordered = request();
+        reordered.setParameter("page", "1");
+        reordered.setParameter("size", "20");
+
+        String key = ResponseBodyCache.key(request, ETAG);
+        assertThat(ResponseBodyCache.key(reordered, ETAG)).isEqualTo(key);
+        assertThat(ResponseBodyCache.key(reordered, "\"4.0.0\"")).isNotEqualTo(key);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@swift.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertThat(ResponseBodyCache.key(reordered, ETAG)).isNotEqualTo(key);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request, Supplier<VehicleResponse> body) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<VehicleResponse> result =
+                responseBodyCache.respond(new ServletWebRequest(request, response), ETAG, body);
+        assertThat(result).isNull();
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/vehicles/7");
+    }
+
+    private Supplier<VehicleResponse> vehicle(String model) {
+        return () -> {
+            loads.incrementAndGet();
+            return VehicleResponse.builder()
+                    .id(7L)
+                    .registrationNumber("GH-1001-20")
+                    .make("Toyota")
+                    .model(model)
+                    .year(2020)
+                    .active(true)
+                    .build();
+        };
+    }
+}
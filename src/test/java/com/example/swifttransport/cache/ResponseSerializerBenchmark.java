@@ -0,0 +1,91 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.CacheValueFormat;
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.dto.response.DriverListResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the binary response encoding with the typed JSON the other caches
+ * use: payload size and encode/decode time of a 100-driver page.
+ *
+ * <p>Tagged {@code benchmark}, which the default build excludes; run it with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ResponseSerializerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseSerializerBenchmark.class);
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int OPERATIONS_PER_ROUND = 2_000;
+
+    private final DriverListResponse page = ResponseBinarySerializerTest.driverPage(100);
+
+    private long sink;
+
+    @Test
+    void encodeAndDecode() {
+        Result json = measure("json", RedisConfig.valueSerializer(CacheValueFormat.JSON));
+        Result binary = measure("binary", RedisConfig.valueSerializer(CacheValueFormat.BINARY));
+
+        log.info("{}", Result.HEADER);
+        log.info("{}", json);
+        log.info("{}", binary);
+        assertThat(sink).isNotZero();
+    }
+
+    private Result measure(String format, RedisSerializer<Object> serializer) {
+        byte[] bytes = serializer.serialize(page);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(page);
+
+        long encode = nanosPerOperation(() -> serializer.serialize(page).length);
+        long decode = nanosPerOperation(() -> serializer.deserialize(bytes).hashCode());
+        return new Result(format, bytes.length, encode, decode);
+    }
+
+    /**
+     * Median over {@link #ROUNDS} timed rounds, after untimed warm-up rounds.
+     * Results feed {@link #sink} so the work cannot be optimized away.
+     */
+    private long nanosPerOperation(Supplier<Integer> operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(operation);
+        }
+        long[] rounds = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run(operation);
+            rounds[round] = (System.nanoTime() - start) / OPERATIONS_PER_ROUND;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private void run(Supplier<Integer> operation) {
+        for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+            sink += operation.get();
+        }
+    }
+
+    private record Result(String format, int bytes, long encodeNanos, long decodeNanos) {
+
+        static final String HEADER = String.format("%-7s %10s %14s %14s", "format", "bytes", "encode(ns/op)",
+                "decode(ns/op)");
+
+        @Override
+        public String toString() {
+            return String.format("%-7s %10d %14d %14d", format, bytes, encodeNanos, decodeNanos);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.swifttransport.cache;
+
+import com.example.swifttransport.config.LocalCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    private static final String CHANNEL = "cache:invalidation";
+
+    @Mock
+    private RedisCacheManager remoteCacheManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCache remoteCache;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = spy(new ConcurrentMapCache("driverById", false));
+        lenient().when(remoteCacheManager.getCacheNames()).thenReturn(List.of("driverById"));
+        lenient().when(remoteCacheManager.getCache("driverById")).thenReturn(remoteCache);
+
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setEnabled(true);
+        config.setInvalidationChannel(CHANNEL);
+        config.setDefaultMaxSize(100);
+        config.setDefaultTtl(Duration.ofMinutes(1));
+
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, config, redisTemplate);
+        cacheManager.afterPropertiesSet();
+    }
+
+    @Test
+    void get_ServesRepeatReadsFromLocalTier() {
+        remoteCache.put(1L, "driver-1");
+        Cache cache = cacheManager.getCache("driverById");
+
+        assertThat(cache.get(1L).get()).isEqualTo("driver-1");
+        assertThat(cache.get(1L).get()).isEqualTo("driver-1");
+
+        verify(remoteCache, times(1)).get(1L);
+    }
+
+    @Test
+    void evict_ClearsBothTiersAndBroadcasts() {
+        Cache cache = cacheManager.getCache("driverById");
+        cache.put(1L, "driver-1");
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isNull();
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), payload.capture());
+        CacheInvalidationMessage message = CacheInvalidationMessage.decode(payload.getValue());
+        assertThat(message.cacheName()).isEqualTo("driverById");
+        assertThat(message.key()).isEqualTo("1");
+    }
+
+    @Test
+    void onMessage_FromOtherNodeDropsLocalEntry() {
+        Cache cache = cacheManager.getCache("driverById");
+        cache.put(1L, "driver-1");
+        remoteCache.evict(1L);
+
+        cacheManager.onMessage(message(new CacheInvalidationMessage("other-node", "driverById", "1")), null);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void onMessage_ClearFromOtherNodeDropsAllLocalEntries() {
+        Cache cache = cacheManager.getCache("driverById");
+        cache.put(1L, "driver-1");
+        cache.put(2L, "driver-2");
+        remoteCache.clear();
+
+        cacheManager.onMessage(message(new CacheInvalidationMessage("other-node", "driverById", null)), null);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    private static DefaultMessage message(CacheInvalidationMessage message) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                message.encode().getBytes(StandardCharsets.UTF_8));
+    }
+}
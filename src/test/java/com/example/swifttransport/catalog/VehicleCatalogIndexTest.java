@@ -0,0 +1,176 @@
+package com.example.swifttransport.catalog;
+
+import com.example.swifttransport.cache.CacheInvalidationMessage;
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.example.swifttransport.dto.response.VehicleFacetResponse;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleCatalogIndexTest {
+
+    private static final String CHANNEL = "cache:invalidation";
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private VehicleCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheConfig localCacheConfig = new LocalCacheConfig();
+        localCacheConfig.setInvalidationChannel(CHANNEL);
+        index = new VehicleCatalogIndex(vehicleRepository, redisTemplate, localCacheConfig);
+
+        when(vehicleRepository.findAll()).thenReturn(List.of(
+                vehicle(1L, "GH-1001-20", "Toyota", "Hiace", 2020, true),
+                vehicle(2L, "GH-1002-21", "Toyota", "Corolla", 2021, true),
+                vehicle(3L, "GR-2001-19", "Nissan", "Urvan", 2019, true),
+                vehicle(4L, "GR-2002-20", "Toyota", "Hiace", 2020, false),
+                vehicle(5L, "AS-3001-22", null, null, null, true)));
+        index.load();
+    }
+
+    @Test
+    void search_WithoutFiltersMatchesEverything() {
+        VehicleFacetResponse response = index.search(query().build());
+
+        assertThat(response.ids()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(response.total()).isEqualTo(5);
+        assertThat(response.makes()).containsExactly(Map.entry("Toyota", 3L), Map.entry("Nissan", 1L));
+        assertThat(response.years()).containsExactly(Map.entry(2019, 1L), Map.entry(2020, 2L), Map.entry(2021, 1L));
+    }
+
+    @Test
+    void search_FacetCountsIgnoreTheirOwnFilter() {
+        VehicleFacetResponse response = index.search(query()
+                .makes(List.of("toyota"))
+                .active(true)
+                .build());
+
+        assertThat(response.ids()).containsExactly(1L, 2L);
+        assertThat(response.makes()).containsExactly(Map.entry("Toyota", 2L), Map.entry("Nissan", 1L));
+        assertThat(response.models()).containsExactly(Map.entry("Corolla", 1L), Map.entry("Hiace", 1L));
+        assertThat(response.years()).containsExactly(Map.entry(2020, 1L), Map.entry(2021, 1L));
+    }
+
+    @Test
+    void search_FiltersByYearRangeAndRegistration() {
+        VehicleFacetResponse response = index.search(query()
+                .yearFrom(2020)
+                .registration("gr-")
+                .build());
+
+        assertThat(response.ids()).containsExactly(4L);
+        assertThat(response.total()).isEqualTo(1);
+    }
+
+    @Test
+    void search_LimitsIdsButNotTotal() {
+        VehicleFacetResponse response = index.search(query().limit(2).build());
+
+        assertThat(response.ids()).containsExactly(1L, 2L);
+        assertThat(response.total()).isEqualTo(5);
+    }
+
+    @Test
+    void vehicleChanged_IsAppliedAfterCommitAndBroadcast() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.vehicleChanged(vehicle(3L, "GR-2001-19", "Nissan", "Urvan", 2019, false));
+            index.vehicleRemoved(1L);
+            assertThat(index.search(query().active(true).build()).ids()).containsExactly(1L, 2L, 3L, 5L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.search(query().active(true).build()).ids()).containsExactly(2L, 5L);
+        assertThat(index.size()).isEqualTo(4);
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_FromOtherNodeReloadsTheVehicle() {
+        when(vehicleRepository.findById(6L))
+                .thenReturn(Optional.of(vehicle(6L, "GH-6000-23", "Ford", "Transit", 2023, true)));
+
+        CacheInvalidationMessage message =
+                new CacheInvalidationMessage("other-node", VehicleCatalogIndex.CHANNEL_CACHE_NAME, "6");
+        index.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                message.encode().getBytes(StandardCharsets.UTF_8)), null);
+
+        VehicleFacetResponse response = index.search(query().makes(List.of("Ford")).build());
+        assertThat(response.ids()).containsExactly(6L);
+    }
+
+    @Test
+    void load_ReplaysChangesCommittedWhileTheSnapshotWasRead() {
+        when(vehicleRepository.findAll()).thenAnswer(invocation -> {
+            // Stand-ins for writes committed elsewhere after the snapshot read their rows
+            index.vehicleChanged(versioned(vehicle(3L, "GR-2001-19", "Nissan", "Urvan", 2019, false), 2L));
+            index.vehicleRemoved(1L);
+            return List.of(
+                    versioned(vehicle(1L, "GH-1001-20", "Toyota", "Hiace", 2020, true), 0L),
+                    versioned(vehicle(3L, "GR-2001-19", "Nissan", "Urvan", 2019, true), 1L));
+        });
+
+        index.load();
+
+        assertThat(index.search(query().build()).ids()).containsExactly(3L);
+        assertThat(index.search(query().active(true).build()).ids()).isEmpty();
+    }
+
+    @Test
+    void vehicleChanged_IgnoresAChangeOlderThanTheIndex() {
+        index.vehicleChanged(versioned(vehicle(2L, "GH-1002-21", "Toyota", "Corolla", 2021, false), 5L));
+        index.vehicleChanged(versioned(vehicle(2L, "GH-1002-21", "Toyota", "Corolla", 2021, true), 4L));
+
+        assertThat(index.search(query().active(true).build()).ids()).containsExactly(1L, 3L, 5L);
+    }
+
+    private static VehicleFacetQuery.VehicleFacetQueryBuilder query() {
+        return VehicleFacetQuery.builder().limit(100);
+    }
+
+    private static Vehicle vehicle(Long id, String registration, String make, String model, Integer year,
+                                   boolean active) {
+        return Vehicle.builder()
+                .id(id)
+                .registrationNumber(registration)
+                .make(make)
+                .model(model)
+                .year(year)
+                .active(active)
+                .build();
+    }
+
+    private static Vehicle versioned(Vehicle vehicle, long version) {
+        vehicle.setVersion(version);
+        return vehicle;
+    }
+}
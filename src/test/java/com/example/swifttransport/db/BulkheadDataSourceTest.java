@@ -0,0 +1,107 @@
+package com.example.swifttransport.db;
+
+import com.example.swifttransport.config.DatabaseBulkheadConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseBulkheadConfig config = new DatabaseBulkheadConfig();
+        config.setPermits(2);
+        config.setMaxWait(Duration.ofMillis(50));
+        dataSource = new BulkheadDataSource(target, config);
+    }
+
+    @Test
+    void getConnection_HoldsAPermitUntilTheConnectionIsClosed() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+
+        verify(pooled, times(2)).close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_RejectsOnceNoPermitFreesUpInTime() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBulkheadFullException.class);
+        assertThat(dataSource.rejected()).isEqualTo(1);
+
+        second.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void getConnection_TakesOnePermitWhenTheQueueIsFull() throws SQLException {
+        DatabaseBulkheadConfig config = new DatabaseBulkheadConfig();
+        config.setPermits(2);
+        config.setMaxWaiting(0);
+        config.setMaxWait(Duration.ofMillis(50));
+        BulkheadDataSource noQueue = new BulkheadDataSource(target, config);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        Connection first = noQueue.getConnection();
+        assertThat(noQueue.availablePermits()).isEqualTo(1);
+        Connection second = noQueue.getConnection();
+        assertThat(noQueue.availablePermits()).isZero();
+        assertThatThrownBy(noQueue::getConnection).isInstanceOf(DatabaseBulkheadFullException.class);
+
+        first.close();
+        second.close();
+        assertThat(noQueue.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_ReleasesThePermitWhenThePoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void unwrap_DelegatesToThePooledConnection() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        when(pooled.unwrap(String.class)).thenReturn("driver connection");
+
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection.unwrap(String.class)).isEqualTo("driver connection");
+        assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(pooled);
+    }
+}
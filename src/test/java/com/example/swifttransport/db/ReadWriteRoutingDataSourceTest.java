@@ -0,0 +1,126 @@
+package com.example.swifttransport.db;
+
+import com.example.swifttransport.config.LocalCacheConfig;
+import com.example.swifttransport.config.ReadReplicaConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        // Two separate in-memory databases stand in for the primary and a replica
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        new JdbcTemplate(primary).execute("DELETE FROM marker");
+        new JdbcTemplate(primary).execute("INSERT INTO marker VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        new JdbcTemplate(replica).execute("DELETE FROM marker");
+        new JdbcTemplate(replica).execute("INSERT INTO marker VALUES ('replica')");
+
+        ReplicaSet.Replica replicaEntry = new ReplicaSet.Replica("replica-1", replica);
+        replicaEntry.markUp(0L, Duration.ofSeconds(1));
+        ReplicaSet replicaSet = new ReplicaSet(primary, List.of(replicaEntry), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), List.of());
+
+        ReadReplicaConfig config = new ReadReplicaConfig();
+        config.setReadYourWritesWindow(Duration.ofMinutes(1));
+        LocalCacheConfig localCacheConfig = new LocalCacheConfig();
+        localCacheConfig.setInvalidationChannel("cache-invalidation");
+        readYourWrites = new ReadYourWrites(redisTemplate, localCacheConfig, config);
+
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(replicaSet, readYourWrites);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("dispatcher@swift.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndOthersThePrimary() {
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+        assertThat(markerIn(readWrite)).isEqualTo("primary");
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void aCommittedWritePinsTheWritersReadsToThePrimary() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        assertThat(readYourWrites.isPinned()).isTrue();
+        assertThat(markerIn(readOnly)).isEqualTo("primary");
+        verify(redisTemplate).convertAndSend(eq("cache-invalidation"), anyString());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("someone-else@swift.com", null, List.of()));
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void aRolledBackWriteDoesNotPin() {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readYourWrites.isPinned()).isFalse();
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void primaryReadsSkipTheReplicaInsideReadOnlyTransactions() {
+        String outside = PrimaryReads.get(() -> markerIn(readOnly));
+        String inside = readOnly.execute(status -> PrimaryReads.get(this::marker));
+
+        assertThat(outside).isEqualTo("primary");
+        assertThat(inside).isEqualTo("primary");
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    private String markerIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
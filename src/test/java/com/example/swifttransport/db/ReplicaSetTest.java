@@ -0,0 +1,118 @@
+package com.example.swifttransport.db;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaSetTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+    private static final String PRIMARY_LSN = "0/3000060";
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    @Test
+    void getReadConnection_RotatesOverCheckedReplicas() throws SQLException {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        ReplicaSet replicaSet = replicaSet(replicaReporting(first, 0.0), replicaReporting(second, 0.0));
+        replicaSet.checkReplicas();
+
+        assertThat(List.of(replicaSet.getReadConnection(), replicaSet.getReadConnection(),
+                replicaSet.getReadConnection(), replicaSet.getReadConnection()))
+                .containsExactly(first, second, first, second);
+    }
+
+    @Test
+    void getReadConnection_UsesThePrimaryUntilAReplicaHasBeenChecked() throws SQLException {
+        ReplicaSet replicaSet = replicaSet(replicaReporting(mock(Connection.class), 0.0));
+
+        assertThat(replicaSet.getReadConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getReadConnection_SkipsReplicasBehindTheLagGuard() throws SQLException {
+        Connection current = mock(Connection.class);
+        ReplicaSet replicaSet = replicaSet(replicaReporting(mock(Connection.class), 5_000.0),
+                replicaReporting(current, 200.0));
+        replicaSet.checkReplicas();
+
+        assertThat(replicaSet.replicas().getFirst().lagMillis()).isEqualTo(5_000L);
+        assertThat(List.of(replicaSet.getReadConnection(), replicaSet.getReadConnection()))
+                .containsOnly(current);
+    }
+
+    @Test
+    void getReadConnection_TakesOutAReplicaThatRefusesConnectionsAndFallsBackToThePrimary() throws SQLException {
+        DataSource replica = replicaReporting(mock(Connection.class), 0.0);
+        ReplicaSet replicaSet = replicaSet(replica);
+        replicaSet.checkReplicas();
+
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertThat(replicaSet.getReadConnection()).isSameAs(primaryConnection);
+        assertThat(replicaSet.replicas().getFirst().isHealthy()).isFalse();
+    }
+
+    @Test
+    void checkReplicas_MeasuresReplicasAgainstThePrimarysWalPosition() throws SQLException {
+        Connection checkConnection = mock(Connection.class);
+        PreparedStatement lagQuery = mock(PreparedStatement.class);
+        when(checkConnection.prepareStatement(ReplicaSet.LAG_SQL)).thenReturn(lagQuery);
+        when(lagQuery.executeQuery()).thenReturn(mock(ResultSet.class));
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(checkConnection);
+
+        replicaSet(replica).checkReplicas();
+
+        verify(lagQuery).setString(1, PRIMARY_LSN);
+    }
+
+    private ReplicaSet replicaSet(DataSource... replicas) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(primaryConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaSet.PRIMARY_LSN_SQL)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn(PRIMARY_LSN);
+
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        List<ReplicaSet.Replica> named = new ArrayList<>();
+        for (DataSource replica : replicas) {
+            named.add(new ReplicaSet.Replica("replica-" + (named.size() + 1), replica));
+        }
+        return new ReplicaSet(primary, named, MAX_LAG, Duration.ofSeconds(1), List.of());
+    }
+
+    /**
+     * A replica whose first connection answers the lag query and whose later
+     * ones are {@code connection}.
+     */
+    private static DataSource replicaReporting(Connection connection, double lagMillis) throws SQLException {
+        Connection checkConnection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(checkConnection.prepareStatement(ReplicaSet.LAG_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(checkConnection, connection);
+        return replica;
+    }
+}
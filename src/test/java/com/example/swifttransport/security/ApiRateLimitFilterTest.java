@@ -0,0 +1,162 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.ApiRateLimitConfig;
+import com.example.swifttransport.enums.RateLimitGroup;
+import com.example.swifttransport.enums.UserRole;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import io.github.bucket4j.distributed.proxy.AsyncProxyManager;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteAsyncBucketBuilder;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiRateLimitFilterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Mock
+    private ProxyManager<String> proxyManager;
+
+    @Mock
+    private AsyncProxyManager<String> asyncProxyManager;
+
+    @Mock
+    private RemoteAsyncBucketBuilder<String> bucketBuilder;
+
+    @Mock
+    private AsyncBucketProxy bucket;
+
+    private ApiRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ApiRateLimitConfig config = new ApiRateLimitConfig();
+        config.setTiers(Map.of(
+                UserRole.OPERATIONS.name(), Map.of(RateLimitGroup.READ, limit(600)),
+                ApiRateLimitConfig.ANONYMOUS_TIER, Map.of(RateLimitGroup.READ, limit(60))));
+        when(proxyManager.asAsync()).thenReturn(asyncProxyManager);
+        filter = new ApiRateLimitFilter(proxyManager, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_CountsAuthenticatedCallersPerUserAndSetsRateLimitHeaders() throws Exception {
+        authenticate(7L);
+        stubBucket(CompletableFuture.completedFuture(ConsumptionProbe.consumed(599, 0)));
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/v1/assignments"), response, chain);
+
+        verify(chain).doFilter(any(), any());
+        verify(bucketBuilder).build(eq(ApiRateLimitFilter.REDIS_KEY_PREFIX + "user:7:read"), supplier());
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("600");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("599");
+        assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("600;w=60");
+    }
+
+    @Test
+    void doFilter_RejectsLocallyOnceRedisHasRejectedTheCaller() throws Exception {
+        stubBucket(CompletableFuture.completedFuture(ConsumptionProbe.rejected(0, 30 * SECOND, 60 * SECOND)));
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/drivers"), first, chain);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/drivers"), second, chain);
+
+        assertThat(first.getStatus()).isEqualTo(429);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("30");
+        verify(chain, never()).doFilter(any(), any());
+        verify(bucket, times(1)).tryConsumeAndReturnRemaining(1);
+        verify(bucketBuilder).build(eq(ApiRateLimitFilter.REDIS_KEY_PREFIX + "ip:10.0.0.1:read"), supplier());
+    }
+
+    @Test
+    void doFilter_LetsRequestsThroughWhileRedisHasNotAnswered() throws Exception {
+        CompletableFuture<ConsumptionProbe> reply = new CompletableFuture<>();
+        stubBucket(reply);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("GET", "/api/v1/drivers"), new MockHttpServletResponse(), chain);
+        reply.complete(ConsumptionProbe.rejected(0, 5 * SECOND, 60 * SECOND));
+        MockHttpServletResponse later = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/drivers"), later, chain);
+
+        verify(chain, times(1)).doFilter(any(), any());
+        assertThat(later.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_SkipsAuthEndpointsAndUnlimitedGroups() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("POST", "/api/v1/auth/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/v1/drivers"), new MockHttpServletResponse(), chain);
+
+        verify(chain, times(2)).doFilter(any(), any());
+        verify(asyncProxyManager, never()).builder();
+    }
+
+    private void stubBucket(CompletableFuture<ConsumptionProbe> reply) {
+        when(asyncProxyManager.builder()).thenReturn(bucketBuilder);
+        when(bucketBuilder.build(any(String.class), supplier())).thenReturn(bucket);
+        when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(reply);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "ops@swift.com", UserRole.OPERATIONS);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static ApiRateLimitConfig.Limit limit(long capacity) {
+        ApiRateLimitConfig.Limit limit = new ApiRateLimitConfig.Limit();
+        limit.setCapacity(capacity);
+        limit.setWindow(Duration.ofMinutes(1));
+        return limit;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<CompletableFuture<BucketConfiguration>> supplier() {
+        return any(Supplier.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.JwtConfig;
+import com.example.swifttransport.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-minimum-256-bits-required-12345";
+
+    private final SecurityEpochService securityEpochService = mock(SecurityEpochService.class);
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(jwtConfig(SECRET, 3_600_000), securityEpochService);
+    }
+
+    @Test
+    void generateToken_EmbedsUserClaims() {
+        when(securityEpochService.current(7L)).thenReturn(3L);
+
+        String token = jwtTokenProvider.generateToken(authentication(securityUser(7L, UserRole.OPERATIONS)));
+        Claims claims = jwtTokenProvider.verifyToken(token);
+
+        assertThat(jwtTokenProvider.getAuthenticatedUser(claims))
+                .isEqualTo(new AuthenticatedUser(7L, "ops@swift.com", UserRole.OPERATIONS));
+        assertThat(jwtTokenProvider.getSecurityEpoch(claims)).isEqualTo(3L);
+    }
+
+    @Test
+    void getAuthenticatedUser_LegacyTokenHasNoPrincipal() {
+        String token = jwtTokenProvider.generateToken(authentication("admin@swift.com"));
+
+        assertThat(jwtTokenProvider.getAuthenticatedUser(jwtTokenProvider.verifyToken(token))).isNull();
+    }
+
+    @Test
+    void verifyToken_ReturnsClaimsAndCachesThem() {
+        String token = jwtTokenProvider.generateToken(authentication("admin@swift.com"));
+
+        Claims first = jwtTokenProvider.verifyToken(token);
+        Claims second = jwtTokenProvider.verifyToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("admin@swift.com");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verifyToken_RejectsTamperedAndForeignTokens() {
+        String token = jwtTokenProvider.generateToken(authentication("admin@swift.com"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = new JwtTokenProvider(jwtConfig(SECRET.replace('1', '9'), 3_600_000), securityEpochService)
+                .generateToken(authentication("admin@swift.com"));
+
+        assertThat(jwtTokenProvider.verifyToken(tampered)).isNull();
+        assertThat(jwtTokenProvider.verifyToken(foreign)).isNull();
+        assertThat(jwtTokenProvider.verifyToken("not-a-jwt")).isNull();
+        assertThat(jwtTokenProvider.verifyToken("")).isNull();
+    }
+
+    @Test
+    void verifyToken_RejectsExpiredToken() {
+        JwtTokenProvider expiringProvider = new JwtTokenProvider(jwtConfig(SECRET, -1_000), securityEpochService);
+        String token = expiringProvider.generateToken(authentication("admin@swift.com"));
+
+        assertThat(expiringProvider.verifyToken(token)).isNull();
+    }
+
+    private static JwtConfig jwtConfig(String secret, long expiration) {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(secret);
+        config.setExpiration(expiration);
+        config.setIssuer("swift-transport");
+        return config;
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        return authentication(new User(username, "secret", List.of()));
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private static SecurityUser securityUser(Long id, UserRole role) {
+        return new SecurityUser(com.example.swifttransport.entity.User.builder()
+                .id(id)
+                .username("ops@swift.com")
+                .password("secret")
+                .role(role)
+                .build());
+    }
+}
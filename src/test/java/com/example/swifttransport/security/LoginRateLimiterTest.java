@@ -0,0 +1,77 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.Bucket4jConfig;
+import com.example.swifttransport.config.RateLimitConfig;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginRateLimiterTest {
+
+    @Mock
+    private ProxyManager<String> proxyManager;
+
+    @Mock
+    private RemoteBucketBuilder<String> remoteBucketBuilder;
+
+    @Mock
+    private BucketProxy sharedBucket;
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setMaxRequests(3);
+        config.setWindowDurationSeconds(60);
+        BucketConfiguration configuration = new Bucket4jConfig().loginBucketConfiguration(config);
+        limiter = new LoginRateLimiter(proxyManager, configuration, config);
+
+        when(proxyManager.builder()).thenReturn(remoteBucketBuilder);
+        when(remoteBucketBuilder.withOptimization(any())).thenReturn(remoteBucketBuilder);
+        when(remoteBucketBuilder.build(any(String.class), any(BucketConfiguration.class))).thenReturn(sharedBucket);
+        ConsumptionProbe allowed = mock(ConsumptionProbe.class);
+        when(allowed.isConsumed()).thenReturn(true);
+        when(sharedBucket.tryConsumeAndReturnRemaining(1)).thenReturn(allowed);
+    }
+
+    @Test
+    void tryConsume_RejectsInMemoryOnceThisNodeAloneExceedsTheLimit() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThat(limiter.tryConsume("10.0.0.1").isConsumed()).isTrue();
+        }
+
+        ConsumptionProbe rejected = limiter.tryConsume("10.0.0.1");
+
+        assertThat(rejected.isConsumed()).isFalse();
+        assertThat(rejected.getNanosToWaitForRefill()).isPositive();
+        assertThat(limiter.localRejections()).isEqualTo(1);
+        verify(sharedBucket, times(3)).tryConsumeAndReturnRemaining(1);
+    }
+
+    @Test
+    void tryConsume_ReusesOneSharedBucketPerIp() {
+        assertThat(limiter.tryConsume("10.0.0.1").isConsumed()).isTrue();
+        assertThat(limiter.tryConsume("10.0.0.1").isConsumed()).isTrue();
+        assertThat(limiter.tryConsume("10.0.0.2").isConsumed()).isTrue();
+
+        verify(remoteBucketBuilder).build(eq(LoginRateLimiter.REDIS_KEY_PREFIX + "10.0.0.1"), any(BucketConfiguration.class));
+        verify(remoteBucketBuilder).build(eq(LoginRateLimiter.REDIS_KEY_PREFIX + "10.0.0.2"), any(BucketConfiguration.class));
+    }
+}
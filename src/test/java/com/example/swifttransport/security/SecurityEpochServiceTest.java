@@ -0,0 +1,58 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.config.JwtConfig;
+import com.example.swifttransport.config.LocalCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityEpochServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private SecurityEpochService securityEpochService;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheConfig localCacheConfig = new LocalCacheConfig();
+        localCacheConfig.setInvalidationChannel("cache-invalidation");
+        securityEpochService = new SecurityEpochService(redisTemplate, new JwtConfig(), localCacheConfig);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void isCurrent_RejectsTokensIssuedBeforeARevoke() {
+        when(hashOperations.increment("security-epochs", "7", 1)).thenReturn(1L);
+
+        assertThat(securityEpochService.isCurrent(7L, 0L)).isTrue();
+        securityEpochService.revoke(7L);
+
+        assertThat(securityEpochService.isCurrent(7L, 0L)).isFalse();
+        assertThat(securityEpochService.isCurrent(7L, 1L)).isTrue();
+    }
+
+    @Test
+    void isCurrent_FailsClosedWhenTheEpochCannotBeRead() {
+        when(hashOperations.get(eq("security-epochs"), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn("2");
+
+        assertThat(securityEpochService.isCurrent(7L, 5L)).isFalse();
+        assertThat(securityEpochService.isCurrent(7L, 5L)).isTrue();
+    }
+}
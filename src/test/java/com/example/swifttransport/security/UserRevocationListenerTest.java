@@ -0,0 +1,45 @@
+package com.example.swifttransport.security;
+
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class UserRevocationListenerTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private SecurityEpochService securityEpochService;
+
+    @Test
+    void updatingAUser_RevokesTheirTokens() {
+        User user = User.builder()
+                .username("ops@swift.com")
+                .email("ops@swift.com")
+                .password("secret")
+                .role(UserRole.OPERATIONS)
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+        verify(securityEpochService, never()).revoke(any());
+
+        user.setRole(UserRole.ADMIN);
+        entityManager.flush();
+
+        verify(securityEpochService).revoke(user.getId());
+    }
+}
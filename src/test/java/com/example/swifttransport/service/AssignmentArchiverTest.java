@@ -0,0 +1,177 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.config.AssignmentArchiveConfig;
+import com.example.swifttransport.dto.response.AssignmentListResponse;
+import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.UserRole;
+import com.example.swifttransport.mapper.VehicleAssignmentMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({AssignmentArchiver.class, AssignmentArchiveConfig.class, EntityCounterService.class,
+        VehicleAssignmentService.class, VehicleAssignmentMapperImpl.class})
+class AssignmentArchiverTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Autowired
+    private AssignmentArchiver archiver;
+
+    @Autowired
+    private AssignmentArchiveConfig archiveConfig;
+
+    @Autowired
+    private VehicleAssignmentService assignmentService;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private CacheGenerations cacheGenerations;
+
+    @MockitoBean
+    private AuditLog auditLog;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    private Driver driver;
+    private Vehicle vehicle;
+    private Long oldClosed;
+    private Long otherOldClosed;
+    private Long recentClosed;
+    private Long active;
+
+    @BeforeEach
+    void setUp() {
+        // One row per chunk, so the archiver has to loop
+        archiveConfig.setChunkSize(1);
+
+        User user = User.builder()
+                .username("ops@swift.com")
+                .email("ops@swift.com")
+                .password("secret")
+                .role(UserRole.OPERATIONS)
+                .build();
+        entityManager.persist(user);
+        driver = Driver.builder()
+                .firstName("Akua")
+                .lastName("Osei")
+                .phoneNumber("+233244222222")
+                .licenseNumber("DL-1001")
+                .status(DriverStatus.ACTIVE)
+                .build();
+        entityManager.persist(driver);
+        vehicle = Vehicle.builder()
+                .registrationNumber("GH-1001-20")
+                .active(true)
+                .build();
+        entityManager.persist(vehicle);
+
+        oldClosed = assignment(user, NOW.minusDays(200), NOW.minusDays(150));
+        otherOldClosed = assignment(user, NOW.minusDays(140), NOW.minusDays(120));
+        recentClosed = assignment(user, NOW.minusDays(40), NOW.minusDays(10));
+        active = assignment(user, NOW.minusDays(5), null);
+        entityManager.clear();
+        entityCounterService.increment(EntityCounterService.ASSIGNMENTS_TOTAL, 4);
+    }
+
+    @Test
+    void archive_MovesClosedAssignmentsOlderThanTheCutoffInChunks() {
+        long archived = archiver.archive(NOW.minusDays(90));
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM vehicle_assignments ORDER BY id", Long.class))
+                .containsExactly(recentClosed, active);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM vehicle_assignments_archive ORDER BY id", Long.class))
+                .containsExactly(oldClosed, otherOldClosed);
+        assertThat(entityCounterService.sum(EntityCounterService.ASSIGNMENTS_TOTAL)).isEqualTo(2);
+        assertThat(entityCounterService.sum(EntityCounterService.ASSIGNMENTS_ARCHIVED)).isEqualTo(2);
+        verify(cacheGenerations, times(2)).bump("assignments", CacheGenerations.assignmentsForDriver(driver.getId()),
+                CacheGenerations.assignmentsForVehicle(vehicle.getId()));
+
+        assertThat(archiver.archive(NOW.minusDays(90))).isZero();
+    }
+
+    @Test
+    void getAssignments_ReadsTheArchiveOnlyWhenAsked() {
+        archiver.archive(NOW.minusDays(90));
+        entityManager.clear();
+
+        AssignmentListResponse live = assignmentService.getAssignments(PageRequest.of(0, 10), false,
+                driver.getId(), null, false);
+        assertThat(live.content()).extracting(AssignmentResponse::id).containsExactly(recentClosed, active);
+
+        AssignmentListResponse history = assignmentService.getAssignments(PageRequest.of(0, 10), false,
+                driver.getId(), null, true);
+        assertThat(history.totalElements()).isEqualTo(4);
+        assertThat(history.content()).extracting(AssignmentResponse::id)
+                .containsExactlyInAnyOrder(oldClosed, otherOldClosed, recentClosed, active);
+        assertThat(history.content()).filteredOn(row -> row.id().equals(oldClosed))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.isActive()).isFalse();
+                    assertThat(row.assignedBy()).isEqualTo("ops@swift.com");
+                    assertThat(row.driver().licenseNumber()).isEqualTo("DL-1001");
+                });
+
+        AssignmentListResponse unfiltered = assignmentService.getAssignments(PageRequest.of(0, 10), false,
+                null, null, true);
+        assertThat(unfiltered.totalElements()).isEqualTo(4);
+
+        List<Long> walked = assignmentService.getAssignmentsAfter("", 10, false, null, null, true)
+                .content().stream().map(AssignmentResponse::id).toList();
+        assertThat(walked).containsExactly(oldClosed, otherOldClosed, recentClosed, active);
+    }
+
+    private Long assignment(User user, LocalDateTime assignedAt, LocalDateTime unassignedAt) {
+        VehicleAssignment assignment = VehicleAssignment.builder()
+                .driver(driver)
+                .vehicle(vehicle)
+                .assignedBy(user)
+                .isActive(unassignedAt == null)
+                .build();
+        entityManager.persist(assignment);
+        entityManager.flush();
+        entityManager.createQuery("UPDATE VehicleAssignment va SET va.assignedAt = :assignedAt, "
+                        + "va.unassignedAt = :unassignedAt WHERE va.id = :id")
+                .setParameter("assignedAt", assignedAt)
+                .setParameter("unassignedAt", unassignedAt)
+                .setParameter("id", assignment.getId())
+                .executeUpdate();
+        return assignment.getId();
+    }
+}
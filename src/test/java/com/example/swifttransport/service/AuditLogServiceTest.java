@@ -0,0 +1,106 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.audit.AuditLogQuery;
+import com.example.swifttransport.dto.response.AuditLogListResponse;
+import com.example.swifttransport.dto.response.AuditLogResponse;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.exception.BusinessValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_AUDIT_ENTITY_ID_WITHOUT_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditLogService.class)
+class AuditLogServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // audit_logs has no entity, so the H2 schema doesn't create it
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_logs (id BIGINT PRIMARY KEY, action VARCHAR(50), " +
+                "entity_type VARCHAR(50), entity_id BIGINT, user_id BIGINT, username VARCHAR(100), " +
+                "\"timestamp\" TIMESTAMP, details VARCHAR(4000))");
+
+        // Driver 7 gets five events, two of them at the same instant to exercise cursor ties
+        insert(1, AuditAction.CREATE, AuditLog.ENTITY_DRIVER, 7L, 1L, START, "{\"licenseNumber\":\"DL-7\"}");
+        insert(2, AuditAction.UPDATE, AuditLog.ENTITY_DRIVER, 7L, 2L, START.plusDays(10), null);
+        insert(3, AuditAction.UPDATE, AuditLog.ENTITY_DRIVER, 7L, 2L, START.plusDays(10), null);
+        insert(4, AuditAction.CREATE, AuditLog.ENTITY_DRIVER, 8L, 1L, START.plusDays(11), null);
+        insert(5, AuditAction.ASSIGN, AuditLog.ENTITY_ASSIGNMENT, 100L, 2L, START.plusDays(12), null);
+        insert(6, AuditAction.DELETE, AuditLog.ENTITY_DRIVER, 7L, 1L, START.plusDays(40), null);
+        insert(7, AuditAction.UPDATE, AuditLog.ENTITY_DRIVER, 7L, 1L, START.plusDays(41), null);
+    }
+
+    @Test
+    void getAuditLogs_PagesThroughAnEntityNewestFirst() {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        AuditLogListResponse page;
+        do {
+            page = auditLogService.getAuditLogs(query().entityType("driver").entityId(7L).after(after).size(2).build());
+            page.content().forEach(row -> ids.add(row.id()));
+            after = page.nextCursor();
+        } while (!page.last());
+
+        assertThat(ids).containsExactly(7L, 6L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void getAuditLogs_FiltersByUserActionAndTimeRange() {
+        AuditLogListResponse byUser = auditLogService.getAuditLogs(query().userId(2L).build());
+        assertThat(byUser.content()).extracting(AuditLogResponse::id).containsExactly(5L, 3L, 2L);
+
+        AuditLogListResponse byAction = auditLogService.getAuditLogs(query()
+                .action(AuditAction.CREATE)
+                .from(START)
+                .to(START.plusDays(11))
+                .build());
+        assertThat(byAction.content()).extracting(AuditLogResponse::id).containsExactly(1L);
+        assertThat(byAction.content().getFirst().details()).containsEntry("licenseNumber", "DL-7");
+        assertThat(byAction.last()).isTrue();
+        assertThat(byAction.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAuditLogs_RejectsEntityIdWithoutType() {
+        assertThatThrownBy(() -> auditLogService.getAuditLogs(query().entityId(7L).build()))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage(VALIDATION_AUDIT_ENTITY_ID_WITHOUT_TYPE);
+    }
+
+    private static AuditLogQuery.AuditLogQueryBuilder query() {
+        return AuditLogQuery.builder().size(50);
+    }
+
+    private void insert(long id, AuditAction action, String entityType, Long entityId, Long userId,
+                        LocalDateTime timestamp, String details) {
+        jdbcTemplate.update("INSERT INTO audit_logs (id, action, entity_type, entity_id, user_id, username, " +
+                        "\"timestamp\", details) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, action.name(), entityType, entityId, userId, "user-" + userId, Timestamp.valueOf(timestamp),
+                details);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.catalog.VehicleCatalogIndex;
+import com.example.swifttransport.config.BulkImportConfig;
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.dto.response.ImportReport;
+import com.example.swifttransport.dto.response.ImportRowResult;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.ImportFormat;
+import com.example.swifttransport.enums.ImportRowStatus;
+import com.example.swifttransport.mapper.DriverMapperImpl;
+import com.example.swifttransport.repository.DriverRepository;
+import com.example.swifttransport.repository.VehicleRepository;
+import com.example.swifttransport.util.CustomMessages;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BulkImportService.class, BulkImportConfig.class, DriverMapperImpl.class, EntityCounterService.class,
+        LocalValidatorFactoryBean.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private BulkImportConfig importConfig;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private CacheGenerations cacheGenerations;
+
+    @MockitoBean
+    private AuditLog auditLog;
+
+    @MockitoBean
+    private VehicleCatalogIndex vehicleCatalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        importConfig.setChunkSize(2);
+        entityManager.persist(Driver.builder()
+                .firstName("Kwame")
+                .lastName("Mensah")
+                .phoneNumber("+233244111111")
+                .licenseNumber("DL-EXISTING")
+                .status(DriverStatus.ACTIVE)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void importDrivers_ReportsEveryRowAndChecksDuplicatesAcrossChunks() throws IOException {
+        String csv = """
+                firstName,lastName,phoneNumber,licenseNumber,status
+                Akua,Osei,+233244222222,DL-0001,ACTIVE
+                Yaw,"Boateng, Jr",+233244333333,DL-0002,SUSPENDED
+                Esi,Owusu,not-a-phone,DL-0003,ACTIVE
+                Kofi,Asante,+233244444444,DL-EXISTING,ACTIVE
+                Ama,Darko,+233244555555,DL-0001,ACTIVE
+                Abena,Mensah,+233244666666
+                """;
+
+        ImportReport report = bulkImportService.importDrivers(stream(csv), ImportFormat.CSV);
+
+        assertThat(report.total()).isEqualTo(6);
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.rows()).extracting(ImportRowResult::line)
+                .containsExactly(2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(report.rows()).extracting(ImportRowResult::status).containsExactly(
+                ImportRowStatus.CREATED,
+                ImportRowStatus.CREATED,
+                ImportRowStatus.INVALID,
+                ImportRowStatus.DUPLICATE,
+                ImportRowStatus.DUPLICATE,
+                ImportRowStatus.INVALID);
+        assertThat(report.rows().get(2).error()).isEqualTo(CustomMessages.VALIDATION_PHONE_FORMAT);
+        assertThat(report.rows().get(4).error()).isEqualTo(CustomMessages.VALIDATION_LICENSE_ALREADY_EXISTS);
+
+        Driver imported = driverRepository.findById(report.rows().get(1).id()).orElseThrow();
+        assertThat(imported.getLastName()).isEqualTo("Boateng, Jr");
+        assertThat(imported.getStatus()).isEqualTo(DriverStatus.SUSPENDED);
+        assertThat(entityCounterService.sum(EntityCounterService.DRIVERS_TOTAL)).isEqualTo(2L);
+        verify(cacheGenerations, times(1)).bump(RedisConfig.CACHE_DRIVERS);
+    }
+
+    @Test
+    void importVehicles_ReadsNdjsonAndReportsMalformedLines() throws IOException {
+        String ndjson = """
+                {"registrationNumber":"GH-1001-20","make":"Toyota","model":"Hiace","year":2020,"active":true}
+                {"registrationNumber":"GH-1002-20","make":"Nissan","year":"2019","active":false}
+                {"registrationNumber":"GH-1003-20",
+                {"registrationNumber":"GH-1004-20","year":"soon","active":true}
+                {"registrationNumber":"GH-1005-20","active":true,"color":"white"}
+                """;
+
+        ImportReport report = bulkImportService.importVehicles(stream(ndjson), ImportFormat.NDJSON);
+
+        assertThat(report.rows()).extracting(ImportRowResult::status).containsExactly(
+                ImportRowStatus.CREATED,
+                ImportRowStatus.CREATED,
+                ImportRowStatus.INVALID,
+                ImportRowStatus.INVALID,
+                ImportRowStatus.CREATED);
+        assertThat(vehicleRepository.findExistingRegistrationNumbers(
+                List.of("GH-1001-20", "GH-1002-20", "GH-1005-20"))).hasSize(3);
+        assertThat(entityCounterService.sum(EntityCounterService.VEHICLES_ACTIVE)).isEqualTo(2L);
+        assertThat(entityCounterService.sum(EntityCounterService.VEHICLES_INACTIVE)).isEqualTo(1L);
+        verify(vehicleCatalogIndex, times(2)).vehiclesChanged(anyCollection());
+        verify(cacheGenerations, times(1)).bump(RedisConfig.CACHE_VEHICLES);
+    }
+
+    @Test
+    void importDrivers_CutsAnUnterminatedQuoteOffAtTheMaximumRecordLength() throws IOException {
+        importConfig.setMaxRecordLength(60);
+        String csv = """
+                firstName,lastName,phoneNumber,licenseNumber,status
+                Akua,"Osei,+233244222222,DL-0001,ACTIVE
+                Yaw,Boateng,+233244333333,DL-0002,SUSPENDED
+                Kofi,Asante,+233244444444,DL-0003,ACTIVE
+                """;
+
+        ImportReport report = bulkImportService.importDrivers(stream(csv), ImportFormat.CSV);
+
+        assertThat(report.rows()).extracting(ImportRowResult::line).containsExactly(2L, 3L, 4L);
+        assertThat(report.rows()).extracting(ImportRowResult::status).containsExactly(
+                ImportRowStatus.INVALID,
+                ImportRowStatus.CREATED,
+                ImportRowStatus.CREATED);
+        assertThat(report.rows().getFirst().error())
+                .isEqualTo(CustomMessages.VALIDATION_IMPORT_RECORD_TOO_LONG.formatted(60));
+    }
+
+    @Test
+    void importVehicles_WithNothingCreatedLeavesCachesAlone() throws IOException {
+        ImportReport report = bulkImportService.importVehicles(
+                stream("registrationNumber,make,active\n,Toyota,true\n"), ImportFormat.CSV);
+
+        assertThat(report.rejected()).isEqualTo(1);
+        verify(cacheGenerations, never()).bump(RedisConfig.CACHE_VEHICLES);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,28 +1,41 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.config.RedisConfig;
 import com.example.swifttransport.dto.request.CreateDriverRequest;
 import com.example.swifttransport.dto.request.UpdateDriverRequest;
 import com.example.swifttransport.dto.response.DriverListResponse;
 import com.example.swifttransport.dto.response.DriverResponse;
+import com.example.swifttransport.dto.response.VehicleSummaryResponse;
 import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.enums.CountMode;
 import com.example.swifttransport.enums.DriverStatus;
 import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.exception.PreconditionFailedException;
 import com.example.swifttransport.exception.ResourceNotFoundException;
 import com.example.swifttransport.mapper.DriverMapper;
 import com.example.swifttransport.repository.DriverRepository;
 import com.example.swifttransport.repository.VehicleAssignmentRepository;
+import com.example.swifttransport.repository.VersionStamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +55,21 @@ class DriverServiceTest {
     @Mock
     private DriverMapper driverMapper;
 
+    @Mock
+    private CacheGenerations cacheGenerations;
+
+    @Mock
+    private EntityCounterService entityCounterService;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private DriverService driverService;
 
@@ -91,6 +119,10 @@ class DriverServiceTest {
         assertThat(result.firstName()).isEqualTo("Kwame");
         assertThat(result.lastName()).isEqualTo("Mensah");
         verify(driverRepository).save(any(Driver.class));
+        verify(entityCounterService).increment("drivers:status:ACTIVE", 1);
+        verify(entityCounterService).increment("drivers:total", 1);
+        verify(cacheGenerations).bump("drivers");
+        verify(auditLog).record(eq(AuditAction.CREATE), eq(AuditLog.ENTITY_DRIVER), eq(driver.getId()), anyMap());
     }
 
     @Test
@@ -109,7 +141,7 @@ class DriverServiceTest {
     @Test
     void getDriverById_Success() {
         when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
-        when(driverMapper.toResponse(driver)).thenReturn(driverResponse);
+        when(driverMapper.toResponse(driver, null)).thenReturn(driverResponse);
 
         DriverResponse result = driverService.getDriverById(1L);
 
@@ -117,6 +149,29 @@ class DriverServiceTest {
         assertThat(result.id()).isEqualTo(1L);
     }
 
+    @Test
+    void getDriverById_PopulatesCurrentVehicle() {
+        Vehicle vehicle = Vehicle.builder()
+                .id(7L)
+                .registrationNumber("GH-1234-20")
+                .build();
+        VehicleAssignment assignment = VehicleAssignment.builder()
+                .driver(driver)
+                .vehicle(vehicle)
+                .isActive(true)
+                .build();
+        VehicleSummaryResponse currentVehicle = new VehicleSummaryResponse(7L, "GH-1234-20");
+
+        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
+        when(assignmentRepository.findActiveWithVehicleByDriverIds(List.of(1L))).thenReturn(List.of(assignment));
+        when(driverMapper.toResponse(driver, currentVehicle)).thenReturn(driverResponse);
+
+        DriverResponse result = driverService.getDriverById(1L);
+
+        assertThat(result).isSameAs(driverResponse);
+        verify(driverMapper).toResponse(driver, currentVehicle);
+    }
+
     @Test
     void getDriverById_NotFound_ThrowsException() {
         when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
@@ -129,16 +184,89 @@ class DriverServiceTest {
     @Test
     void getDrivers_ReturnsPaginatedList() {
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Driver> driverPage = new PageImpl<>(Collections.singletonList(driver));
+        Slice<Driver> driverSlice = new SliceImpl<>(Collections.singletonList(driver), pageable, false);
 
-        when(driverRepository.findAllByDeletedFalse(pageable)).thenReturn(driverPage);
-        when(driverMapper.toResponseList(anyList())).thenReturn(Collections.singletonList(driverResponse));
+        when(driverRepository.findAllByDeletedFalse(pageable)).thenReturn(driverSlice);
+        when(entityCounterService.activeDrivers()).thenReturn(1L);
+        when(driverMapper.toResponse(driver, null)).thenReturn(driverResponse);
 
-        DriverListResponse result = driverService.getDrivers(pageable, null, null, false);
+        DriverListResponse result = driverService.getDrivers(pageable, null, null, false, CountMode.EXACT);
 
         assertThat(result).isNotNull();
         assertThat(result.content()).hasSize(1);
         assertThat(result.totalElements()).isEqualTo(1);
+        verify(assignmentRepository, times(1)).findActiveWithVehicleByDriverIds(List.of(1L));
+    }
+
+    @Test
+    void getDrivers_StatusFilter_ReadsTotalFromCounter() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<Driver> driverSlice = new SliceImpl<>(Collections.singletonList(driver), pageable, true);
+
+        when(driverRepository.findAllByStatusAndDeletedFalse(DriverStatus.ACTIVE, pageable)).thenReturn(driverSlice);
+        when(entityCounterService.sum("drivers:status:ACTIVE")).thenReturn(42L);
+        when(driverMapper.toResponse(driver, null)).thenReturn(driverResponse);
+
+        DriverListResponse result = driverService.getDrivers(pageable, DriverStatus.ACTIVE, null, false, CountMode.EXACT);
+
+        assertThat(result.totalElements()).isEqualTo(42L);
+        assertThat(result.totalPages()).isEqualTo(42);
+        assertThat(result.last()).isFalse();
+    }
+
+    @Test
+    void getDrivers_SearchWithoutCount_SkipsTotals() {
+        Pageable pageable = PageRequest.of(0, 20);
+        Slice<Driver> driverSlice = new SliceImpl<>(Collections.singletonList(driver), pageable, false);
+
+        when(driverRepository.searchDriversSlice("kwame", pageable)).thenReturn(driverSlice);
+        when(driverMapper.toResponse(driver, null)).thenReturn(driverResponse);
+
+        DriverListResponse result = driverService.getDrivers(pageable, null, "kwame", false, CountMode.NONE);
+
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.totalPages()).isNull();
+        assertThat(result.last()).isTrue();
+        verify(driverRepository, never()).searchDrivers(anyString(), any(Pageable.class));
+        verifyNoInteractions(rowCountEstimator);
+    }
+
+    @Test
+    void updateDriver_InvalidatesTheAssignedVehicleEntryAndVehicleLists() {
+        Vehicle vehicle = Vehicle.builder().id(7L).registrationNumber("GR-1234-22").build();
+        VehicleAssignment assignment = VehicleAssignment.builder().driver(driver).vehicle(vehicle).isActive(true).build();
+        Cache vehicleByIdCache = mock(Cache.class);
+        UpdateDriverRequest request = UpdateDriverRequest.builder().firstName("Kofi").build();
+
+        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
+        when(driverRepository.save(driver)).thenReturn(driver);
+        when(cacheManager.getCache(RedisConfig.CACHE_VEHICLE_BY_ID)).thenReturn(vehicleByIdCache);
+        when(assignmentRepository.findByDriverIdAndIsActiveTrue(1L)).thenReturn(Optional.of(assignment));
+        when(assignmentRepository.findActiveWithVehicleByDriverIds(List.of(1L))).thenReturn(List.of(assignment));
+        when(driverMapper.toResponse(eq(driver), any(VehicleSummaryResponse.class))).thenReturn(driverResponse);
+
+        driverService.updateDriver(1L, request, null);
+
+        verify(driverMapper).updateEntityFromRequest(request, driver);
+        verify(vehicleByIdCache).evict(7L);
+        verify(cacheGenerations).bump("drivers");
+        verify(cacheGenerations).bump("vehicles");
+    }
+
+    @Test
+    void updateDriver_WithoutAssignmentLeavesVehicleListsAlone() {
+        UpdateDriverRequest request = UpdateDriverRequest.builder().firstName("Kofi").build();
+
+        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
+        when(driverRepository.save(driver)).thenReturn(driver);
+        when(assignmentRepository.findByDriverIdAndIsActiveTrue(1L)).thenReturn(Optional.empty());
+        when(driverMapper.toResponse(driver, null)).thenReturn(driverResponse);
+
+        driverService.updateDriver(1L, request, null);
+
+        verify(cacheGenerations).bump("drivers");
+        verify(cacheGenerations, never()).bump("vehicles");
+        verifyNoInteractions(cacheManager);
     }
 
     @Test
@@ -146,18 +274,32 @@ class DriverServiceTest {
         when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
         when(assignmentRepository.existsByDriverIdAndIsActiveTrue(1L)).thenReturn(false);
 
-        driverService.deleteDriver(1L);
+        driverService.deleteDriver(1L, null);
 
         verify(driverRepository).save(any(Driver.class));
+        verify(entityCounterService).increment("drivers:status:ACTIVE", -1);
         assertThat(driver.getDeleted()).isTrue();
     }
 
+    @Test
+    void deleteDriver_WithStaleIfMatch_ThrowsPreconditionFailed() {
+        driver.setVersion(3L);
+        VersionStamp stamp = mock(VersionStamp.class);
+        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
+        when(driverRepository.findVersionStampById(1L)).thenReturn(Optional.of(stamp));
+
+        assertThatThrownBy(() -> driverService.deleteDriver(1L, "\"2.0.0\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(driverRepository, never()).save(any(Driver.class));
+        verifyNoInteractions(entityCounterService, cacheGenerations, auditLog);
+    }
+
     @Test
     void deleteDriver_WithActiveAssignment_ThrowsException() {
         when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
         when(assignmentRepository.existsByDriverIdAndIsActiveTrue(1L)).thenReturn(true);
 
-        assertThatThrownBy(() -> driverService.deleteDriver(1L))
+        assertThatThrownBy(() -> driverService.deleteDriver(1L, null))
                 .isInstanceOf(BusinessValidationException.class)
                 .hasMessageContaining("active vehicle assignment");
     }
@@ -0,0 +1,160 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.config.ExportConfig;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.ExportFormat;
+import com.example.swifttransport.enums.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ExportService.class, ExportConfig.class})
+class ExportServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Driver active;
+    private Driver deleted;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        active = driver("Akua", "Osei, Jr", false);
+        deleted = driver("Yaw", "Boateng", true);
+        vehicle = Vehicle.builder()
+                .registrationNumber("GH-1001-20")
+                .make("Toyota")
+                .model("Hiace")
+                .year(2020)
+                .active(true)
+                .build();
+        entityManager.persist(vehicle);
+
+        User user = User.builder()
+                .username("ops@swift.com")
+                .email("ops@swift.com")
+                .password("secret")
+                .role(UserRole.OPERATIONS)
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(VehicleAssignment.builder()
+                .driver(active)
+                .vehicle(vehicle)
+                .assignedBy(user)
+                .isActive(true)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void exportDrivers_WritesOneTypedJsonObjectPerLine() throws IOException {
+        List<JsonNode> rows = ndjson(output -> exportService.exportDrivers(output, ExportFormat.NDJSON, false));
+
+        assertThat(rows).hasSize(1);
+        JsonNode row = rows.getFirst();
+        assertThat(row.get("id").isNumber()).isTrue();
+        assertThat(row.get("id").asLong()).isEqualTo(active.getId());
+        assertThat(row.get("lastName").asText()).isEqualTo("Osei, Jr");
+        assertThat(row.get("status").asText()).isEqualTo("ACTIVE");
+        assertThat(row.get("deleted").isBoolean()).isTrue();
+        assertThat(row.get("updatedAt").isNull()).isFalse();
+
+        assertThat(ndjson(output -> exportService.exportDrivers(output, ExportFormat.NDJSON, true)))
+                .extracting(node -> node.get("id").asLong())
+                .containsExactly(active.getId(), deleted.getId());
+    }
+
+    @Test
+    void exportVehicles_WritesCsvWithHeaderRow() throws IOException {
+        String csv = export(output -> exportService.exportVehicles(output, ExportFormat.CSV));
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,registrationNumber,make,model,year,active,createdAt,updatedAt");
+        assertThat(lines[1]).startsWith(vehicle.getId() + ",GH-1001-20,Toyota,Hiace,2020,true,");
+    }
+
+    @Test
+    void exportDrivers_QuotesCsvFieldsContainingSeparators() throws IOException {
+        String csv = export(output -> exportService.exportDrivers(output, ExportFormat.CSV, false));
+
+        assertThat(csv.split("\r\n")[1]).contains(",Akua,\"Osei, Jr\",");
+    }
+
+    @Test
+    void exportAssignments_JoinsAssignerAndFiltersBySince() throws IOException {
+        List<JsonNode> rows = ndjson(output -> exportService.exportAssignments(output, ExportFormat.NDJSON, null));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.getFirst().get("driverId").asLong()).isEqualTo(active.getId());
+        assertThat(rows.getFirst().get("assignedBy").asText()).isEqualTo("ops@swift.com");
+        assertThat(rows.getFirst().get("unassignedAt").isNull()).isTrue();
+
+        assertThat(export(output -> exportService.exportAssignments(
+                output, ExportFormat.CSV, LocalDateTime.now().plusDays(1))))
+                .isEqualTo("id,driverId,vehicleId,assignedAt,unassignedAt,isActive,assignedBy\r\n");
+    }
+
+    private Driver driver(String firstName, String lastName, boolean isDeleted) {
+        Driver driver = Driver.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .phoneNumber("+233244222222")
+                .licenseNumber("DL-" + System.nanoTime())
+                .status(DriverStatus.ACTIVE)
+                .deleted(isDeleted)
+                .build();
+        entityManager.persist(driver);
+        return driver;
+    }
+
+    private static List<JsonNode> ndjson(Export export) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : export(export).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(OBJECT_MAPPER.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static String export(Export export) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        export.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(ByteArrayOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.dto.request.AssignVehicleRequest;
+import com.example.swifttransport.dto.response.BulkAssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResult;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.AuditAction;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.UserRole;
+import com.example.swifttransport.mapper.VehicleAssignmentMapperImpl;
+import com.example.swifttransport.repository.VehicleAssignmentRepository;
+import com.example.swifttransport.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.swifttransport.util.CustomMessages.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VehicleAssignmentService.class, VehicleAssignmentMapperImpl.class, EntityCounterService.class})
+class VehicleAssignmentServiceBulkTest {
+
+    @Autowired
+    private VehicleAssignmentService assignmentService;
+
+    @Autowired
+    private VehicleAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EntityCounterService entityCounterService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private CacheGenerations cacheGenerations;
+
+    @MockitoBean
+    private AuditLog auditLog;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .username("ops@swift.com")
+                .email("ops@swift.com")
+                .password("secret")
+                .role(UserRole.OPERATIONS)
+                .build();
+        entityManager.persist(user);
+
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), UserRole.OPERATIONS);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void assignVehicles_ReportsEachPairAndInvalidatesOnce() {
+        Driver free = driver(DriverStatus.ACTIVE);
+        Driver suspended = driver(DriverStatus.SUSPENDED);
+        Driver busy = driver(DriverStatus.ACTIVE);
+        Driver second = driver(DriverStatus.ACTIVE);
+        Vehicle vehicle = vehicle(true);
+        Vehicle inactive = vehicle(false);
+        Vehicle taken = vehicle(true);
+        assign(busy, taken);
+
+        BulkAssignmentResponse response = assignmentService.assignVehicles(List.of(
+                new AssignVehicleRequest(free.getId(), vehicle.getId()),
+                new AssignVehicleRequest(suspended.getId(), vehicle.getId()),
+                new AssignVehicleRequest(second.getId(), inactive.getId()),
+                new AssignVehicleRequest(second.getId(), taken.getId()),
+                new AssignVehicleRequest(busy.getId(), vehicle.getId()),
+                new AssignVehicleRequest(second.getId(), vehicle.getId()),
+                new AssignVehicleRequest(-1L, vehicle.getId())));
+
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(response.results()).extracting(BulkAssignmentResult::error).containsExactly(
+                null,
+                VALIDATION_DRIVER_MUST_BE_ACTIVE,
+                VALIDATION_VEHICLE_NOT_ACTIVE,
+                VALIDATION_VEHICLE_ALREADY_ASSIGNED,
+                VALIDATION_DRIVER_ALREADY_ASSIGNED,
+                VALIDATION_VEHICLE_ALREADY_ASSIGNED,
+                DRIVER_NOT_FOUND);
+        assertThat(response.results().getFirst().assignmentId()).isNotNull();
+        assertThat(assignmentRepository.findActiveDriverIds(List.of(free.getId(), second.getId())))
+                .containsExactly(free.getId());
+        assertThat(entityCounterService.sum(EntityCounterService.ASSIGNMENTS_ACTIVE)).isEqualTo(1L);
+        verify(cacheGenerations, times(1)).bump(any(String[].class));
+        verify(auditLog).recordEach(eq(AuditAction.ASSIGN), eq(AuditLog.ENTITY_ASSIGNMENT),
+                argThat(details -> details.keySet().equals(Set.of(response.results().getFirst().assignmentId()))));
+    }
+
+    @Test
+    void assignVehicles_QueryCountDoesNotGrowWithBatchSize() {
+        // The first batch also creates the counter rows, so it may use a few more statements
+        List<AssignVehicleRequest> smallBatch = freshPairs(2);
+        long small = countQueries(() -> assignmentService.assignVehicles(smallBatch));
+        List<AssignVehicleRequest> largeBatch = freshPairs(20);
+        long large = countQueries(() -> assignmentService.assignVehicles(largeBatch));
+
+        assertThat(large).isLessThanOrEqualTo(small);
+    }
+
+    @Test
+    void unassignVehicles_EndsActiveAssignmentsInOneUpdate() {
+        Driver first = driver(DriverStatus.ACTIVE);
+        Driver second = driver(DriverStatus.ACTIVE);
+        Driver idle = driver(DriverStatus.ACTIVE);
+        Vehicle firstVehicle = vehicle(true);
+        assign(first, firstVehicle);
+        assign(second, vehicle(true));
+        entityCounterService.increment(EntityCounterService.ASSIGNMENTS_ACTIVE, 2);
+
+        BulkAssignmentResponse response = assignmentService.unassignVehicles(
+                List.of(first.getId(), idle.getId(), second.getId(), first.getId()));
+
+        assertThat(response.results()).extracting(BulkAssignmentResult::success)
+                .containsExactly(true, false, true, false);
+        assertThat(response.results().getFirst().vehicleId()).isEqualTo(firstVehicle.getId());
+        assertThat(response.results().get(1).error()).isEqualTo(NO_ACTIVE_ASSIGNMENT_PREFIX + idle.getId());
+        entityManager.clear();
+        assertThat(assignmentRepository.findActiveDriverIds(List.of(first.getId(), second.getId()))).isEmpty();
+        assertThat(entityCounterService.sum(EntityCounterService.ASSIGNMENTS_ACTIVE)).isZero();
+        verify(cacheGenerations, times(1)).bump(any(String[].class));
+    }
+
+    private List<AssignVehicleRequest> freshPairs(int count) {
+        List<AssignVehicleRequest> pairs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pairs.add(new AssignVehicleRequest(driver(DriverStatus.ACTIVE).getId(), vehicle(true).getId()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return pairs;
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Driver driver(DriverStatus status) {
+        Driver driver = Driver.builder()
+                .firstName("Akua")
+                .lastName("Osei")
+                .phoneNumber("+233244222222")
+                .licenseNumber("DL-" + System.nanoTime())
+                .status(status)
+                .build();
+        entityManager.persist(driver);
+        return driver;
+    }
+
+    private Vehicle vehicle(boolean active) {
+        Vehicle vehicle = Vehicle.builder()
+                .registrationNumber("GH-" + System.nanoTime())
+                .active(active)
+                .build();
+        entityManager.persist(vehicle);
+        return vehicle;
+    }
+
+    private void assign(Driver driver, Vehicle vehicle) {
+        entityManager.persist(VehicleAssignment.builder()
+                .driver(driver)
+                .vehicle(vehicle)
+                .assignedBy(user)
+                .isActive(true)
+                .build());
+        entityManager.flush();
+    }
+}
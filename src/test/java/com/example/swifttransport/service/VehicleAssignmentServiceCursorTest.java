@@ -0,0 +1,148 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.dto.response.AssignmentListResponse;
+import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.UserRole;
+import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.mapper.VehicleAssignmentMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VehicleAssignmentService.class, VehicleAssignmentMapperImpl.class, EntityCounterService.class})
+class VehicleAssignmentServiceCursorTest {
+
+    private static final LocalDateTime SHIFT_START = LocalDateTime.of(2026, 1, 5, 6, 0);
+
+    @Autowired
+    private VehicleAssignmentService assignmentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private CacheGenerations cacheGenerations;
+
+    @MockitoBean
+    private AuditLog auditLog;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .username("ops@swift.com")
+                .email("ops@swift.com")
+                .password("secret")
+                .role(UserRole.OPERATIONS)
+                .build();
+        entityManager.persist(user);
+    }
+
+    @Test
+    void getAssignmentsAfter_WalksHistoryInAssignedAtIdOrder() {
+        // Three assignments share each timestamp, so ties must be broken by id
+        List<Long> expected = createHistory(7);
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            AssignmentListResponse page = assignmentService.getAssignmentsAfter(cursor, 3, false, null, null, false);
+            assertThat(page.totalElements()).isNull();
+            page.content().stream().map(AssignmentResponse::id).forEach(walked::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void getAssignmentsAfter_LastPageHasNoCursor() {
+        createHistory(2);
+
+        AssignmentListResponse page = assignmentService.getAssignmentsAfter("", 5, false, null, null, false);
+
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.last()).isTrue();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAssignmentsAfter_RejectsGarbageCursor() {
+        assertThatThrownBy(() -> assignmentService.getAssignmentsAfter("%%%", 5, false, null, null, false))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private List<Long> createHistory(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String suffix = String.valueOf(System.nanoTime());
+            Driver driver = Driver.builder()
+                    .firstName("Akua")
+                    .lastName("Osei")
+                    .phoneNumber("+233244222222")
+                    .licenseNumber("DL-" + suffix)
+                    .status(DriverStatus.ACTIVE)
+                    .build();
+            Vehicle vehicle = Vehicle.builder()
+                    .registrationNumber("GH-" + suffix)
+                    .active(true)
+                    .build();
+            entityManager.persist(driver);
+            entityManager.persist(vehicle);
+            VehicleAssignment assignment = VehicleAssignment.builder()
+                    .driver(driver)
+                    .vehicle(vehicle)
+                    .assignedBy(user)
+                    .isActive(false)
+                    .build();
+            entityManager.persist(assignment);
+            entityManager.flush();
+            // Later rows get earlier timestamps, so id order alone would be wrong
+            entityManager.createQuery("UPDATE VehicleAssignment va SET va.assignedAt = :assignedAt WHERE va.id = :id")
+                    .setParameter("assignedAt", SHIFT_START.minusHours(i / 3))
+                    .setParameter("id", assignment.getId())
+                    .executeUpdate();
+            ids.add(assignment.getId());
+        }
+        entityManager.clear();
+
+        List<Long> expected = new ArrayList<>();
+        for (int group = (count - 1) / 3; group >= 0; group--) {
+            for (int i = group * 3; i < Math.min(count, group * 3 + 3); i++) {
+                expected.add(ids.get(i));
+            }
+        }
+        return expected;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.swifttransport.service;
 
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
 import com.example.swifttransport.dto.request.AssignVehicleRequest;
 import com.example.swifttransport.dto.response.AssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResponse;
+import com.example.swifttransport.dto.response.BulkAssignmentResult;
 import com.example.swifttransport.entity.Driver;
 import com.example.swifttransport.entity.User;
 import com.example.swifttransport.entity.Vehicle;
 import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.AuditAction;
 import com.example.swifttransport.enums.DriverStatus;
 import com.example.swifttransport.enums.UserRole;
 import com.example.swifttransport.exception.BusinessValidationException;
@@ -14,19 +19,33 @@ import com.example.swifttransport.mapper.VehicleAssignmentMapper;
 import com.example.swifttransport.repository.DriverRepository;
 import com.example.swifttransport.repository.UserRepository;
 import com.example.swifttransport.repository.VehicleAssignmentRepository;
+import com.example.swifttransport.repository.VehicleAssignmentRepository.AssignAttempt;
 import com.example.swifttransport.repository.VehicleRepository;
+import com.example.swifttransport.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_DRIVER_ALREADY_ASSIGNED;
+import static com.example.swifttransport.util.CustomMessages.VALIDATION_VEHICLE_ALREADY_ASSIGNED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,12 +69,30 @@ class VehicleAssignmentServiceTest {
     @Mock
     private VehicleAssignmentMapper assignmentMapper;
 
+    @Mock
+    private CacheGenerations cacheGenerations;
+
+    @Mock
+    private EntityCounterService entityCounterService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache vehicleByIdCache;
+
     @Mock
     private SecurityContext securityContext;
 
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private VehicleAssignmentService assignmentService;
 
@@ -106,29 +143,49 @@ class VehicleAssignmentServiceTest {
     @Test
     void assignVehicle_Success() {
         AssignVehicleRequest request = new AssignVehicleRequest(1L, 1L);
+        AssignAttempt attempt = attempt(10L, "ACTIVE", true, false, false);
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("admin@swift.com");
-        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
-        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(assignmentRepository.existsByDriverIdAndIsActiveTrue(1L)).thenReturn(false);
-        when(assignmentRepository.existsByVehicleIdAndIsActiveTrue(1L)).thenReturn(false);
         when(userRepository.findByUsername("admin@swift.com")).thenReturn(Optional.of(user));
-        when(assignmentRepository.save(any(VehicleAssignment.class))).thenReturn(assignment);
-        when(assignmentMapper.toResponse(any(VehicleAssignment.class))).thenReturn(assignmentResponse);
+        when(assignmentRepository.tryAssign(eq(1L), eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
+        when(assignmentMapper.toResponse(eq(attempt), eq(1L), eq(1L), any(LocalDateTime.class), eq("admin@swift.com")))
+                .thenReturn(assignmentResponse);
 
         AssignmentResponse result = assignmentService.assignVehicle(request);
 
         assertThat(result).isNotNull();
-        verify(assignmentRepository).save(any(VehicleAssignment.class));
+        verify(assignmentRepository, never()).save(any(VehicleAssignment.class));
+        verify(cacheGenerations).bump("assignments", "assignments:driver:1", "assignments:vehicle:1",
+                "drivers", "vehicles");
+        verify(auditLog).record(eq(AuditAction.ASSIGN), eq(AuditLog.ENTITY_ASSIGNMENT), eq(10L), any());
     }
 
     @Test
-    void assignVehicle_DriverNotActive_ThrowsException() {
-        driver.setStatus(DriverStatus.SUSPENDED);
+    void assignVehicle_TokenPrincipal_UsesUserReferenceWithoutLookup() {
         AssignVehicleRequest request = new AssignVehicleRequest(1L, 1L);
+        AssignAttempt attempt = attempt(10L, "ACTIVE", true, false, false);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("admin@swift.com");
+        when(authentication.getPrincipal())
+                .thenReturn(new AuthenticatedUser(1L, "admin@swift.com", UserRole.ADMIN));
+        when(assignmentRepository.tryAssign(eq(1L), eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
+        when(assignmentMapper.toResponse(eq(attempt), eq(1L), eq(1L), any(LocalDateTime.class), eq("admin@swift.com")))
+                .thenReturn(assignmentResponse);
+
+        AssignmentResponse result = assignmentService.assignVehicle(request);
 
-        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
+        assertThat(result).isNotNull();
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void assignVehicle_DriverNotActive_ThrowsException() {
+        AssignVehicleRequest request = new AssignVehicleRequest(1L, 1L);
+        givenTokenPrincipal();
+        AssignAttempt attempt = attempt(null, "SUSPENDED", true, false, false);
+        when(assignmentRepository.tryAssign(eq(1L), eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
 
         assertThatThrownBy(() -> assignmentService.assignVehicle(request))
                 .isInstanceOf(BusinessValidationException.class)
@@ -138,14 +195,95 @@ class VehicleAssignmentServiceTest {
     @Test
     void assignVehicle_DriverAlreadyAssigned_ThrowsException() {
         AssignVehicleRequest request = new AssignVehicleRequest(1L, 1L);
-
-        when(driverRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(driver));
-        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(assignmentRepository.existsByDriverIdAndIsActiveTrue(1L)).thenReturn(true);
+        givenTokenPrincipal();
+        AssignAttempt attempt = attempt(null, "ACTIVE", true, true, false);
+        when(assignmentRepository.tryAssign(eq(1L), eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
 
         assertThatThrownBy(() -> assignmentService.assignVehicle(request))
                 .isInstanceOf(BusinessValidationException.class)
                 .hasMessageContaining("already has an active vehicle assignment");
+        verifyNoInteractions(cacheGenerations, auditLog);
+    }
+
+    @Test
+    void assignVehicle_VehicleNotFound_ThrowsException() {
+        AssignVehicleRequest request = new AssignVehicleRequest(1L, 2L);
+        givenTokenPrincipal();
+        AssignAttempt attempt = attempt(null, "ACTIVE", null, false, false);
+        when(assignmentRepository.tryAssign(eq(1L), eq(2L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
+
+        assertThatThrownBy(() -> assignmentService.assignVehicle(request))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void assignVehicle_LostRaceToConcurrentAssignment_RechecksWhichSideIsTaken() {
+        AssignVehicleRequest request = new AssignVehicleRequest(1L, 1L);
+        givenTokenPrincipal();
+        AssignAttempt attempt = attempt(null, "ACTIVE", true, false, false);
+        when(assignmentRepository.tryAssign(eq(1L), eq(1L), eq(1L), any(LocalDateTime.class))).thenReturn(attempt);
+        when(assignmentRepository.existsByDriverIdAndIsActiveTrue(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> assignmentService.assignVehicle(request))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage(VALIDATION_VEHICLE_ALREADY_ASSIGNED);
+    }
+
+    @Test
+    void assignVehicles_PairsSkippedByTheInsertAreReportedNotFailed() {
+        givenTokenPrincipal();
+        List<Driver> drivers = List.of(activeDriver(1L), activeDriver(2L), activeDriver(3L));
+        List<Vehicle> vehicles = List.of(activeVehicle(1L), activeVehicle(2L), activeVehicle(3L));
+        when(driverRepository.findAllByIdInAndDeletedFalse(any())).thenReturn(drivers);
+        when(vehicleRepository.findAllById(any())).thenReturn(vehicles);
+        when(assignmentRepository.findActiveDriverIds(any())).thenReturn(Set.of());
+        when(assignmentRepository.findActiveVehicleIds(any())).thenReturn(Set.of());
+        // Concurrent assignments took driver 2 and vehicle 3 after the busy check
+        when(assignmentRepository.findActiveDriverIds(Set.of(2L, 3L))).thenReturn(Set.of(2L));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class),
+                any(String[].class))).thenAnswer(invocation -> {
+            KeyHolder keys = invocation.getArgument(2);
+            keys.getKeyList().add(Map.of("id", 10L, "driver_id", 1L));
+            return 1;
+        });
+
+        BulkAssignmentResponse response = assignmentService.assignVehicles(List.of(
+                new AssignVehicleRequest(1L, 1L),
+                new AssignVehicleRequest(2L, 2L),
+                new AssignVehicleRequest(3L, 3L)));
+
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(response.results().getFirst().assignmentId()).isEqualTo(10L);
+        assertThat(response.results()).extracting(BulkAssignmentResult::error)
+                .containsExactly(null, VALIDATION_DRIVER_ALREADY_ASSIGNED, VALIDATION_VEHICLE_ALREADY_ASSIGNED);
+        verify(entityCounterService).increment(EntityCounterService.ASSIGNMENTS_ACTIVE, 1);
+        verify(auditLog).recordEach(eq(AuditAction.ASSIGN), eq(AuditLog.ENTITY_ASSIGNMENT),
+                eq(Map.of(10L, Map.of("driverId", 1L, "vehicleId", 1L))));
+    }
+
+    private static Driver activeDriver(Long id) {
+        return Driver.builder().id(id).status(DriverStatus.ACTIVE).deleted(false).build();
+    }
+
+    private static Vehicle activeVehicle(Long id) {
+        return Vehicle.builder().id(id).active(true).build();
+    }
+
+    private void givenTokenPrincipal() {
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal())
+                .thenReturn(new AuthenticatedUser(1L, "admin@swift.com", UserRole.ADMIN));
+    }
+
+    private static AssignAttempt attempt(Long assignmentId, String driverStatus, Boolean vehicleActive,
+                                         boolean driverBusy, boolean vehicleBusy) {
+        AssignAttempt attempt = mock(AssignAttempt.class, withSettings().strictness(Strictness.LENIENT));
+        when(attempt.getAssignmentId()).thenReturn(assignmentId);
+        when(attempt.getDriverStatus()).thenReturn(driverStatus);
+        when(attempt.getVehicleActive()).thenReturn(vehicleActive);
+        when(attempt.getDriverBusy()).thenReturn(driverBusy);
+        when(attempt.getVehicleBusy()).thenReturn(vehicleBusy);
+        return attempt;
     }
 
     @Test
@@ -153,11 +291,13 @@ class VehicleAssignmentServiceTest {
         when(assignmentRepository.findByDriverIdAndIsActiveTrue(1L)).thenReturn(Optional.of(assignment));
         when(assignmentRepository.save(any(VehicleAssignment.class))).thenReturn(assignment);
         when(assignmentMapper.toResponse(any(VehicleAssignment.class))).thenReturn(assignmentResponse);
+        when(cacheManager.getCache("vehicleById")).thenReturn(vehicleByIdCache);
 
         AssignmentResponse result = assignmentService.unassignVehicle(1L);
 
         assertThat(result).isNotNull();
         assertThat(assignment.getIsActive()).isFalse();
+        verify(vehicleByIdCache).evict(1L);
     }
 
     @Test
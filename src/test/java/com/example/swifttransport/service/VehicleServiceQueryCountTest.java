@@ -0,0 +1,279 @@
+package com.example.swifttransport.service;
+
+import com.example.swifttransport.audit.AuditLog;
+import com.example.swifttransport.cache.CacheGenerations;
+import com.example.swifttransport.catalog.VehicleCatalogIndex;
+import com.example.swifttransport.config.RedisConfig;
+import com.example.swifttransport.dto.request.CreateVehicleRequest;
+import com.example.swifttransport.dto.request.UpdateVehicleRequest;
+import com.example.swifttransport.dto.response.DriverSummaryResponse;
+import com.example.swifttransport.dto.response.FieldsetListResponse;
+import com.example.swifttransport.dto.response.VehicleListResponse;
+import com.example.swifttransport.dto.response.VehicleResponse;
+import com.example.swifttransport.entity.Driver;
+import com.example.swifttransport.entity.User;
+import com.example.swifttransport.entity.Vehicle;
+import com.example.swifttransport.entity.VehicleAssignment;
+import com.example.swifttransport.enums.CountMode;
+import com.example.swifttransport.enums.DriverStatus;
+import com.example.swifttransport.enums.UserRole;
+import com.example.swifttransport.exception.BusinessValidationException;
+import com.example.swifttransport.exception.PreconditionFailedException;
+import com.example.swifttransport.util.Fieldset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VehicleService.class, EntityCounterService.class, RowCountEstimator.class, FieldsetReader.class})
+class VehicleServiceQueryCountTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @MockitoBean
+    private CacheGenerations cacheGenerations;
+
+    @MockitoBean
+    private AuditLog auditLog;
+
+    @MockitoBean
+    private VehicleCatalogIndex vehicleCatalogIndex;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = User.builder()
+                .username("admin@swift.com")
+                .email("admin@swift.com")
+                .password("secret")
+                .role(UserRole.ADMIN)
+                .build();
+        entityManager.persist(user);
+    }
+
+    @Test
+    void getVehicles_QueryCountIsIndependentOfPageSize() {
+        createAssignedVehicles(5);
+        long smallPageQueries = countQueries(() -> vehicleService.getVehicles(PageRequest.of(0, 5), null, null, CountMode.EXACT));
+
+        createAssignedVehicles(45);
+        long largePageQueries = countQueries(() -> vehicleService.getVehicles(PageRequest.of(0, 50), null, null, CountMode.EXACT));
+
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+        assertThat(largePageQueries).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void getVehicles_PopulatesCurrentDriver() {
+        createAssignedVehicles(3);
+        entityManager.persist(Vehicle.builder().registrationNumber("GH-UNASSIGNED").active(true).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        VehicleListResponse response = vehicleService.getVehicles(PageRequest.of(0, 10), null, null, CountMode.EXACT);
+
+        assertThat(response.content()).hasSize(4);
+        assertThat(response.content())
+                .filteredOn(vehicle -> vehicle.currentDriver() != null)
+                .hasSize(3)
+                .allSatisfy(vehicle -> assertThat(vehicle.currentDriver().licenseNumber()).startsWith("DL-"));
+    }
+
+    @Test
+    void getVehicles_TotalsComeFromCountersMaintainedByWrites() {
+        for (int i = 0; i < 3; i++) {
+            vehicleService.createVehicle(new CreateVehicleRequest("GH-COUNT-" + i, "Toyota", "Hiace", 2020, i < 2));
+        }
+        entityManager.flush();
+
+        VehicleListResponse active = vehicleService.getVehicles(PageRequest.of(0, 1), true, null, CountMode.EXACT);
+        VehicleListResponse all = vehicleService.getVehicles(PageRequest.of(0, 1), null, null, CountMode.EXACT);
+
+        assertThat(active.totalElements()).isEqualTo(2L);
+        assertThat(active.totalPages()).isEqualTo(2);
+        assertThat(active.last()).isFalse();
+        assertThat(all.totalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    void getVehicleById_UsesTwoQueries() {
+        Long vehicleId = createAssignedVehicles(1);
+
+        long queries = countQueries(() -> {
+            VehicleResponse response = vehicleService.getVehicleById(vehicleId);
+            assertThat(response.currentDriver()).isNotNull();
+        });
+
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void getVehicleTag_IsOneQueryAndFollowsTheVehicleAndItsDriver() {
+        Long vehicleId = createAssignedVehicles(1);
+
+        String[] tag = new String[1];
+        long queries = countQueries(() -> tag[0] = vehicleService.getVehicleTag(vehicleId));
+        assertThat(queries).isEqualTo(1);
+        assertThat(tag[0]).matches("\"0\\.\\d+\\.0\"");
+
+        VehicleAssignment assignment = entityManager.createQuery(
+                "SELECT va FROM VehicleAssignment va WHERE va.vehicle.id = :id", VehicleAssignment.class)
+                .setParameter("id", vehicleId)
+                .getSingleResult();
+        assignment.getDriver().setLastName("Owusu");
+        entityManager.flush();
+
+        assertThat(vehicleService.getVehicleTag(vehicleId)).isNotEqualTo(tag[0]);
+    }
+
+    @Test
+    void updateVehicle_RejectsAStaleIfMatch() {
+        Long vehicleId = createAssignedVehicles(1);
+        String tag = vehicleService.getVehicleTag(vehicleId);
+        UpdateVehicleRequest request = new UpdateVehicleRequest("Nissan", null, null, null);
+
+        vehicleService.updateVehicle(vehicleId, request, tag);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> vehicleService.updateVehicle(vehicleId, request, tag))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(vehicleService.getVehicleTag(vehicleId)).startsWith("\"1.");
+    }
+
+    @Test
+    void updateVehicle_OfAnAssignedVehicleMovesDriverListsToANewGeneration() {
+        Long vehicleId = createAssignedVehicles(1);
+
+        vehicleService.updateVehicle(vehicleId, new UpdateVehicleRequest("Nissan", null, null, null), null);
+
+        verify(cacheGenerations).bump(RedisConfig.CACHE_VEHICLES);
+        verify(cacheGenerations).bump(RedisConfig.CACHE_DRIVERS);
+    }
+
+    @Test
+    void getVehicleFieldsById_ReadsOnlyTheRequestedColumnsAndSkipsTheDriverLookup() {
+        Long vehicleId = createAssignedVehicles(1);
+
+        AtomicReference<Map<String, Object>> row = new AtomicReference<>();
+        long queries = countQueries(() -> row.set(vehicleService.getVehicleFieldsById(
+                Fieldset.parse("registrationNumber", VehicleService.FIELDS), vehicleId)));
+
+        // The column read is plain JDBC; no entity or assignment query runs
+        assertThat(queries).isZero();
+        assertThat(row.get()).containsOnlyKeys("id", "registrationNumber");
+        assertThat(row.get().get("registrationNumber")).asString().startsWith("GH-");
+    }
+
+    @Test
+    void getVehicleFieldsById_LooksUpTheCurrentDriverWhenRequested() {
+        Long vehicleId = createAssignedVehicles(1);
+
+        AtomicReference<Map<String, Object>> row = new AtomicReference<>();
+        long queries = countQueries(() -> row.set(vehicleService.getVehicleFieldsById(
+                Fieldset.parse("currentDriver,make", VehicleService.FIELDS), vehicleId)));
+
+        assertThat(queries).isEqualTo(1);
+        assertThat(row.get()).containsOnlyKeys("id", "make", "currentDriver");
+        assertThat(row.get().get("currentDriver")).isInstanceOfSatisfying(DriverSummaryResponse.class,
+                driver -> assertThat(driver.licenseNumber()).startsWith("DL-"));
+    }
+
+    @Test
+    void getVehicleFieldsAfter_PagesByCursor() {
+        createAssignedVehicles(3);
+        Fieldset fields = Fieldset.parse("registrationNumber", VehicleService.FIELDS);
+
+        FieldsetListResponse first = vehicleService.getVehicleFieldsAfter(fields, null, 2, null, null);
+        FieldsetListResponse second = vehicleService.getVehicleFieldsAfter(fields, first.nextCursor(), 2, null, null);
+
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.last()).isFalse();
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.last()).isTrue();
+        assertThat(second.content().getFirst().get("id")).isNotIn(
+                first.content().get(0).get("id"), first.content().get(1).get("id"));
+    }
+
+    @Test
+    void fieldset_RejectsUnknownFields() {
+        assertThatThrownBy(() -> Fieldset.parse("id,vin", VehicleService.FIELDS))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("vin");
+    }
+
+    private Long createAssignedVehicles(int count) {
+        Long lastVehicleId = null;
+        for (int i = 0; i < count; i++) {
+            String suffix = String.valueOf(System.nanoTime());
+            Driver driver = Driver.builder()
+                    .firstName("Kwame")
+                    .lastName("Mensah")
+                    .phoneNumber("+233244111111")
+                    .licenseNumber("DL-" + suffix)
+                    .status(DriverStatus.ACTIVE)
+                    .build();
+            Vehicle vehicle = Vehicle.builder()
+                    .registrationNumber("GH-" + suffix)
+                    .make("Toyota")
+                    .model("Hiace")
+                    .year(2020)
+                    .active(true)
+                    .build();
+            entityManager.persist(driver);
+            entityManager.persist(vehicle);
+            entityManager.persist(VehicleAssignment.builder()
+                    .driver(driver)
+                    .vehicle(vehicle)
+                    .assignedBy(user)
+                    .isActive(true)
+                    .build());
+            lastVehicleId = vehicle.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return lastVehicleId;
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}